@@ -0,0 +1,136 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.AnyINPUT;
+import com.aoapps.html.any.PreparedAttributes;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each family of attribute writers in {@link com.aoapps.html.any.Attributes}.  Each benchmark writes a
+ * single element with several attributes of the same family; compare against {@link #baseline(DocumentState)} for
+ * the cost of the element itself.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AttributesBenchmark {
+
+  @Benchmark
+  public long baseline(DocumentState state) throws IOException {
+    state.newDocument().input().text().__();
+    return state.getCount();
+  }
+
+  /**
+   * {@link com.aoapps.html.any.Attributes.Text}.
+   */
+  @Benchmark
+  public long text(DocumentState state) throws IOException {
+    state.newDocument().input().text()
+        .id("username")
+        .clazz("form-control wide")
+        .name("user")
+        .title("Fish & Chips \"R\" Us")
+        .__();
+    return state.getCount();
+  }
+
+  private static final PreparedAttributes<AnyINPUT.Text<?, ?, ?>> PREPARED = new PreparedAttributes<>(input -> input
+      .id("username")
+      .clazz("form-control wide")
+      .name("user")
+      .title("Fish & Chips \"R\" Us")
+  );
+
+  /**
+   * The same attributes as {@link #text(DocumentState)}, written as {@link PreparedAttributes}.
+   */
+  @Benchmark
+  public long prepared(DocumentState state) throws IOException {
+    state.newDocument().input().text()
+        .attributes(PREPARED)
+        .__();
+    return state.getCount();
+  }
+
+  /**
+   * {@link com.aoapps.html.any.Attributes.String}.
+   */
+  @Benchmark
+  public long string(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.a().target("_blank").rel("noopener").__();
+    return state.getCount();
+  }
+
+  /**
+   * {@link com.aoapps.html.any.Attributes.Integer}.
+   */
+  @Benchmark
+  public long integer(DocumentState state) throws IOException {
+    state.newDocument().input().text()
+        .maxlength(255)
+        .size(40)
+        .tabindex(12)
+        .__();
+    return state.getCount();
+  }
+
+  /**
+   * {@link com.aoapps.html.any.Attributes.Boolean}.
+   */
+  @Benchmark
+  public long bool(DocumentState state) throws IOException {
+    state.newDocument().input().text()
+        .disabled(true)
+        .readonly(true)
+        .required(true)
+        .autofocus(true)
+        .__();
+    return state.getCount();
+  }
+
+  /**
+   * {@link com.aoapps.html.any.Attributes.Url}.
+   */
+  @Benchmark
+  public long url(DocumentState state) throws IOException {
+    state.newDocument().a().href("/products/list?category=tools&sort=name#top").__();
+    return state.getCount();
+  }
+}
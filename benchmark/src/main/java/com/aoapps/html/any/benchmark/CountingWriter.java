@@ -0,0 +1,99 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import java.io.Writer;
+
+/**
+ * A writer that discards everything written to it, only counting the number of characters.
+ *
+ * <p>Unlike a {@linkplain com.aoapps.lang.io.NullWriter null writer}, this is not recognized by any optimizations,
+ * so all the encoding and validation work is still performed.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class CountingWriter extends Writer {
+
+  private long count;
+
+  /**
+   * Gets the total number of characters written.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  @Override
+  public void write(int c) {
+    count++;
+  }
+
+  @Override
+  public void write(char[] cbuf) {
+    count += cbuf.length;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) {
+    count += len;
+  }
+
+  @Override
+  public void write(String str) {
+    count += str.length();
+  }
+
+  @Override
+  public void write(String str, int off, int len) {
+    count += len;
+  }
+
+  @Override
+  public CountingWriter append(CharSequence csq) {
+    count += (csq == null) ? 4 : csq.length();
+    return this;
+  }
+
+  @Override
+  public CountingWriter append(CharSequence csq, int start, int end) {
+    count += end - start;
+    return this;
+  }
+
+  @Override
+  public CountingWriter append(char c) {
+    count++;
+    return this;
+  }
+
+  @Override
+  public void flush() {
+    // Nothing to flush
+  }
+
+  @Override
+  public void close() {
+    // Nothing to close
+  }
+}
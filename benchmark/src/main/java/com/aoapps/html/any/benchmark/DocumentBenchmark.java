@@ -0,0 +1,116 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.html.Document;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the document-level text, encoding, and whitespace methods of
+ * {@link com.aoapps.html.any.AnyDocument}.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DocumentBenchmark {
+
+  static final String PLAIN_TEXT = "The quick brown fox jumps over the lazy dog, then naps in the afternoon sun.";
+
+  static final char[] PLAIN_CHARS = PLAIN_TEXT.toCharArray();
+
+  static final String ESCAPED_TEXT = "Fish & Chips <b>\"fresh\"</b> isn't > 5 £ today & tomorrow.";
+
+  static final Integer OBJECT_TEXT = 1234567;
+
+  static final String JAVASCRIPT = "if (a < b && c > d) { console.log(\"</script>\", 'done'); }";
+
+  static final int WHITESPACE_REPEAT = 16;
+
+  @Benchmark
+  public long newDocument(DocumentState state) throws IOException {
+    state.newDocument();
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long textPlain(DocumentState state) throws IOException {
+    state.newDocument().text(PLAIN_TEXT);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long textChars(DocumentState state) throws IOException {
+    state.newDocument().text(PLAIN_CHARS);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long textEscaped(DocumentState state) throws IOException {
+    state.newDocument().text(ESCAPED_TEXT);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long textObject(DocumentState state) throws IOException {
+    state.newDocument().text(OBJECT_TEXT);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long encodeJavaScript(DocumentState state) throws IOException {
+    state.newDocument().encode(MediaType.JAVASCRIPT, JAVASCRIPT);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long nl(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    for (int i = 0; i < WHITESPACE_REPEAT; i++) {
+      document.nl();
+    }
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long nli(DocumentState state) throws IOException {
+    Document document = state.newDocument().setDepth(4);
+    for (int i = 0; i < WHITESPACE_REPEAT; i++) {
+      document.nli();
+    }
+    return state.getCount();
+  }
+}
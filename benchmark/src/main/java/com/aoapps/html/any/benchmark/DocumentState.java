@@ -0,0 +1,97 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.html.Document;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread state shared by the document benchmarks: the encoding context under test and the output sink.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+public class DocumentState {
+
+  @Param({"HTML5"})
+  public Doctype doctype;
+
+  @Param({"SGML", "XML"})
+  public Serialization serialization;
+
+  @Param({"false", "true"})
+  public boolean indent;
+
+  @Param({"0", "8192"})
+  public int bufferSize;
+
+  private EncodingContext encodingContext;
+
+  private CountingWriter out;
+
+  private Document document;
+
+  @Setup
+  public void setup() {
+    final Doctype d = doctype;
+    final Serialization s = serialization;
+    encodingContext = new EncodingContext() {
+      @Override
+      public Doctype getDoctype() {
+        return d;
+      }
+
+      @Override
+      public Serialization getSerialization() {
+        return s;
+      }
+    };
+    out = new CountingWriter();
+  }
+
+  /**
+   * Creates a new document, as would be done once per request.
+   */
+  public Document newDocument() throws IOException {
+    document = new Document(encodingContext, out);
+    document.setIndent(indent);
+    document.setBufferSize(bufferSize);
+    return document;
+  }
+
+  /**
+   * Flushes the current document then gets the number of characters written so far, to be returned from benchmarks.
+   */
+  public long getCount() throws IOException {
+    document.flush();
+    return out.getCount();
+  }
+}
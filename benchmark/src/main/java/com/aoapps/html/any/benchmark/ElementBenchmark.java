@@ -0,0 +1,109 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the element lifecycle: {@link com.aoapps.html.any.Normal#__(com.aoapps.lang.io.function.IORunnableE)},
+ * {@link com.aoapps.html.any.Normal#_c()}, and {@link com.aoapps.html.any.Void#__()}, for a representative set of
+ * elements.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ElementBenchmark {
+
+  static final int ROWS = 10;
+
+  static final int COLUMNS = 5;
+
+  @Benchmark
+  public long divLambda(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.div().clazz("outer").__(() ->
+        document.div().clazz("inner").__(() ->
+            document.text("Content")
+        )
+    );
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long divClosable(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    try (var outer = document.div().clazz("outer")._c()) {
+      try (var inner = outer.div().clazz("inner")._c()) {
+        inner.text("Content");
+      }
+    }
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long table(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.table().__(() ->
+        document.tbody().__(() -> {
+          for (int row = 0; row < ROWS; row++) {
+            document.tr().__(() -> {
+              for (int col = 0; col < COLUMNS; col++) {
+                document.td().__("Cell");
+              }
+            });
+          }
+        })
+    );
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long input(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.input().text().name("q").value("search & find").__();
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long meta(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.meta().charset(StandardCharsets.UTF_8).__();
+    document.meta().name("viewport").content("width=device-width, initial-scale=1").__();
+    return state.getCount();
+  }
+}
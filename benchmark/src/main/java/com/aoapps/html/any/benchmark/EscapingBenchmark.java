@@ -0,0 +1,131 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute;
+import static com.aoapps.encoding.TextInXhtmlEncoder.encodeTextInXhtml;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares escaping text and attribute values through the document, which scans ahead and writes clean runs in
+ * bulk, against calling the encoders directly for every character.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EscapingBenchmark {
+
+  /**
+   * The text being escaped.
+   */
+  @State(Scope.Thread)
+  public static class TextState {
+
+    /**
+     * The kind of text.
+     * <ul>
+     * <li>{@code ascii} - Plain ASCII without any characters to escape</li>
+     * <li>{@code escaped} - ASCII with occasional characters to escape</li>
+     * <li>{@code unicode} - Mostly ASCII with occasional non-ASCII characters</li>
+     * </ul>
+     */
+    @Param({"ascii", "escaped", "unicode"})
+    public String kind;
+
+    @Param({"16", "256", "4096"})
+    public int length;
+
+    public String text;
+
+    public final CountingWriter out = new CountingWriter();
+
+    @Setup
+    public void setup() {
+      String sentence;
+      switch (kind) {
+        case "ascii":
+          sentence = "The quick brown fox jumps over the lazy dog. ";
+          break;
+        case "escaped":
+          sentence = "Fish & Chips \"R\" Us <since 1987>. ";
+          break;
+        case "unicode":
+          sentence = "Café crème brûlée, £ 4.50 each. ";
+          break;
+        default:
+          throw new IllegalArgumentException("Unexpected kind: " + kind);
+      }
+      StringBuilder sb = new StringBuilder(length);
+      while (sb.length() < length) {
+        sb.append(sentence);
+      }
+      sb.setLength(length);
+      text = sb.toString();
+    }
+  }
+
+  @Benchmark
+  public long textEncoder(TextState text) throws IOException {
+    encodeTextInXhtml(text.text, text.out);
+    return text.out.getCount();
+  }
+
+  @Benchmark
+  public long textDocument(TextState text, DocumentState state) throws IOException {
+    state.newDocument().text(text.text);
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long attributeEncoder(TextState text) throws IOException {
+    encodeTextInXhtmlAttribute(text.text, text.out);
+    return text.out.getCount();
+  }
+
+  /**
+   * Includes the cost of the element; compare against {@link AttributesBenchmark#baseline(DocumentState)}.
+   */
+  @Benchmark
+  public long attributeDocument(TextState text, DocumentState state) throws IOException {
+    state.newDocument().input().text().title(text.text).__();
+    return state.getCount();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks indented output: {@link Document#nli()} and {@link Document#indent()} directly, and through nested
+ * elements.  Compare with {@link DocumentState#indent} {@code false} for the cost of indentation.
+ *
+ * <p>Depths up to 64 are written from a precomputed table by default, while deeper indentation falls back to writing
+ * spaces in a loop.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IndentBenchmark {
+
+  static final int LINES = 100;
+
+  /**
+   * The depth of indentation under test.
+   */
+  @State(Scope.Thread)
+  public static class DepthState {
+
+    @Param({"1", "4", "16", "100"})
+    public int depth;
+  }
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public long nli(DocumentState state, DepthState depth) throws IOException {
+    Document document = state.newDocument();
+    document.setDepth(depth.depth);
+    for (int i = 0; i < LINES; i++) {
+      document.nli().text("Line");
+    }
+    return state.getCount();
+  }
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public long indent(DocumentState state, DepthState depth) throws IOException {
+    Document document = state.newDocument();
+    document.setDepth(depth.depth);
+    for (int i = 0; i < LINES; i++) {
+      document.nl().indent().text("Line");
+    }
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long nested(DocumentState state, DepthState depth) throws IOException {
+    Document document = state.newDocument();
+    nested(document, depth.depth);
+    return state.getCount();
+  }
+
+  private static void nested(Document document, int depth) throws IOException {
+    if (depth == 0) {
+      document.text("Leaf");
+    } else {
+      document.div().__(() -> {
+        nested(document, depth - 1);
+        nested(document, 0);
+      });
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.OptionList;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing a large select with
+ * {@link com.aoapps.html.any.AnySELECT#options(com.aoapps.html.any.OptionList, java.lang.Object...)} against the same
+ * select written with an element per option.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OptionListBenchmark {
+
+  private static final int OPTIONS = 2000;
+
+  private static final Map<String, String> DATA = new LinkedHashMap<>();
+
+  static {
+    for (int i = 0; i < OPTIONS; i++) {
+      DATA.put("option-" + i, "Option <" + i + "> & more");
+    }
+  }
+
+  private static final String SELECTED = "option-" + (OPTIONS / 2);
+
+  private static final OptionList OPTION_LIST = OptionList.of(DATA);
+
+  @Benchmark
+  public long elements(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.select().__(() -> {
+      for (Map.Entry<String, String> entry : DATA.entrySet()) {
+        String value = entry.getKey();
+        document.option().value(value).selected(value.equals(SELECTED)).__(entry.getValue());
+      }
+    });
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long options(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.select().options(OPTION_LIST, SELECTED);
+    return state.getCount();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.html.Document;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares writing a page through a {@link Writer} that encodes to UTF-8, as done by a servlet container, with
+ * writing UTF-8 directly to the {@link OutputStream}.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OutputBenchmark {
+
+  /**
+   * An output stream that discards everything written to it, only counting the number of bytes.
+   */
+  public static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class OutputState {
+
+    private CountingOutputStream out;
+
+    private Writer writer;
+
+    @Setup
+    public void setup() {
+      out = new CountingOutputStream();
+      writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+  }
+
+  static final int ROWS = 20;
+
+  private static void page(Document document) throws IOException {
+    document.div().clazz("page").__(() -> {
+      for (int row = 0; row < ROWS; row++) {
+        document.p().clazz("row").__(() ->
+            document.text("Résumé of the quick brown fox & the lazy dog – naïve café")
+        );
+      }
+    });
+  }
+
+  @Benchmark
+  public long writer(OutputState state) throws IOException {
+    Document document = new Document(EncodingContext.DEFAULT, state.writer);
+    page(document);
+    state.writer.flush();
+    return state.out.getCount();
+  }
+
+  @Benchmark
+  public long bufferedWriter(OutputState state) throws IOException {
+    Document document = new Document(EncodingContext.DEFAULT, state.writer);
+    document.setBuffered(true);
+    page(document);
+    document.flush();
+    return state.out.getCount();
+  }
+
+  @Benchmark
+  public long outputStream(OutputState state) throws IOException {
+    Document document = new Document(EncodingContext.DEFAULT, (Writer) null);
+    document.setOutputStream(state.out);
+    page(document);
+    document.flush();
+    return state.out.getCount();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.html.Document;
+import com.aoapps.html.any.DocumentPool;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares allocating a new buffered document per request with reusing documents from a shared
+ * {@link DocumentPool}.  Run with {@code -prof gc} to compare allocation rates.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class PoolBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class PoolState {
+
+    private DocumentPool<Document> pool;
+
+    @Setup
+    public void setup() {
+      pool = new DocumentPool<>(PoolBenchmark::newDocument);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class OutState {
+
+    private CountingWriter out;
+
+    @Setup
+    public void setup() {
+      out = new CountingWriter();
+    }
+  }
+
+  private static Document newDocument() {
+    Document document = new Document(EncodingContext.DEFAULT, (Writer) null);
+    try {
+      document.setBuffered(true);
+    } catch (IOException e) {
+      throw new AssertionError("No output to write to", e);
+    }
+    return document;
+  }
+
+  private static void render(Document document) throws IOException {
+    document.div().clazz("greeting").__(() -> document.text("Hello, World!"));
+    document.flush();
+  }
+
+  @Benchmark
+  public long newDocument(OutState state) throws IOException {
+    Document document = newDocument();
+    document.setOut(state.out);
+    render(document);
+    return state.out.getCount();
+  }
+
+  @Benchmark
+  public long pooled(PoolState pool, OutState state) throws IOException {
+    Document document = pool.pool.acquire(state.out);
+    try {
+      render(document);
+    } finally {
+      pool.pool.release(document);
+    }
+    return state.out.getCount();
+  }
+}
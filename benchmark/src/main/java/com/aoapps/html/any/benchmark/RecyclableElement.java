@@ -0,0 +1,182 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.any.AnyDocument;
+import com.aoapps.html.any.Content;
+import com.aoapps.html.any.Normal;
+import com.aoapps.html.any.Normal_c;
+import com.aoapps.html.any.Normal__;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Table elements created through
+ * {@link AnyDocument#element(java.lang.Class, com.aoapps.html.any.Content, java.util.function.BiFunction)}.  The
+ * factories of the concrete {@code com.aoapps.html.Document} create their elements directly, so these are used to
+ * measure {@linkplain AnyDocument#setRecycleElements(boolean) element recycling}.
+ *
+ * @param  <D>   The document type
+ * @param  <PC>  The parent content model this element is within
+ * @param  <E>   This element type
+ *
+ * @author  AO Industries, Inc.
+ */
+abstract class RecyclableElement<
+    D  extends AnyDocument<D>,
+    PC extends Content<D, PC>,
+    E  extends RecyclableElement<D, PC, E>
+    >
+    extends Normal<D, PC, E, RecyclableElement.Body<D, PC>, RecyclableElement.Body_c<D, PC>> {
+
+  private final String open;
+  private final String close;
+
+  RecyclableElement(D document, PC pc, String open, String close) {
+    super(document, pc);
+    this.open = open;
+    this.close = close;
+  }
+
+  /**
+   * Writes the beginning of the opening tag.
+   *
+   * @return  {@code this} element
+   */
+  @SuppressWarnings("deprecation")
+  E open() throws IOException {
+    writeOpen(document.getRawUnsafe(null));
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
+    return element;
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  protected void writeOpen(Writer unsafe) throws IOException {
+    document.autoNli().unsafe(open);
+  }
+
+  @Override
+  protected void doBeforeBody(Writer unsafe) throws IOException {
+    document.autoNl();
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  protected void writeClose(Writer unsafe, boolean closeAttributes) throws IOException {
+    if (closeAttributes) {
+      document.unsafe('>');
+    } else {
+      document.autoNli();
+    }
+    document.unsafe(close).autoNl();
+  }
+
+  @Override
+  protected Body<D, PC> new__() {
+    return new Body<>(this);
+  }
+
+  @Override
+  protected Body_c<D, PC> new_c() {
+    return new Body_c<>(this);
+  }
+
+  /**
+   * The content of a {@link RecyclableElement}.
+   */
+  static final class Body<D extends AnyDocument<D>, PC extends Content<D, PC>> extends Normal__<D, PC, Body<D, PC>> {
+
+    private Body(RecyclableElement<D, PC, ?> element) {
+      super(element);
+    }
+  }
+
+  /**
+   * The closeable content of a {@link RecyclableElement}.
+   */
+  static final class Body_c<D extends AnyDocument<D>, PC extends Content<D, PC>> extends Normal_c<D, PC, Body_c<D, PC>> {
+
+    private Body_c(RecyclableElement<D, PC, ?> element) {
+      super(element);
+    }
+  }
+
+  /**
+   * A {@code <table>}.
+   */
+  static final class Table<D extends AnyDocument<D>, PC extends Content<D, PC>>
+      extends RecyclableElement<D, PC, Table<D, PC>> {
+
+    private Table(D document, PC pc) {
+      super(document, pc, "<table", "</table>");
+    }
+  }
+
+  /**
+   * A {@code <tr>}.
+   */
+  static final class Tr<D extends AnyDocument<D>, PC extends Content<D, PC>>
+      extends RecyclableElement<D, PC, Tr<D, PC>> {
+
+    private Tr(D document, PC pc) {
+      super(document, pc, "<tr", "</tr>");
+    }
+  }
+
+  /**
+   * A {@code <td>}.
+   */
+  static final class Td<D extends AnyDocument<D>, PC extends Content<D, PC>>
+      extends RecyclableElement<D, PC, Td<D, PC>> {
+
+    private Td(D document, PC pc) {
+      super(document, pc, "<td", "</td>");
+    }
+  }
+
+  /**
+   * Opens a new or recycled {@code <table>}.
+   */
+  static <D extends AnyDocument<D>, PC extends Content<D, PC>> Table<D, PC> table(PC pc) throws IOException {
+    Table<D, PC> table = pc.getDocument().element(Table.class, pc, (D document, PC p) -> new Table<>(document, p));
+    return table.open();
+  }
+
+  /**
+   * Opens a new or recycled {@code <tr>}.
+   */
+  static <D extends AnyDocument<D>, PC extends Content<D, PC>> Tr<D, PC> tr(PC pc) throws IOException {
+    Tr<D, PC> tr = pc.getDocument().element(Tr.class, pc, (D document, PC p) -> new Tr<>(document, p));
+    return tr.open();
+  }
+
+  /**
+   * Opens a new or recycled {@code <td>}.
+   */
+  static <D extends AnyDocument<D>, PC extends Content<D, PC>> Td<D, PC> td(PC pc) throws IOException {
+    Td<D, PC> td = pc.getDocument().element(Td.class, pc, (D document, PC p) -> new Td<>(document, p));
+    return td.open();
+  }
+}
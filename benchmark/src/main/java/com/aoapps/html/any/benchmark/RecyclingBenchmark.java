@@ -0,0 +1,94 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.PreparedAttributes;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@linkplain com.aoapps.html.any.AnyDocument#setRecycleElements(boolean) element recycling} and
+ * {@link PreparedAttributes} on a table of {@link RecyclableElement}, which are created through
+ * {@link com.aoapps.html.any.AnyDocument#element(java.lang.Class, com.aoapps.html.any.Content, java.util.function.BiFunction)}.
+ * Run with {@code -prof gc} to compare allocation rates.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecyclingBenchmark {
+
+  @State(Scope.Thread)
+  public static class RecyclingState {
+
+    @Param({"false", "true"})
+    public boolean recycle;
+  }
+
+  private static final PreparedAttributes<RecyclableElement.Td<?, ?>> CELL =
+      new PreparedAttributes<>(td -> td.clazz("cell").title("Fish & Chips"));
+
+  @Benchmark
+  public long table(DocumentState state, RecyclingState recycling) throws IOException {
+    Document document = state.newDocument().setRecycleElements(recycling.recycle);
+    RecyclableElement.table(document).__(table -> {
+      for (int row = 0; row < ElementBenchmark.ROWS; row++) {
+        RecyclableElement.tr(table).__(tr -> {
+          for (int col = 0; col < ElementBenchmark.COLUMNS; col++) {
+            RecyclableElement.td(tr).clazz("cell").title("Fish & Chips").__(() -> document.text("Cell"));
+          }
+        });
+      }
+    });
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long tablePrepared(DocumentState state, RecyclingState recycling) throws IOException {
+    Document document = state.newDocument().setRecycleElements(recycling.recycle);
+    RecyclableElement.table(document).__(table -> {
+      for (int row = 0; row < ElementBenchmark.ROWS; row++) {
+        RecyclableElement.tr(table).__(tr -> {
+          for (int col = 0; col < ElementBenchmark.COLUMNS; col++) {
+            RecyclableElement.td(tr).attributes(CELL).__(() -> document.text("Cell"));
+          }
+        });
+      }
+    });
+    return state.getCount();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.TableArrays;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing a large numeric table with
+ * {@link com.aoapps.html.any.AnyTBODY#rows(com.aoapps.html.any.TableArrays)} against the same table written with an
+ * element per cell.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TableArraysBenchmark {
+
+  private static final int[] IDS = new int[TableBenchmark.ROWS];
+  private static final long[] COUNTS = new long[TableBenchmark.ROWS];
+  private static final double[] RATIOS = new double[TableBenchmark.ROWS];
+  private static final double[] AMOUNTS = new double[TableBenchmark.ROWS];
+
+  static {
+    for (int i = 0; i < TableBenchmark.ROWS; i++) {
+      IDS[i] = i;
+      COUNTS[i] = i * 1000L;
+      RATIOS[i] = i / 7.0;
+      AMOUNTS[i] = i * 1.25;
+    }
+  }
+
+  @Benchmark
+  public long elements(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.table().__(() ->
+        document.tbody().__(() -> {
+          for (int i = 0; i < TableBenchmark.ROWS; i++) {
+            int row = i;
+            document.tr().__(() -> {
+              document.td().__(IDS[row]);
+              document.td().__(COUNTS[row]);
+              document.td().__(RATIOS[row]);
+              document.td().clazz("amount").__(String.format("%.2f", AMOUNTS[row]));
+            });
+          }
+        })
+    );
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long rows(DocumentState state) throws IOException {
+    TableArrays columns = TableArrays.of()
+        .column(IDS)
+        .column(COUNTS)
+        .column(RATIOS)
+        .column("amount", AMOUNTS, 2);
+    Document document = state.newDocument();
+    document.table().__(() ->
+        document.tbody().rows(columns)
+    );
+    return state.getCount();
+  }
+}
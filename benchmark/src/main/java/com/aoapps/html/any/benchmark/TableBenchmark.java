@@ -0,0 +1,110 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.TableColumns;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing a large table with
+ * {@link com.aoapps.html.any.AnyTBODY#rows(java.lang.Iterable, com.aoapps.html.any.TableColumns)} against the same
+ * table written with an element per cell.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TableBenchmark {
+
+  static final int ROWS = 10000;
+
+  /**
+   * A row of a report.
+   */
+  static final class Row {
+
+    final int id;
+    final String name;
+    final long amount;
+
+    Row(int id) {
+      this.id = id;
+      this.name = "Item <" + id + '>';
+      this.amount = id * 100L;
+    }
+  }
+
+  private static final List<Row> DATA = new ArrayList<>(ROWS);
+
+  static {
+    for (int i = 0; i < ROWS; i++) {
+      DATA.add(new Row(i));
+    }
+  }
+
+  private static final TableColumns<Row> COLUMNS = TableColumns.<Row>of()
+      .column(row -> row.id)
+      .column("name", row -> row.name)
+      .column("amount", row -> row.amount);
+
+  @Benchmark
+  public long elements(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.table().__(() ->
+        document.tbody().__(() -> {
+          for (Row row : DATA) {
+            document.tr().__(() -> {
+              document.td().__(row.id);
+              document.td().clazz("name").__(row.name);
+              document.td().clazz("amount").__(row.amount);
+            });
+          }
+        })
+    );
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long rows(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.table().__(() ->
+        document.tbody().rows(DATA, COLUMNS)
+    );
+    return state.getCount();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.Template;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a {@link Template} against rendering the same mostly-constant page section directly.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TemplateBenchmark {
+
+  static final int ITEMS = 20;
+
+  private static final Template<Document> TEMPLATE = new Template<>(TemplateBenchmark::section);
+
+  private static void section(Document document) throws IOException {
+    document.div().clazz("section").__(() -> {
+      document.h2().__(() -> document.hole(0));
+      document.ul().clazz("menu").__(() -> {
+        for (int i = 0; i < ITEMS; i++) {
+          int item = i;
+          document.li().clazz("menu-item").__(() ->
+              document.a("/item/" + item).__("Item " + item)
+          );
+        }
+      });
+      document.p().__(() -> document.hole(1));
+    });
+  }
+
+  @Benchmark
+  public long direct(DocumentState state) throws IOException {
+    Document document = state.newDocument();
+    document.div().clazz("section").__(() -> {
+      document.h2().__("Welcome");
+      document.ul().clazz("menu").__(() -> {
+        for (int i = 0; i < ITEMS; i++) {
+          int item = i;
+          document.li().clazz("menu-item").__(() ->
+              document.a("/item/" + item).__("Item " + item)
+          );
+        }
+      });
+      document.p().__("Signed in");
+    });
+    return state.getCount();
+  }
+
+  @Benchmark
+  public long template(DocumentState state) throws IOException {
+    state.newDocument().template(TEMPLATE, "Welcome", "Signed in");
+    return state.getCount();
+  }
+}
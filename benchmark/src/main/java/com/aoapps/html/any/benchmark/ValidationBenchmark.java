@@ -0,0 +1,93 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.benchmark;
+
+import com.aoapps.html.Document;
+import com.aoapps.html.any.ValidationLevel;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the cost of attribute validation, by writing the same attributes at each {@link ValidationLevel}.
+ * The difference between {@link ValidationLevel#FULL} and {@link ValidationLevel#OFF} is the cost of validation.
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationBenchmark {
+
+  /**
+   * The validation level under test.
+   */
+  @State(Scope.Thread)
+  public static class LevelState {
+
+    @Param({"FULL", "SAMPLED", "OFF"})
+    public ValidationLevel level;
+  }
+
+  private static Document newDocument(DocumentState state, LevelState level) throws IOException {
+    return state.newDocument().setValidationLevel(level.level);
+  }
+
+  /**
+   * {@code data-*} attributes, which validate the doctype of each.  Their names are validated at every level.
+   */
+  @Benchmark
+  public long data(DocumentState state, LevelState level) throws IOException {
+    newDocument(state, level).div()
+        .data("data-product-id", "12345")
+        .data("data-category", "tools")
+        .dataset("trackingGroup", "featured")
+        .__();
+    return state.getCount();
+  }
+
+  /**
+   * HTML 5 only attributes, which validate the doctype of each.
+   */
+  @Benchmark
+  public long html5(DocumentState state, LevelState level) throws IOException {
+    newDocument(state, level).input().text()
+        .tabindex(3)
+        .minlength(8)
+        .autocapitalize("off")
+        .__();
+    return state.getCount();
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+/**
+ * <a href="https://github.com/openjdk/jmh">JMH</a> benchmarks of the document write path.
+ *
+ * <p>Each benchmark renders through the concrete {@code com.aoapps.html.Document} into a {@link CountingWriter}, so
+ * the measurements include validation, encoding, and whitespace handling but no I/O.  Build and run with:</p>
+ *
+ * <pre>mvn -Pdevelopment package
+ * java -jar target/benchmarks.jar -prof gc</pre>
+ *
+ * <p>The {@code -prof gc} profiler reports the allocation rate per operation, which is expected to be as important
+ * as throughput for this library.</p>
+ */
+package com.aoapps.html.any.benchmark;
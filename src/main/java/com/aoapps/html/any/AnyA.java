@@ -97,15 +97,21 @@ public abstract class AnyA<
   public PC __(Object text) throws IOException, IllegalStateException {
     @SuppressWarnings("deprecation")
     Writer unsafe = document.getRawUnsafe(null);
-    if (text != null) {
-      if (!(pc instanceof AnyTextContent)) {
-        throw new LocalizedIllegalStateException(RESOURCES, "contentModelNotAllowText", (pc == null) ? "null" : pc.getClass().getName());
+    try {
+      if (text != null) {
+        if (!(pc instanceof AnyTextContent)) {
+          throw new LocalizedIllegalStateException(RESOURCES, "contentModelNotAllowText", (pc == null) ? "null" : pc.getClass().getName());
+        }
+        document.autoIndent(unsafe).unsafe(unsafe, '>').incDepth().text(unsafe, text).decDepth();
+        writeClose(unsafe, false);
+      } else {
+        writeClose(unsafe, true);
       }
-      document.autoIndent(unsafe).unsafe(unsafe, '>').incDepth().text(unsafe, text).decDepth();
-      writeClose(unsafe, false);
-    } else {
-      writeClose(unsafe, true);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
     }
+    released();
     return pc;
   }
 
@@ -102,8 +102,16 @@ public abstract class AnyBODY<
   @Override
   protected void writeClose(Writer unsafe, boolean closeAttributes) throws IOException {
     if (closeAttributes) {
-      document.autoIndent(unsafe).unsafe(unsafe, "></body>", false);
+      if (document.hasDeferred()) {
+        // Deferred regions started before an empty body are still written within it
+        document.autoIndent(unsafe).unsafe(unsafe, '>');
+        document.writeDeferred();
+        document.autoNli(unsafe).unsafe(unsafe, "</body>", false);
+      } else {
+        document.autoIndent(unsafe).unsafe(unsafe, "></body>", false);
+      }
     } else {
+      document.writeDeferred();
       document.autoNli(unsafe).unsafe(unsafe, "</body>", false);
     }
     document.autoNl(unsafe);
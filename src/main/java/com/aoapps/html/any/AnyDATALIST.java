@@ -77,4 +77,14 @@ public abstract class AnyDATALIST<
     }
     document.autoNl(unsafe);
   }
+
+  /**
+   * Ends attributes, writes the given options, then closes this element.  The options are encoded once in advance,
+   * for the same output as an {@link AnyOPTION} per option.
+   *
+   * @return  The parent content model this element is within
+   */
+  public PC options(OptionList options) throws IOException {
+    return __(() -> options.write(document, options.getIndexes()));
+  }
 }
@@ -23,7 +23,6 @@
 
 package com.aoapps.html.any;
 
-import static com.aoapps.encoding.TextInXhtmlEncoder.encodeTextInXhtml;
 import static com.aoapps.encoding.TextInXhtmlEncoder.textInXhtmlEncoder;
 
 import com.aoapps.encoding.BufferedValidator;
@@ -35,6 +34,7 @@ import com.aoapps.encoding.MediaValidator;
 import com.aoapps.encoding.MediaWritable;
 import com.aoapps.encoding.MediaWriter;
 import com.aoapps.encoding.NoCloseMediaValidator;
+import com.aoapps.encoding.Serialization;
 import com.aoapps.encoding.TextWritable;
 import com.aoapps.encoding.TextWriter;
 import com.aoapps.encoding.ValidateOnlyEncoder;
@@ -49,13 +49,30 @@ import com.aoapps.lang.Throwables;
 import com.aoapps.lang.io.NoClose;
 import com.aoapps.lang.io.NullWriter;
 import com.aoapps.lang.io.Writable;
+import com.aoapps.lang.io.function.IOConsumerE;
+import com.aoapps.lang.io.function.IORunnableE;
 import com.aoapps.lang.io.function.IOSupplierE;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * Fluent Java DSL for high-performance HTML generation.
@@ -102,21 +119,1468 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
   private Writer optimized;
 
   /**
+   * The writer this document is writing to, already optimized via
+   * {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)} with {@code encoder = null}.
+   * This is the same as {@link #optimized} when not buffering.
+   */
+  private Writer out;
+
+  /**
+   * The buffer in front of {@link #out}, created when buffering is first enabled and reused thereafter.
+   */
+  private DocumentBuffer buffer;
+
+  /**
+   * The size of the buffer, or {@code 0} when not buffering.
+   */
+  private int bufferSize;
+
+  /**
+   * The UTF-8 encoder used for direct byte output, created on first use and reused thereafter.
+   */
+  private Utf8Writer utf8;
+
+  /**
+   * The digest of the output, or {@code null} when none.
+   */
+  private OutputDigest outputDigest;
+
+  /**
+   * The encoders used by this document, created on first use and reused thereafter.
+   */
+  private DocumentEncoders encoders;
+
+  /**
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   *              <p>Will be through {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}
+   *              with {@code encoder = null}.</p>
+   *
+   * @param  whitespace  Enables whitespace handling.  When {@code false}, both
+   *                     {@linkplain #setIndent(boolean) indentation} and
+   *                     {@linkplain #setAutonli(boolean) automatic newlines} are always off, for production output
+   *                     that is never indented.
+   *
+   * @see  AnyDocument#setOut(java.io.Writer)
+   * @see  #getWhitespace()
+   */
+  protected AnyDocument(EncodingContext encodingContext, Writer out, boolean whitespace) {
+    this.encodingContext = encodingContext;
+    this.out = (out == null) ? null : Coercion.optimize(out, null);
+    this.optimized = this.out;
+    this.whitespace = whitespace;
+  }
+
+  /**
+   * Creates a document with whitespace handling enabled.
+   *
    * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
    *              Not doing so may result in {@link IllegalStateException}.
    *
-   *              <p>Will be through {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}
-   *              with {@code encoder = null}.</p>
+   *              <p>Will be through {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}
+   *              with {@code encoder = null}.</p>
+   *
+   * @see  AnyDocument#setOut(java.io.Writer)
+   */
+  protected AnyDocument(EncodingContext encodingContext, Writer out) {
+    this(encodingContext, out, true);
+  }
+
+  /**
+   * Creates a document that writes UTF-8 directly to the given stream.
+   *
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   *
+   * @see  AnyDocument#setOutputStream(java.io.OutputStream)
+   */
+  protected AnyDocument(EncodingContext encodingContext, OutputStream out) throws IllegalStateException {
+    this(encodingContext, (Writer) null);
+    if (out != null) {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+      this.optimized = myUtf8;
+    }
+  }
+
+  /**
+   * Creates a document that writes UTF-8 directly to the given channel.
+   *
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   *
+   * @see  AnyDocument#setOutputChannel(java.nio.channels.WritableByteChannel)
+   */
+  protected AnyDocument(EncodingContext encodingContext, WritableByteChannel out) throws IllegalStateException {
+    this(encodingContext, (Writer) null);
+    if (out != null) {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+      this.optimized = myUtf8;
+    }
+  }
+
+  /**
+   * Creates a document that writes UTF-8 directly into the given buffer.
+   *
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   *
+   * @see  AnyDocument#setOutputBuffer(java.nio.ByteBuffer)
+   */
+  protected AnyDocument(EncodingContext encodingContext, ByteBuffer out) throws IllegalStateException {
+    this(encodingContext, (Writer) null);
+    if (out != null) {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+      this.optimized = myUtf8;
+    }
+  }
+
+  /**
+   * Replaces the writer this document is writing to.
+   *
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   *              <p>Will be through {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}
+   *              with {@code encoder = null}.</p>
+   *
+   *              <p>When {@linkplain #setBufferSize(int) buffering}, any output still in the buffer is first
+   *              written to the previous writer.  Call {@link #flush()} beforehand to handle any
+   *              {@link IOException} directly.</p>
+   *
+   * @throws  UncheckedIOException  when unable to write buffered output to the previous writer
+   *
+   * @see  AnyDocument#getRawUnsafe()
+   * @see  AnyDocument#getRawUnsafe(java.lang.Boolean)
+   */
+  public void setOut(Writer out) throws UncheckedIOException {
+    drainForSetOut();
+    this.out = (out == null) ? null : Coercion.optimize(out, null);
+    updateOptimized();
+  }
+
+  /**
+   * Replaces the output of this document with a stream, to which UTF-8 is written directly.  This avoids the
+   * second pass of character encoding otherwise performed by the writer.
+   *
+   * <p>The bytes are collected in a reusable buffer owned by this document, so {@link #flush()} must be called
+   * when done writing.</p>
+   *
+   * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.
+   *
+   *              <p>Any output still buffered is first written to the previous output.</p>
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   * @throws  UncheckedIOException  when unable to write buffered output to the previous output
+   *
+   * @see  AnyDocument#setOut(java.io.Writer)
+   */
+  public void setOutputStream(OutputStream out) throws IllegalStateException, UncheckedIOException {
+    drainForSetOut();
+    if (out == null) {
+      this.out = null;
+    } else {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+    }
+    updateOptimized();
+  }
+
+  /**
+   * Replaces the output of this document with a channel, to which UTF-8 is written directly.  This avoids the
+   * second pass of character encoding otherwise performed by the writer.
+   *
+   * <p>The bytes are collected in a reusable buffer owned by this document, so {@link #flush()} must be called
+   * when done writing.</p>
+   *
+   * @param  out  The channel, which is expected to be in blocking mode.
+   *
+   *              <p>May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.</p>
+   *
+   *              <p>Any output still buffered is first written to the previous output.</p>
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   * @throws  UncheckedIOException  when unable to write buffered output to the previous output
+   *
+   * @see  AnyDocument#setOut(java.io.Writer)
+   */
+  public void setOutputChannel(WritableByteChannel out) throws IllegalStateException, UncheckedIOException {
+    drainForSetOut();
+    if (out == null) {
+      this.out = null;
+    } else {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+    }
+    updateOptimized();
+  }
+
+  /**
+   * Replaces the output of this document with a buffer, into which UTF-8 is written directly.
+   *
+   * <p>The bytes are collected in a reusable buffer owned by this document, so {@link #flush()} must be called
+   * when done writing.</p>
+   *
+   * @param  out  The buffer, which must have sufficient space remaining for the document.  When full, writes will
+   *              throw {@link java.nio.BufferOverflowException}.
+   *
+   *              <p>May be {@code null}, but must be set to a non-null value again before any additional writes.
+   *              Not doing so may result in {@link IllegalStateException}.</p>
+   *
+   *              <p>Any output still buffered is first written to the previous output.</p>
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   * @throws  UncheckedIOException  when unable to write buffered output to the previous output
+   *
+   * @see  AnyDocument#setOut(java.io.Writer)
+   */
+  public void setOutputBuffer(ByteBuffer out) throws IllegalStateException, UncheckedIOException {
+    drainForSetOut();
+    if (out == null) {
+      this.out = null;
+    } else {
+      Utf8Writer myUtf8 = getUtf8();
+      myUtf8.setOut(out);
+      this.out = myUtf8;
+    }
+    updateOptimized();
+  }
+
+  /**
+   * Gets the UTF-8 encoder, creating it on first use.
+   *
+   * @throws  IllegalStateException  when the encoding context is not {@link #ENCODING UTF-8}
+   */
+  private Utf8Writer getUtf8() throws IllegalStateException {
+    Utf8Writer myUtf8 = utf8;
+    if (myUtf8 == null) {
+      Charset documentEncoding = encodingContext.getCharacterEncoding();
+      if (!ENCODING.equals(documentEncoding)) {
+        throw new LocalizedIllegalStateException(RESOURCES, "getUtf8.notUtf8", ENCODING.name(), documentEncoding.name());
+      }
+      myUtf8 = new Utf8Writer(DEFAULT_BUFFER_SIZE);
+      myUtf8.setFlushInterval(flushInterval);
+      utf8 = myUtf8;
+    }
+    return myUtf8;
+  }
+
+  /**
+   * Gets the encoders used by this document, creating on first use.
+   */
+  DocumentEncoders getEncoders() {
+    DocumentEncoders myEncoders = encoders;
+    if (myEncoders == null) {
+      myEncoders = new DocumentEncoders(encodingContext);
+      encoders = myEncoders;
+    }
+    return myEncoders;
+  }
+
+  /**
+   * Writes any buffered output to the current output, before it is replaced.
+   *
+   * @throws  UncheckedIOException  when unable to write buffered output
+   */
+  private void drainForSetOut() throws UncheckedIOException {
+    try {
+      if (buffer != null) {
+        buffer.drain();
+      }
+      if (utf8 != null && out == utf8) {
+        utf8.drain();
+        utf8.clear();
+      }
+      if (encoders != null) {
+        encoders.clearWriters();
+      }
+      detachOutputDigest();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Updates {@link #optimized} after a change in {@link #out} or {@link #bufferSize}.
+   * Direct UTF-8 output is already buffered, so is never wrapped in a second buffer.
+   */
+  private void updateOptimized() {
+    Writer myOut = out;
+    if (myOut != null && bufferSize > 0 && myOut != utf8) {
+      DocumentBuffer myBuffer = buffer;
+      if (myBuffer == null || myBuffer.getSize() != bufferSize) {
+        assert myBuffer == null || myBuffer.getCount() == 0;
+        myBuffer = new DocumentBuffer(bufferSize);
+        myBuffer.setFlushInterval(flushInterval);
+        buffer = myBuffer;
+      }
+      myBuffer.setOut(myOut);
+      optimized = myBuffer;
+    } else {
+      optimized = myOut;
+    }
+  }
+
+  /**
+   * The default buffer size used by {@link #setBuffered(boolean)}.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Gets the size of the internal output buffer, or {@code 0} when output is not buffered.
+   *
+   * @see  #setBufferSize(int)
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the size of the internal output buffer.  When buffering, output is collected into a {@code char[]} owned by
+   * this document and written to the underlying writer in large blocks.  This reduces the number of calls to writers
+   * that are expensive per call, such as servlet response writers and encoders.
+   *
+   * <p>The buffer is reused for the life of this document, including across calls to
+   * {@link #setOut(java.io.Writer)}.</p>
+   *
+   * <p>While buffering, {@link #getRawUnsafe()} returns the buffer, so anything written through it remains in order.
+   * However, anything written directly to the underlying writer, bypassing this document, must be preceded by a call
+   * to {@link #flush()}.</p>
+   *
+   * <p>Direct UTF-8 output, such as {@link #setOutputStream(java.io.OutputStream)}, is always buffered and is not
+   * affected by this setting.</p>
+   *
+   * @param  bufferSize  The buffer size, or {@code 0} to disable buffering.  Any output already buffered is written
+   *                     to the underlying writer before the size is changed.
+   *
+   * @return  {@code this} document
+   *
+   * @see  #setBuffered(boolean)
+   * @see  #flush()
+   */
+  public D setBufferSize(int bufferSize) throws IOException {
+    if (bufferSize < 0) {
+      throw new IllegalArgumentException("bufferSize < 0: " + bufferSize);
+    }
+    if (bufferSize != this.bufferSize) {
+      if (buffer != null) {
+        buffer.drain();
+      }
+      this.bufferSize = bufferSize;
+      updateOptimized();
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Is the output of this document currently buffered.
+   *
+   * @see  #getBufferSize()
+   */
+  public boolean getBuffered() {
+    return bufferSize > 0;
+  }
+
+  /**
+   * Enables or disables output buffering.
+   *
+   * @param  buffered  When {@code true} and not already buffering, uses a buffer of {@link #DEFAULT_BUFFER_SIZE}.
+   *
+   * @return  {@code this} document
+   *
+   * @see  #setBufferSize(int)
+   */
+  public D setBuffered(boolean buffered) throws IOException {
+    if (buffered) {
+      if (bufferSize == 0) {
+        setBufferSize(DEFAULT_BUFFER_SIZE);
+      }
+    } else {
+      setBufferSize(0);
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Is the output flushed when the {@code <head>} is closed.
+   */
+  private boolean flushAfterHead;
+
+  /**
+   * The number of characters, or bytes for direct UTF-8 output, after which the output is flushed.
+   */
+  private long flushInterval;
+
+  /**
+   * Is the output {@linkplain #flush() flushed} when the {@code <head>} is closed.
+   *
+   * @see  #setFlushAfterHead(boolean)
+   */
+  public boolean getFlushAfterHead() {
+    return flushAfterHead;
+  }
+
+  /**
+   * Sets whether the output is {@linkplain #flush() flushed} when the {@code <head>} is closed.  This allows the
+   * browser to begin fetching the stylesheets and scripts linked from the {@code <head>} while the {@code <body>} is
+   * still being rendered.
+   *
+   * <p>Flushing may commit a response, after which headers can no longer be changed.</p>
+   *
+   * @return  {@code this} document
+   *
+   * @see  Element#flushAfter()
+   */
+  public D setFlushAfterHead(boolean flushAfterHead) {
+    this.flushAfterHead = flushAfterHead;
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Gets the number of characters, or bytes for direct UTF-8 output, after which the output is flushed, or
+   * {@code 0} when not flushed automatically.
+   *
+   * @see  #setFlushInterval(long)
+   */
+  public long getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * Sets the number of characters, or bytes for direct UTF-8 output, after which the output is flushed.  The output
+   * is counted as it leaves the internal buffer, so this only applies when {@linkplain #setBufferSize(int) buffered}
+   * or using direct UTF-8 output, and the output is flushed at buffer boundaries.
+   *
+   * @param  flushInterval  The interval, or {@code 0} to not flush automatically
+   *
+   * @return  {@code this} document
+   */
+  public D setFlushInterval(long flushInterval) {
+    if (flushInterval < 0) {
+      throw new IllegalArgumentException("flushInterval < 0: " + flushInterval);
+    }
+    this.flushInterval = flushInterval;
+    if (buffer != null) {
+      buffer.setFlushInterval(flushInterval);
+    }
+    if (utf8 != null) {
+      utf8.setFlushInterval(flushInterval);
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Writes any buffered output to the underlying writer then flushes the underlying writer.
+   *
+   * @return  {@code this} document
+   *
+   * @throws  IllegalStateException  when output has been set to {@code null}.
+   *
+   * @see  #setBufferSize(int)
+   */
+  public D flush() throws IOException, IllegalStateException {
+    Writer myOut = out;
+    if (myOut == null) {
+      throw new LocalizedIllegalStateException(RESOURCES, "getRawUnsafe.noOut");
+    }
+    if (buffer != null) {
+      buffer.drain();
+    }
+    myOut.flush();
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Begins counting, and optionally computing a digest of, the bytes of all output written from this point.  Any
+   * output already buffered is first written, and is not included.
+   *
+   * <p>With direct UTF-8 output, the bytes are counted as they are written.  Otherwise, the characters are encoded
+   * a second time, in the {@linkplain EncodingContext#getCharacterEncoding() character encoding of the document},
+   * into the digest only.</p>
+   *
+   * <p>The digest is detached when the output is changed or this document is {@linkplain #reset() reset}.  This must
+   * not be called while rendering {@linkplain #parallel(java.util.function.Supplier, java.util.concurrent.Executor) parallel regions}
+   * or within {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.</p>
+   *
+   * @param  digest  The digest, or {@code null} to stop without completing the current digest
+   *
+   * @return  {@code this} document
+   *
+   * @throws  IllegalStateException  when output has been set to {@code null}.
+   *
+   * @see  #finishOutputDigest()
+   */
+  public D setOutputDigest(OutputDigest digest) throws IOException, IllegalStateException {
+    if (buffer != null) {
+      buffer.drain();
+    }
+    if (utf8 != null && out == utf8) {
+      utf8.drain();
+    }
+    detachOutputDigest();
+    if (digest != null) {
+      Writer myOut = out;
+      if (myOut == null) {
+        throw new LocalizedIllegalStateException(RESOURCES, "getRawUnsafe.noOut");
+      }
+      if (myOut == utf8) {
+        utf8.setDigest(digest);
+      } else {
+        out = new DigestWriter(myOut, digest, encodingContext.getCharacterEncoding());
+        updateOptimized();
+      }
+      outputDigest = digest;
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Gets the current digest of the output.
+   *
+   * @return  The digest or {@code null} when none
+   *
+   * @see  #setOutputDigest(com.aoapps.html.any.OutputDigest)
+   */
+  public OutputDigest getOutputDigest() {
+    return outputDigest;
+  }
+
+  /**
+   * Writes any buffered output, without flushing the underlying output, then stops the digest of the output.
+   * The returned digest includes all output written since {@link #setOutputDigest(com.aoapps.html.any.OutputDigest)}.
+   *
+   * @return  The digest or {@code null} when none
+   */
+  public OutputDigest finishOutputDigest() throws IOException {
+    OutputDigest digest = outputDigest;
+    if (digest != null) {
+      if (buffer != null) {
+        buffer.drain();
+      }
+      if (utf8 != null && out == utf8) {
+        utf8.drain();
+      } else if (out instanceof DigestWriter) {
+        ((DigestWriter) out).finish();
+      }
+      detachOutputDigest();
+    }
+    return digest;
+  }
+
+  /**
+   * Stops the digest of the output, if any, without writing any buffered output.
+   */
+  private void detachOutputDigest() {
+    if (outputDigest != null) {
+      outputDigest = null;
+      Writer myOut = out;
+      if (myOut instanceof DigestWriter) {
+        out = ((DigestWriter) myOut).getOut();
+        updateOptimized();
+      } else if (utf8 != null && myOut == utf8) {
+        utf8.setDigest(null);
+      }
+    }
+  }
+
+  /**
+   * The default number of documents per validated document for {@link ValidationLevel#SAMPLED}.
+   */
+  public static final int DEFAULT_VALIDATION_SAMPLE_RATE = 100;
+
+  private ValidationLevel validationLevel = ValidationLevel.FULL;
+
+  private int validationSampleRate = DEFAULT_VALIDATION_SAMPLE_RATE;
+
+  /**
+   * Is the current document being validated, selected by {@link #validationLevel} on each {@link #reset()}.
+   */
+  private boolean validating = true;
+
+  /**
+   * Gets the level of attribute validation.
+   *
+   * @see  #setValidationLevel(com.aoapps.html.any.ValidationLevel)
+   */
+  public ValidationLevel getValidationLevel() {
+    return validationLevel;
+  }
+
+  /**
+   * Sets the level of attribute validation.  With {@link ValidationLevel#SAMPLED}, whether a document is validated
+   * is selected now and again on each {@link #reset()}, such as when reused from a {@link DocumentPool}.
+   *
+   * @return  {@code this} document
+   *
+   * @see  #getValidating()
+   */
+  public D setValidationLevel(ValidationLevel validationLevel) {
+    this.validationLevel = Objects.requireNonNull(validationLevel);
+    sampleValidation();
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Gets the number of documents per validated document for {@link ValidationLevel#SAMPLED}.
+   */
+  public int getValidationSampleRate() {
+    return validationSampleRate;
+  }
+
+  /**
+   * Sets the number of documents per validated document for {@link ValidationLevel#SAMPLED}.
+   *
+   * @param  validationSampleRate  Validates one in this many documents
+   *
+   * @return  {@code this} document
+   */
+  public D setValidationSampleRate(int validationSampleRate) {
+    if (validationSampleRate < 1) {
+      throw new IllegalArgumentException("validationSampleRate < 1: " + validationSampleRate);
+    }
+    this.validationSampleRate = validationSampleRate;
+    sampleValidation();
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Is this document currently validating attributes, as selected by the {@linkplain #getValidationLevel() level}.
+   */
+  public boolean getValidating() {
+    return validating;
+  }
+
+  /**
+   * Matches the validation of another document, including whether the current document is being validated.  This
+   * allows a {@link Region} to be validated along with the document it is part of.
+   */
+  void setValidation(ValidationLevel validationLevel, int validationSampleRate, boolean validating) {
+    this.validationLevel = validationLevel;
+    this.validationSampleRate = validationSampleRate;
+    this.validating = validating;
+  }
+
+  private void sampleValidation() {
+    switch (validationLevel) {
+      case FULL:
+        validating = true;
+        break;
+      case SAMPLED:
+        validating = ThreadLocalRandom.current().nextInt(validationSampleRate) == 0;
+        break;
+      case OFF:
+        validating = false;
+        break;
+      default:
+        throw new AssertionError("Unexpected value for validationLevel: " + validationLevel);
+    }
+  }
+
+  /**
+   * The bundle lookup context of the current render, resolved on first use by {@link #getThreadContext()}.
+   */
+  private BundleLookupThreadContext threadContext;
+
+  /**
+   * Has {@link #threadContext} been resolved for the current render.
+   */
+  private boolean threadContextResolved;
+
+  /**
+   * Gets the bundle lookup context for the current render.  The thread-local context is looked-up once, on first use
+   * after construction, {@link #reset()}, or {@link #refreshThreadContext()}, and reused for all text and attributes
+   * after that.
+   *
+   * @return  The context or {@code null} when there are no bundle lookups
+   */
+  BundleLookupThreadContext getThreadContext() {
+    if (!threadContextResolved) {
+      threadContext = BundleLookupThreadContext.getThreadContext();
+      threadContextResolved = true;
+    }
+    return threadContext;
+  }
+
+  /**
+   * Looks-up the bundle lookup context again on next use.  The context is otherwise resolved only once per render,
+   * so this must be called when the thread-local {@link BundleLookupThreadContext} is started, stopped, or replaced
+   * after this document has begun writing text.  This is also required when a document is passed between threads.
+   *
+   * @return  {@code this} document
+   */
+  public D refreshThreadContext() {
+    threadContext = null;
+    threadContextResolved = false;
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Set while this document is idle in a {@link DocumentPool}.
+   */
+  boolean pooled;
+
+  /**
+   * Resets this document to the same state as a newly constructed document, keeping its current output.  This
+   * allows a document to be reused, such as by a {@link DocumentPool}, without reallocating it or its buffers.
+   *
+   * <p>Indentation, depth, automatic newlines, and newline tracking are all reset.  The
+   * {@linkplain #setBufferSize(int) buffer size} is retained, as it is part of how the document was configured.</p>
+   *
+   * <p>Any output still buffered is discarded, since this is also used to recover a document after a failed
+   * render.  Call {@link #flush()} first to keep it.</p>
+   *
+   * <p>Subclasses with additional per-render state should override this method, calling
+   * {@code super.reset()}.</p>
+   *
+   * @return  {@code this} document
+   *
+   * @see  #reset(java.io.Writer)
+   */
+  public D reset() {
+    if (buffer != null) {
+      buffer.discard();
+    }
+    if (utf8 != null && out == utf8) {
+      utf8.discard();
+    }
+    if (recyclers != null) {
+      for (ElementRecycler recycler : recyclers.values()) {
+        recycler.reset();
+      }
+    }
+    if (encoders != null) {
+      encoders.clearWriters();
+    }
+    if (deferredRegions != null) {
+      deferredRegions.reset();
+    }
+    deferredNonce = null;
+    detachOutputDigest();
+    refreshThreadContext();
+    if (validationLevel == ValidationLevel.SAMPLED) {
+      sampleValidation();
+    }
+    indent = false;
+    depth = 0;
+    autonli = false;
+    atnl = false;
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Is element recycling enabled.
+   */
+  private boolean recycleElements;
+
+  /**
+   * The per-type recyclers, created when recycling is first enabled and retained across {@link #reset()}.
+   */
+  private Map<Class<?>, ElementRecycler> recyclers;
+
+  /**
+   * Is element recycling enabled.
+   *
+   * @see  #setRecycleElements(boolean)
+   */
+  public boolean getRecycleElements() {
+    return recycleElements;
+  }
+
+  /**
+   * Enables or disables element recycling.  When enabled, this document keeps one instance per element type and
+   * nesting level, along with its content models, and reuses it once the element is closed.  This avoids allocating
+   * new objects for every element, such as the cells of a large table.
+   *
+   * <p>When recycling, an element and its content models must not be used after the element is closed, as they may
+   * have already been reused for a later element of the same type.</p>
+   *
+   * @return  {@code this} document
+   *
+   * @see  #element(java.lang.Class, com.aoapps.html.any.Content, java.util.function.BiFunction)
+   */
+  public D setRecycleElements(boolean recycleElements) {
+    this.recycleElements = recycleElements;
+    if (recycleElements && recyclers == null) {
+      recyclers = new IdentityHashMap<>();
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Gets an element for the given parent content model.  When {@linkplain #setRecycleElements(boolean) recycling},
+   * reuses a closed instance of the same type at the current nesting level, if available.  Otherwise, creates a new
+   * element.
+   *
+   * <p>This is intended for use by element factory methods, before the opening tag is written.</p>
+   *
+   * @param  <PC>     The parent content model the element is within
+   * @param  <E>      The element type
+   * @param  type     The key identifying the element type, which must always be used with the same factory
+   * @param  factory  Creates a new element
+   *
+   * @return  The new or recycled element
+   *
+   * @see  Element#isRecyclable()
+   * @see  Element#recycle()
+   */
+  public <PC extends Content<D, PC>, E extends Element<D, PC, E>> E element(
+      Class<?> type,
+      PC pc,
+      BiFunction<? super D, ? super PC, ? extends E> factory
+  ) {
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    if (!recycleElements) {
+      return factory.apply(d, pc);
+    }
+    ElementRecycler recycler = recyclers.get(type);
+    if (recycler == null) {
+      recycler = new ElementRecycler();
+      recyclers.put(type, recycler);
+    } else if (recycler.disabled) {
+      return factory.apply(d, pc);
+    }
+    int level = recycler.getLevel();
+    if (level >= ElementRecycler.MAX_LEVELS) {
+      // Not registered, so does not open a level
+      return factory.apply(d, pc);
+    }
+    @SuppressWarnings("unchecked")
+    E element = (E) recycler.open();
+    if (element != null) {
+      assert element.document == this;
+      element.reuse(pc);
+    } else {
+      element = factory.apply(d, pc);
+      if (element.isRecyclable()) {
+        recycler.set(level, element);
+        element.recycler = recycler;
+      } else {
+        recycler.disabled = true;
+        recycler.reset();
+      }
+    }
+    return element;
+  }
+
+  /**
+   * The cache used by {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}, if any.
+   */
+  private FragmentCache fragmentCache;
+
+  /**
+   * The capture of the innermost subtree currently being rendered for the fragment cache, if any.
+   */
+  private FragmentCapture capture;
+
+  /**
+   * Gets the cache used by {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.
+   *
+   * @return  The cache or {@code null} when not caching
+   */
+  public FragmentCache getFragmentCache() {
+    return fragmentCache;
+  }
+
+  /**
+   * Sets the cache used by {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.  A single
+   * cache is typically shared by all documents.
+   *
+   * @param  fragmentCache  The cache or {@code null} to always render
+   *
+   * @return  {@code this} document
+   */
+  public D setFragmentCache(FragmentCache fragmentCache) {
+    this.fragmentCache = fragmentCache;
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Renders a subtree once, then replays its output from the {@linkplain #setFragmentCache(com.aoapps.html.any.FragmentCache) fragment cache}
+   * thereafter.  The replayed indentation is rebased to the {@linkplain #getDepth() current depth}, and the
+   * {@linkplain #getAtnl() atnl} state is restored as it was after the subtree was rendered.
+   *
+   * <p>The body must render the same output every time for the given key, must not change the output of this
+   * document, and must be balanced, closing every element it opens.  When the body throws an exception, none of its
+   * output is written, and the depth and atnl state are restored.</p>
+   *
+   * <p>The body is always rendered directly when there is no fragment cache, when bundle lookup markup is being
+   * recorded, or when indentation would not rebase to the current depth.  Calls may be nested, but
+   * {@linkplain #hole(int) holes} may not be used within the body, even when it is within a template.</p>
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   * @param  key   Identifies the subtree, and must have consistent {@link Object#equals(java.lang.Object)} and
+   *               {@link Object#hashCode()} implementations
+   *
+   * @return  {@code this} document
+   */
+  @SuppressWarnings("deprecation")
+  public <Ex extends Throwable> D cached(Object key, IORunnableE<Ex> body) throws IOException, Ex {
+    // Holes would be captured with the values of this render, or recorded in the skeleton of an enclosing template
+    Object[] outerValues = holeValues;
+    FragmentCapture outerTemplate = templateCapture;
+    holeValues = CACHED_HOLE_VALUES;
+    templateCapture = null;
+    try {
+      FragmentCache cache = fragmentCache;
+      if (cache == null || recordCapture != null || getThreadContext() != null) {
+        body.run();
+      } else {
+        FragmentCache.Key cacheKey = new FragmentCache.Key(
+            key,
+            encodingContext.getDoctype(),
+            encodingContext.getSerialization(),
+            getIndent(),
+            getAutonli(),
+            getAtnl()
+        );
+        Writer unsafe = getRawUnsafe(null);
+        int startDepth = getDepth();
+        Fragment fragment = cache.get(cacheKey);
+        if (fragment == null) {
+          boolean startAtnl = getAtnl();
+          FragmentCapture outer = capture;
+          FragmentCapture myCapture = new FragmentCapture(startDepth);
+          capture = myCapture;
+          optimized = myCapture;
+          int endDepth;
+          boolean endAtnl;
+          try {
+            body.run();
+            endDepth = getDepth();
+            endAtnl = getAtnl();
+          } finally {
+            capture = outer;
+            optimized = unsafe;
+            // Nothing was written, even when the body throws
+            setDepth(startDepth);
+            setAtnl(startAtnl);
+          }
+          fragment = myCapture.toFragment(endDepth, endAtnl);
+          cache.put(cacheKey, fragment);
+          fragment.replay(this, unsafe);
+        } else if (fragment.isReplayable(startDepth)) {
+          fragment.replay(this, unsafe);
+        } else {
+          body.run();
+        }
+      }
+    } finally {
+      holeValues = outerValues;
+      templateCapture = outerTemplate;
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * The capture of the {@link Template} currently being recorded, if any.
+   */
+  private FragmentCapture templateCapture;
+
+  /**
+   * The values for the holes of the {@link Template} currently being rendered, if any.
+   */
+  private Object[] holeValues;
+
+  /**
+   * The marker value of {@link #holeValues} while rendering the body of
+   * {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.
+   */
+  private static final Object[] CACHED_HOLE_VALUES = {};
+
+  /**
+   * Renders a template, compiling its skeleton on first use for the current state of this document.  Thereafter, only
+   * the given values are written between its constant markup.  Indentation is rebased to the
+   * {@linkplain #getDepth() current depth}, as with {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.
+   *
+   * <p>The body is always rendered directly, with each value written in place of its hole, when bundle lookup markup
+   * is being recorded, while capturing for {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}
+   * or another template, or when indentation would not rebase to the current depth.  When the body throws an
+   * exception while compiling, none of its output is written, and the depth and atnl state are restored.</p>
+   *
+   * @param  values  The value for each {@linkplain #hole(int) hole}, by index
+   *
+   * @return  {@code this} document
+   *
+   * @throws  IllegalArgumentException  when there are fewer values than holes
+   */
+  @SuppressWarnings("deprecation")
+  public D template(Template<D> template, Object... values) throws IOException, IllegalArgumentException {
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    Object[] outerValues = holeValues;
+    holeValues = Objects.requireNonNull(values);
+    try {
+      if (capture != null || getThreadContext() != null) {
+        // Holes are written directly, not recorded in the skeleton of an enclosing template
+        FragmentCapture outerTemplate = templateCapture;
+        templateCapture = null;
+        try {
+          template.render(d);
+        } finally {
+          templateCapture = outerTemplate;
+        }
+      } else {
+        FragmentCache.Key key = new FragmentCache.Key(
+            template,
+            encodingContext.getDoctype(),
+            encodingContext.getSerialization(),
+            getIndent(),
+            getAutonli(),
+            getAtnl()
+        );
+        Writer unsafe = getRawUnsafe(null);
+        int startDepth = getDepth();
+        Fragment skeleton = template.get(key);
+        if (skeleton == null) {
+          boolean startAtnl = getAtnl();
+          FragmentCapture myCapture = new FragmentCapture(startDepth);
+          capture = myCapture;
+          templateCapture = myCapture;
+          optimized = myCapture;
+          int endDepth;
+          boolean endAtnl;
+          try {
+            template.render(d);
+            endDepth = getDepth();
+            endAtnl = getAtnl();
+          } finally {
+            capture = null;
+            templateCapture = null;
+            optimized = unsafe;
+            // Nothing was written, even when the body throws
+            setDepth(startDepth);
+            setAtnl(startAtnl);
+          }
+          skeleton = myCapture.toFragment(endDepth, endAtnl);
+          template.put(key, skeleton);
+        }
+        if (values.length < skeleton.holeCount) {
+          throw new IllegalArgumentException("values.length < holes: " + values.length + " < " + skeleton.holeCount);
+        }
+        if (skeleton.isReplayable(startDepth)) {
+          skeleton.replay(this, unsafe, values);
+        } else {
+          template.render(d);
+        }
+      }
+    } finally {
+      holeValues = outerValues;
+    }
+    return d;
+  }
+
+  /**
+   * Marks the position of a dynamic value within the body of a {@link Template}.  While the template is being
+   * compiled, a numbered hole is recorded in place of the value.  Otherwise, the value is written directly as
+   * {@link #text(java.lang.Object)}.
+   *
+   * <p>The markup following a hole is compiled as if the value does not end at a newline.  When
+   * {@linkplain #getAutonli() automatic newlines} are enabled, an empty value, or one ending in a newline, may be
+   * followed by different whitespace than when rendered directly.</p>
+   *
+   * @param  index  The index of the value passed to
+   *                {@link #template(com.aoapps.html.any.Template, java.lang.Object...)}
+   *
+   * @return  {@code this} document
+   *
+   * @throws  IllegalStateException  when not rendering a template, or within
+   *                                 {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}
+   * @throws  IndexOutOfBoundsException  when there is no value for the given index
+   */
+  @SuppressWarnings("deprecation")
+  public D hole(int index) throws IOException, IllegalStateException, IndexOutOfBoundsException {
+    Object[] values = holeValues;
+    if (values == null) {
+      throw new LocalizedIllegalStateException(RESOURCES, "hole.notTemplate");
+    }
+    if (values == CACHED_HOLE_VALUES) {
+      throw new LocalizedIllegalStateException(RESOURCES, "hole.cached");
+    }
+    Objects.checkIndex(index, values.length);
+    FragmentCapture myCapture = capture;
+    if (myCapture != null && myCapture == templateCapture) {
+      myCapture.hole(index, getDepth(), getAtnl());
+      clearAtnl(); // Unknown, assume the value is written and does not end in a newline
+      @SuppressWarnings("unchecked")
+      D d = (D) this;
+      return d;
+    } else {
+      return text(getRawUnsafe(null), values[index]);
+    }
+  }
+
+  /**
+   * The capture of the {@link RenderRecording} currently being recorded, if any.
+   */
+  private FragmentCapture recordCapture;
+
+  /**
+   * Records a render without writing it to this document.  The recording may then be
+   * {@linkplain #replay(com.aoapps.html.any.RenderRecording) replayed} into any number of documents with the same
+   * {@link Doctype}, whatever their {@link Serialization}, without running the body again.
+   *
+   * <p>The body is recorded with the current whitespace state of this document, which is restored after, even when
+   * the body throws an exception.  While recording,
+   * {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}, {@link PreparedAttributes},
+   * {@linkplain #template(com.aoapps.html.any.Template, java.lang.Object...) templates}, and
+   * {@linkplain #parallel(java.util.function.Supplier, java.util.concurrent.Executor) parallel} and
+   * {@linkplain #deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE) deferred}
+   * regions all render directly.</p>
    *
-   * @see  AnyDocument#setOut(java.io.Writer)
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @throws  IllegalStateException  when already recording or capturing
    */
-  protected AnyDocument(EncodingContext encodingContext, Writer out) {
-    this.encodingContext = encodingContext;
-    this.optimized = (out == null) ? null : Coercion.optimize(out, null);
+  @SuppressWarnings("deprecation")
+  public <Ex extends Throwable> RenderRecording record(IOConsumerE<? super D, Ex> body)
+      throws IOException, IllegalStateException, Ex {
+    if (capture != null) {
+      throw new LocalizedIllegalStateException(RESOURCES, "record.capturing");
+    }
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    Writer previous = optimized;
+    int startDepth = getDepth();
+    boolean startAtnl = getAtnl();
+    FragmentCapture myCapture = new FragmentCapture(startDepth);
+    capture = myCapture;
+    recordCapture = myCapture;
+    optimized = myCapture;
+    int endDepth;
+    boolean endAtnl;
+    try {
+      body.accept(d);
+      endDepth = getDepth();
+      endAtnl = getAtnl();
+    } finally {
+      capture = null;
+      recordCapture = null;
+      optimized = previous;
+      // Nothing was written, even when the body throws
+      setDepth(startDepth);
+      setAtnl(startAtnl);
+    }
+    return new RenderRecording(
+        encodingContext.getDoctype(),
+        myCapture.toFragment(endDepth, endAtnl)
+    );
   }
 
   /**
-   * Replaces the writer this document is writing to.
+   * Writes a recording to this document, with the output for the {@link Serialization} of this document.
+   * Indentation is rebased to the {@linkplain #getDepth() current depth} when possible.
+   *
+   * @return  {@code this} document
+   *
+   * @throws  IllegalArgumentException  when the recording is for a different {@link Doctype}
+   *
+   * @see  #record(com.aoapps.lang.io.function.IOConsumerE)
+   */
+  public D replay(RenderRecording recording) throws IOException, IllegalArgumentException {
+    Doctype doctype = encodingContext.getDoctype();
+    if (recording.getDoctype() != doctype) {
+      throw new IllegalArgumentException("Recording doctype does not match: " + recording.getDoctype() + " != " + doctype);
+    }
+    recording.replay(this, getRawUnsafe(null));
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Is a {@link RenderRecording} being recorded directly, outside of any
+   * {@linkplain #serialized(com.aoapps.lang.io.function.IOConsumerE) branch}.  Output that depends on the
+   * {@link Serialization} must then be written through {@link #serialized(com.aoapps.lang.io.function.IOConsumerE)}.
+   */
+  boolean isRecording() {
+    FragmentCapture myCapture = capture;
+    return myCapture != null && myCapture == recordCapture;
+  }
+
+  /**
+   * Writes output that depends on the {@link Serialization}.  While {@linkplain #isRecording() recording}, the output
+   * of every serialization is captured as a branch of the recording, and the document continues in the state of its
+   * own serialization.  Otherwise, writes the output for the serialization of this document.
+   *
+   * @param  writer  Writes the output for the given serialization to {@link #getRawUnsafe(java.lang.Boolean)}
+   */
+  @SuppressWarnings("deprecation")
+  void serialized(IOConsumerE<? super Serialization, ? extends RuntimeException> writer) throws IOException {
+    Serialization own = encodingContext.getSerialization();
+    FragmentCapture myCapture = capture;
+    if (myCapture != null && myCapture == recordCapture) {
+      int startDepth = getDepth();
+      boolean startAtnl = getAtnl();
+      int endDepth = startDepth;
+      boolean endAtnl = startAtnl;
+      Serialization[] serializations = Serialization.values();
+      Fragment[] alternatives = new Fragment[serializations.length];
+      try {
+        for (Serialization serialization : serializations) {
+          setDepth(startDepth);
+          setAtnl(startAtnl);
+          FragmentCapture alternative = new FragmentCapture(startDepth);
+          capture = alternative;
+          optimized = alternative;
+          writer.accept(serialization);
+          alternatives[serialization.ordinal()] = alternative.toFragment(getDepth(), getAtnl());
+          if (serialization == own) {
+            endDepth = getDepth();
+            endAtnl = getAtnl();
+          }
+        }
+      } finally {
+        capture = myCapture;
+        optimized = myCapture;
+      }
+      myCapture.branch(alternatives, startDepth);
+      setDepth(endDepth);
+      setAtnl(endAtnl);
+    } else {
+      writer.accept(own);
+    }
+  }
+
+  /**
+   * Begins rendering independent regions of this document concurrently, spliced back in document order on
+   * {@link ParallelRegions#join()}.
+   *
+   * @param  factory   Creates the documents that render each region.  Documents should be created with a
+   *                   {@code null} output and the same {@link EncodingContext} as this document.
+   * @param  executor  Runs each region, such as a fork-join pool or virtual threads
+   */
+  public ParallelRegions<D> parallel(Supplier<? extends D> factory, Executor executor) {
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return new ParallelRegions<>(
+        d,
+        factory,
+        executor,
+        capture != null || getThreadContext() != null
+    );
+  }
+
+  /**
+   * Begins rendering independent regions of this document concurrently, using the
+   * {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @see  #parallel(java.util.function.Supplier, java.util.concurrent.Executor)
+   */
+  public ParallelRegions<D> parallel(Supplier<? extends D> factory) {
+    return parallel(factory, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * The regions rendered while the rest of the document is streamed, or {@code null} when not enabled.
+   */
+  private DeferredRegions<D> deferredRegions;
+
+  /**
+   * Enables {@linkplain #deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE) deferred regions}.
+   * Any regions not yet written are discarded.
+   *
+   * @param  factory   Creates the documents that render each region, or {@code null} to disable deferred regions.
+   *                   Documents should be created with a {@code null} output and the same {@link EncodingContext} as
+   *                   this document.
+   * @param  executor  Runs each region, such as a fork-join pool or virtual threads
+   *
+   * @return  {@code this} document
+   */
+  public D setDeferred(Supplier<? extends D> factory, Executor executor) {
+    if (deferredRegions != null) {
+      deferredRegions.reset();
+    }
+    deferredRegions = (factory == null) ? null : new DeferredRegions<>(factory, executor);
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * The nonce of the scripts that swap in deferred regions, or {@code null} for none.
+   */
+  private String deferredNonce;
+
+  /**
+   * Sets the nonce of the scripts that swap in
+   * {@linkplain #deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE) deferred regions},
+   * for use with a content security policy that does not allow inline scripts.  This is cleared on reset, since a
+   * nonce must not be reused between responses.
+   *
+   * @param  nonce  The nonce of the current response, or {@code null} for none
+   *
+   * @return  {@code this} document
+   *
+   * @see  com.aoapps.html.any.attributes.text.Nonce
+   */
+  public D setDeferredNonce(String nonce) {
+    this.deferredNonce = nonce;
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    return d;
+  }
+
+  /**
+   * Renders a region on another thread while the rest of the document continues to be streamed.  The placeholder is
+   * written immediately, between a pair of empty {@code <template>} markers.  Once the region completes, its markup
+   * is written at the end of the {@code <body>}, in a {@code <template>} along with a small script that replaces the
+   * placeholder.  The script has the {@linkplain #setDeferredNonce(java.lang.String) deferred nonce}, if any.  This
+   * allows the page shell and above-the-fold content to be displayed without waiting for slow content.
+   *
+   * <p>The region is rendered directly, in place of the placeholder, when deferred regions are not
+   * {@linkplain #setDeferred(java.util.function.Supplier, java.util.concurrent.Executor) enabled}, when the doctype
+   * is not {@link Doctype#HTML5}, while capturing for
+   * {@link #cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}, or when a
+   * {@link BundleLookupThreadContext} is active.</p>
+   *
+   * @param  placeholder  Renders the placeholder to this document, such as a loading indicator, or {@code null} for
+   *                      no placeholder
+   * @param  body         Renders the region to the given document
+   *
+   * @return  {@code this} document
+   *
+   * @see  #writeDeferred()
+   */
+  public <Ex1 extends Throwable, Ex2 extends Throwable> D deferred(
+      IOConsumerE<? super D, Ex1> placeholder,
+      IOConsumerE<? super D, Ex2> body
+  ) throws IOException, Ex1, Ex2 {
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    DeferredRegions<D> myDeferred = deferredRegions;
+    if (
+        myDeferred == null
+            || encodingContext.getDoctype() != Doctype.HTML5
+            || capture != null
+            || getThreadContext() != null
+    ) {
+      body.accept(d);
+    } else {
+      myDeferred.deferred(d, getRawUnsafe(null), placeholder, body);
+    }
+    return d;
+  }
+
+  /**
+   * Waits for all {@linkplain #deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE) deferred regions},
+   * writing each as it completes.  The document is {@linkplain #flush() flushed} after each region.  This is called
+   * automatically before the end of the {@code <body>}.  Any exception thrown by a region is thrown here, with checked
+   * exceptions other than {@link IOException} wrapped in an {@link IOException}.
+   *
+   * @return  {@code this} document
+   */
+  public D writeDeferred() throws IOException {
+    @SuppressWarnings("unchecked")
+    D d = (D) this;
+    DeferredRegions<D> myDeferred = deferredRegions;
+    if (myDeferred != null && myDeferred.hasPending()) {
+      myDeferred.writePending(d, getRawUnsafe(null), deferredNonce);
+    }
+    return d;
+  }
+
+  /**
+   * Are there any {@linkplain #deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE) deferred regions}
+   * not yet written.
+   */
+  boolean hasDeferred() {
+    DeferredRegions<D> myDeferred = deferredRegions;
+    return myDeferred != null && myDeferred.hasPending();
+  }
+
+  /**
+   * Redirects the output of this document to the given writer.  Used by {@link ParallelRegions} to collect output
+   * between regions.
+   *
+   * @see  Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)
+   */
+  void redirect(Writer out) {
+    optimized = Coercion.optimize(out, null);
+  }
+
+  /**
+   * Writes attributes to the given element while capturing their output for {@link PreparedAttributes}.
+   * The attributes are always validated, regardless of the {@linkplain #getValidationLevel() validation level},
+   * since the captured markup is shared with every document.
+   *
+   * @return  The captured attribute markup, or {@code null} when the markup depends on whitespace state and
+   *          must not be reused
+   */
+  @SuppressWarnings("deprecation")
+  <E extends Element<?, ?, ?>> char[] prepareAttributes(
+      E element,
+      IOConsumerE<? super E, ? extends RuntimeException> attributes
+  ) throws IOException {
+    Writer unsafe = getRawUnsafe(null);
+    int startDepth = getDepth();
+    FragmentCapture outer = capture;
+    FragmentCapture myCapture = new FragmentCapture(startDepth);
+    boolean wasValidating = validating;
+    capture = myCapture;
+    optimized = myCapture;
+    validating = true;
+    try {
+      attributes.accept(element);
+    } finally {
+      capture = outer;
+      optimized = unsafe;
+      validating = wasValidating;
+    }
+    boolean endsNewline = getAtnl();
+    if (myCapture.hasIndent() || endsNewline || getDepth() != startDepth) {
+      myCapture.toFragment(getDepth(), endsNewline).replay(this, unsafe);
+      return null;
+    }
+    char[] chars = myCapture.toChars();
+    unsafe.write(chars);
+    return chars;
+  }
+
+  /**
+   * Resets this document then replaces the writer it is writing to.
    *
    * @param  out  May be {@code null}, but must be set to a non-null value again before any additional writes.
    *              Not doing so may result in {@link IllegalStateException}.
@@ -124,11 +1588,19 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
    *              <p>Will be through {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}
    *              with {@code encoder = null}.</p>
    *
-   * @see  AnyDocument#getRawUnsafe()
-   * @see  AnyDocument#getRawUnsafe(java.lang.Boolean)
+   * @return  {@code this} document
+   *
+   * @see  #reset()
+   * @see  #setOut(java.io.Writer)
    */
-  public void setOut(Writer out) {
-    this.optimized = (out == null) ? null : Coercion.optimize(out, null);
+  public D reset(Writer out) {
+    D d = reset();
+    if (utf8 != null && this.out == utf8) {
+      utf8.clear();
+    }
+    this.out = (out == null) ? null : Coercion.optimize(out, null);
+    updateOptimized();
+    return d;
   }
 
   @Override
@@ -151,6 +1623,33 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
   // Matches WhitespaceWriter.depth
   private int depth;
 
+  /**
+   * The greatest depth written from {@link #NL_INDENT} in a single write.  Deeper indentation falls back to
+   * {@link WriterUtil}.  Defaults to {@code 64} and may be changed by the system property
+   * {@code com.aoapps.html.any.AnyDocument.indentTableDepth}.
+   */
+  private static final int INDENT_TABLE_DEPTH = Math.max(
+      0,
+      Math.min(
+          (Integer.MAX_VALUE - 1) / INDENT_SPACES,
+          Integer.getInteger(AnyDocument.class.getName() + ".indentTableDepth", 64)
+      )
+  );
+
+  /**
+   * A newline followed by the indentation for {@link #INDENT_TABLE_DEPTH}.  Any depth up to
+   * {@link #INDENT_TABLE_DEPTH} is written as a single range of this array: starting at {@code 0} to include the
+   * newline or at {@code 1} for indentation only.
+   */
+  private static final char[] NL_INDENT;
+
+  static {
+    char[] nlIndent = new char[1 + INDENT_TABLE_DEPTH * INDENT_SPACES];
+    nlIndent[0] = NL;
+    Arrays.fill(nlIndent, 1, nlIndent.length, SPACE);
+    NL_INDENT = nlIndent;
+  }
+
   // Matches WhitespaceWriter.nl()
   @Override
   public D nl() throws IOException {
@@ -186,6 +1685,11 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       int d = getDepth();
       assert d >= 0;
       d += depthOffset;
+      if (d >= 0 && d <= INDENT_TABLE_DEPTH && capture == null) {
+        // Common case: newline and indentation in a single write
+        unsafe.write(NL_INDENT, 0, 1 + d * INDENT_SPACES);
+        return (d == 0) ? setAtnl() : clearAtnl();
+      }
       int spaces;
       if (d < 0) {
         // Handle underflow and overflow
@@ -195,6 +1699,12 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       } else {
         spaces = d * INDENT_SPACES;
       }
+      FragmentCapture myCapture = capture;
+      if (myCapture != null) {
+        unsafe.append(NL);
+        myCapture.indent(d);
+        return (spaces > 0) ? clearAtnl() : setAtnl();
+      }
       if (spaces > 0) {
         WriterUtil.nlsp(unsafe, spaces);
         return clearAtnl();
@@ -227,6 +1737,14 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       int d = getDepth();
       assert d >= 0;
       d += depthOffset;
+      if (d > 0 && d <= INDENT_TABLE_DEPTH && capture == null) {
+        // Common case: indentation in a single write
+        unsafe.write(NL_INDENT, 1, d * INDENT_SPACES);
+        clearAtnl();
+        @SuppressWarnings("unchecked")
+        D doc = (D) this;
+        return doc;
+      }
       int spaces;
       if (d < 0) {
         // Handle underflow and overflow
@@ -236,7 +1754,13 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       } else {
         spaces = d * INDENT_SPACES;
       }
-      if (spaces > 0) {
+      FragmentCapture myCapture = capture;
+      if (myCapture != null) {
+        myCapture.indent(d);
+        if (spaces > 0) {
+          clearAtnl();
+        }
+      } else if (spaces > 0) {
         WriterUtil.sp(unsafe, spaces);
         clearAtnl();
       }
@@ -246,6 +1770,23 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
     return d;
   }
 
+  /**
+   * Writes the indentation for the given depth while replaying a {@link Fragment}.  When capturing, records the
+   * indentation point instead.
+   *
+   * @param  depth  The absolute depth of the indentation, which may be negative
+   */
+  void indentFragment(Writer unsafe, int depth) throws IOException {
+    FragmentCapture myCapture = capture;
+    if (myCapture != null) {
+      myCapture.indent(depth);
+    } else if (depth > 0 && depth <= INDENT_TABLE_DEPTH) {
+      unsafe.write(NL_INDENT, 1, depth * INDENT_SPACES);
+    } else if (depth > 0) {
+      WriterUtil.sp(unsafe, (depth > (Integer.MAX_VALUE / INDENT_SPACES)) ? Integer.MAX_VALUE : (depth * INDENT_SPACES));
+    }
+  }
+
   // Matches WhitespaceWriter.getIndent()
   // TODO: Document these, since "Delegates to" in description is misleading
   @Override
@@ -255,10 +1796,17 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
   }
 
   // Matches WhitespaceWriter.setIndent(int)
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Indentation remains disabled when {@linkplain #getWhitespace() whitespace handling is disabled}.</p>
+   *
+   * @return  {@code this} document
+   */
   @Override
   @SuppressWarnings("deprecation")
   public D setIndent(boolean indent) {
-    this.indent = indent;
+    this.indent = indent && whitespace;
     @SuppressWarnings("unchecked")
     D d = (D) this;
     return d;
@@ -345,6 +1893,124 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
 
   // </editor-fold>
 
+  // <editor-fold desc="Numbers - implementation" defaultstate="collapsed">
+  /**
+   * Scratch space for formatting numbers, sized for {@link Long#MIN_VALUE}.
+   */
+  private final char[] digits = new char[20];
+
+  /**
+   * Writes an {@code int} directly, without creating a {@link String}.
+   */
+  void writeInt(Writer unsafe, int value) throws IOException {
+    if (value >= 0 && value <= 9) {
+      unsafe.append((char) ('0' + value));
+    } else {
+      writeLong(unsafe, value);
+    }
+  }
+
+  /**
+   * Writes a {@code long} directly, without creating a {@link String}.
+   */
+  void writeLong(Writer unsafe, long value) throws IOException {
+    char[] buf = digits;
+    int pos = buf.length;
+    // Work with negative values, since the magnitude of Long.MIN_VALUE does not fit in a positive long
+    boolean negative = value < 0;
+    if (!negative) {
+      value = -value;
+    }
+    do {
+      long quotient = value / 10;
+      buf[--pos] = (char) ('0' + (quotient * 10 - value));
+      value = quotient;
+    } while (value != 0);
+    if (negative) {
+      buf[--pos] = '-';
+    }
+    unsafe.write(buf, pos, buf.length - pos);
+  }
+
+  /**
+   * The largest magnitude where every integer is exactly representable as a {@code double}.
+   */
+  private static final double MAX_EXACT_INTEGER = 0x1p53;
+
+  /**
+   * Writes a {@code double}.  Integral values are written directly, without a decimal point or creating a
+   * {@link String}.  All other values are written as {@link Double#toString(double)}, which allocates.
+   */
+  void writeDouble(Writer unsafe, double value) throws IOException {
+    if (value >= -MAX_EXACT_INTEGER && value <= MAX_EXACT_INTEGER) {
+      long l = (long) value;
+      if (l == value) {
+        writeLong(unsafe, l);
+        return;
+      }
+    }
+    unsafe.write(Double.toString(value));
+  }
+
+  /**
+   * The maximum number of fraction digits supported by {@link #writeDouble(java.io.Writer, double, int)}.
+   */
+  static final int MAX_FRACTION_DIGITS = 15;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+
+  static {
+    long power = 1;
+    for (int i = 0; i <= MAX_FRACTION_DIGITS; i++) {
+      POWERS_OF_TEN[i] = power;
+      power *= 10;
+    }
+  }
+
+  /**
+   * Writes a {@code double} with a fixed number of fraction digits, rounding the exact binary value half away from
+   * zero, as {@link RoundingMode#HALF_UP}.  Values that fit are written directly, without creating a {@link String}.
+   * Larger values are written as {@link BigDecimal#toPlainString()}, and non-finite values as
+   * {@link Double#toString(double)}.
+   *
+   * @param  fractionDigits  The number of digits after the decimal point, from zero to {@link #MAX_FRACTION_DIGITS}
+   */
+  void writeDouble(Writer unsafe, double value, int fractionDigits) throws IOException {
+    assert fractionDigits >= 0 && fractionDigits <= MAX_FRACTION_DIGITS;
+    long scale = POWERS_OF_TEN[fractionDigits];
+    double magnitude = Math.abs(value);
+    double scaled = magnitude * scale;
+    // Below 2^52, the error of the product cannot cross half-way unless it was rounded onto it
+    if (scaled < MAX_EXACT_INTEGER / 2) {
+      long rounded = Math.round(scaled);
+      // Round down when the exact product is just below half-way, as found from the error of the product
+      if (rounded - scaled == 0.5 && Math.fma(magnitude, scale, -scaled) < 0) {
+        rounded--;
+      }
+      if (value < 0 && rounded != 0) {
+        unsafe.write('-');
+      }
+      long whole = rounded / scale;
+      writeLong(unsafe, whole);
+      if (fractionDigits > 0) {
+        unsafe.write('.');
+        long fraction = rounded - whole * scale;
+        char[] buf = digits;
+        for (int pos = fractionDigits; pos > 0; pos--) {
+          buf[pos - 1] = (char) ('0' + (fraction % 10));
+          fraction /= 10;
+        }
+        unsafe.write(buf, 0, fractionDigits);
+      }
+    } else if (Double.isFinite(value)) {
+      unsafe.write(new BigDecimal(value).setScale(fractionDigits, RoundingMode.HALF_UP).toPlainString());
+    } else {
+      unsafe.write(Double.toString(value));
+    }
+  }
+
+  // </editor-fold>
+
   // <editor-fold desc="DocumentWriter / Unsafe - implementation" defaultstate="collapsed">
   /**
    * {@inheritDoc}
@@ -704,6 +2370,22 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
   // </editor-fold>
 
   // <editor-fold desc="DocumentWriter / Automatic Newline and Indentation - implementation" defaultstate="collapsed">
+  /**
+   * Is whitespace handling enabled.
+   */
+  private final boolean whitespace;
+
+  /**
+   * Is whitespace handling enabled.  This is chosen when the document is created.  When disabled, both
+   * {@linkplain #setIndent(boolean) indentation} and {@linkplain #setAutonli(boolean) automatic newlines} are always
+   * off: requests to enable them are ignored.
+   *
+   * @see  #AnyDocument(com.aoapps.encoding.EncodingContext, java.io.Writer, boolean)
+   */
+  public boolean getWhitespace() {
+    return whitespace;
+  }
+
   /**
    * Is automatic newline and indenting enabled.
    */
@@ -718,12 +2400,14 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
   /**
    * {@inheritDoc}
    *
+   * <p>Automatic newlines remain disabled when {@linkplain #getWhitespace() whitespace handling is disabled}.</p>
+   *
    * @return  {@code this} document
    */
   @Override
   @SuppressWarnings("deprecation")
   public D setAutonli(boolean autonli) {
-    this.autonli = autonli;
+    this.autonli = autonli && whitespace;
     @SuppressWarnings("unchecked")
     D d = (D) this;
     return d;
@@ -938,7 +2622,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
         BundleLookupThreadContext threadContext;
         if (
             csq == null
-                || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                || (threadContext = getThreadContext()) == null
                 // Other types that will not be converted to String for bundle lookups
                 || !(csq instanceof String)
         ) {
@@ -989,12 +2673,9 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       } else {
         autoIndent(unsafe);
         // In different media type, need prefix/suffix
-        MediaEncoder encoder = MediaEncoder.getInstance(encodingContext, contentType, MediaType.XHTML);
-        if (encoder == null) {
-          // Already in a compatible context that does not strictly require character encoding, but still need prefix/suffix
-          encoder = new ValidateOnlyEncoder(contentType);
-        }
-        Writer encoderOptimized = Coercion.optimize(unsafe, encoder);
+        DocumentEncoders myEncoders = getEncoders();
+        MediaEncoder encoder = myEncoders.getEncoder(contentType);
+        Writer encoderOptimized = myEncoders.optimize(contentType, unsafe, encoder);
         if (encoder.isBuffered()) {
           // Do not bypass buffered encoder for markup
           encoder.writePrefixTo(encoderOptimized);
@@ -1003,7 +2684,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
             BundleLookupThreadContext threadContext;
             if (
                 markupType == MarkupType.NONE
-                    || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                    || (threadContext = getThreadContext()) == null
                     // Other types that will not be converted to String for bundle lookups
                     || !(csq instanceof String)
             ) {
@@ -1026,7 +2707,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           BundleLookupThreadContext threadContext;
           if (
               csq == null
-                  || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                  || (threadContext = getThreadContext()) == null
                   // Other types that will not be converted to String for bundle lookups
                   || !(csq instanceof String)
           ) {
@@ -1096,7 +2777,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
         BundleLookupThreadContext threadContext;
         if (
             csq == null
-                || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                || (threadContext = getThreadContext()) == null
                 // Other types that will not be converted to String for bundle lookups
                 || !(csq instanceof String)
         ) {
@@ -1118,12 +2799,9 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       } else {
         autoIndent(unsafe);
         // In different media type, need prefix/suffix
-        MediaEncoder encoder = MediaEncoder.getInstance(encodingContext, contentType, MediaType.XHTML);
-        if (encoder == null) {
-          // Already in a compatible context that does not strictly require character encoding, but still need prefix/suffix
-          encoder = new ValidateOnlyEncoder(contentType);
-        }
-        Writer encoderOptimized = Coercion.optimize(unsafe, encoder);
+        DocumentEncoders myEncoders = getEncoders();
+        MediaEncoder encoder = myEncoders.getEncoder(contentType);
+        Writer encoderOptimized = myEncoders.optimize(contentType, unsafe, encoder);
         if (encoder.isBuffered()) {
           // Do not bypass buffered encoder for markup
           encoder.writePrefixTo(encoderOptimized);
@@ -1132,7 +2810,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
             BundleLookupThreadContext threadContext;
             if (
                 markupType == MarkupType.NONE
-                    || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                    || (threadContext = getThreadContext()) == null
                     // Other types that will not be converted to String for bundle lookups
                     || !(csq instanceof String)
             ) {
@@ -1154,7 +2832,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           BundleLookupThreadContext threadContext;
           if (
               csq == null
-                  || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                  || (threadContext = getThreadContext()) == null
                   // Other types that will not be converted to String for bundle lookups
                   || !(csq instanceof String)
           ) {
@@ -1206,6 +2884,13 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           throw Throwables.wrap(t, IOException.class, IOException::new);
         }
       }
+      if (content instanceof PreEncoded && contentType == MediaType.XHTML) {
+        // Both XHTML and XHTML attribute encodings are valid in XHTML
+        writePreEncoded(getRawUnsafe(null), (PreEncoded) content);
+        @SuppressWarnings("unchecked")
+        D d = (D) this;
+        return d;
+      }
       if (content instanceof char[]) {
         return encode(contentType, (char[]) content);
       }
@@ -1238,11 +2923,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
         );
       } else {
         // In different media type, need prefix/suffix
-        MediaEncoder encoder = MediaEncoder.getInstance(encodingContext, contentType, MediaType.XHTML);
-        if (encoder == null) {
-          // Already in a compatible context that does not strictly require character encoding, but still need prefix/suffix
-          encoder = new ValidateOnlyEncoder(contentType);
-        }
+        MediaEncoder encoder = getEncoders().getEncoder(contentType);
         if (encoder.isBuffered()) {
           // Do not bypass buffered encoder for markup
           MarkupCoercion.write(
@@ -1298,6 +2979,11 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
     assert !(xhtmlValidator instanceof BufferedValidator) : "If were " + BufferedValidator.class.getName() + " could not share singleton";
   }
 
+  /**
+   * Shares a single encoder, since {@link #xhtmlValidator} is itself shared.
+   */
+  private static final ValidateOnlyEncoder xhtmlValidateOnlyEncoder = new ValidateOnlyEncoder(xhtmlValidator);
+
   /**
    * {@inheritDoc}
    *
@@ -1305,15 +2991,16 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
    */
   @Override
   public MediaWriter encode(MediaType contentType) throws IOException {
+    DocumentEncoders myEncoders = getEncoders();
     MediaEncoder encoder;
     {
-      MediaEncoder myEncoder = MediaEncoder.getInstance(encodingContext, contentType, MediaType.XHTML);
+      MediaEncoder myEncoder = myEncoders.getInstance(contentType);
       if (myEncoder == null) {
-        myEncoder = new ValidateOnlyEncoder(xhtmlValidator);
+        myEncoder = xhtmlValidateOnlyEncoder;
       }
       encoder = myEncoder;
     }
-    Writer encoderOptimized = Coercion.optimize(getRawUnsafe(null), encoder);
+    Writer encoderOptimized = myEncoders.optimize(contentType, getRawUnsafe(null), encoder);
     encoder.writePrefixTo(encoderOptimized);
     return contentType.newMediaWriter(
         encodingContext,
@@ -1380,7 +3067,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       return setAtnl();
     } else {
       autoIndent(unsafe);
-      encodeTextInXhtml(ch, unsafe);
+      BulkEncoder.encodeTextInXhtml(ch, unsafe);
       return clearAtnl();
     }
   }
@@ -1404,12 +3091,12 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
             unsafe.write(NL);
           } else {
             autoIndent(unsafe);
-            encodeTextInXhtml(cbuf, unsafe);
+            BulkEncoder.encodeTextInXhtml(cbuf, unsafe);
           }
           setAtnl();
         } else {
           autoIndent(unsafe);
-          encodeTextInXhtml(cbuf, unsafe);
+          BulkEncoder.encodeTextInXhtml(cbuf, unsafe);
           clearAtnl();
         }
       }
@@ -1436,12 +3123,12 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           unsafe.write(NL);
         } else {
           autoIndent(unsafe);
-          encodeTextInXhtml(cbuf, offset, len, unsafe);
+          BulkEncoder.encodeTextInXhtml(cbuf, offset, len, unsafe);
         }
         setAtnl();
       } else {
         autoIndent(unsafe);
-        encodeTextInXhtml(cbuf, offset, len, unsafe);
+        BulkEncoder.encodeTextInXhtml(cbuf, offset, len, unsafe);
         clearAtnl();
       }
     }
@@ -1471,12 +3158,43 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           unsafe.write(NL);
         } else {
           autoIndent(unsafe);
-          encodeTextInXhtml(csq, unsafe);
+          BulkEncoder.encodeTextInXhtml(csq, unsafe);
         }
         setAtnl();
       } else {
         autoIndent(unsafe);
-        encodeTextInXhtml(csq, unsafe);
+        BulkEncoder.encodeTextInXhtml(csq, unsafe);
+        clearAtnl();
+      }
+    }
+  }
+
+  /**
+   * Writes a pre-encoded value as-is, using the cached UTF-8 bytes when writing directly to UTF-8 output.
+   */
+  void writeRaw(Writer unsafe, PreEncoded value) throws IOException {
+    Utf8Writer myUtf8 = utf8;
+    if (myUtf8 != null && unsafe == myUtf8) {
+      byte[] bytes = value.getUtf8();
+      myUtf8.writeUtf8(bytes, 0, bytes.length);
+    } else {
+      unsafe.write(value.getChars());
+    }
+  }
+
+  /**
+   * Writes a pre-encoded value as-is, while doing auto-indent and tracking end-of-line.
+   */
+  void writePreEncoded(Writer unsafe, PreEncoded value) throws IOException {
+    int len = value.length();
+    if (len > 0) {
+      if (len != 1 || !value.endsNewline()) {
+        autoIndent(unsafe);
+      }
+      writeRaw(unsafe, value);
+      if (value.endsNewline()) {
+        setAtnl();
+      } else {
         clearAtnl();
       }
     }
@@ -1488,7 +3206,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       // Bypass encoder for markup
       BundleLookupThreadContext threadContext;
       if (
-          (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+          (threadContext = getThreadContext()) == null
               // Other types that will not be converted to String for bundle lookups
               || !(csq instanceof String)
       ) {
@@ -1532,12 +3250,12 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
           unsafe.write(NL);
         } else {
           autoIndent(unsafe);
-          encodeTextInXhtml(csq, start, end, unsafe);
+          BulkEncoder.encodeTextInXhtml(csq, start, end, unsafe);
         }
         setAtnl();
       } else {
         autoIndent(unsafe);
-        encodeTextInXhtml(csq, start, end, unsafe);
+        BulkEncoder.encodeTextInXhtml(csq, start, end, unsafe);
         clearAtnl();
       }
     }
@@ -1549,7 +3267,7 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       // Bypass encoder for markup
       BundleLookupThreadContext threadContext;
       if (
-          (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+          (threadContext = getThreadContext()) == null
               // Other types that will not be converted to String for bundle lookups
               || !(csq instanceof String)
       ) {
@@ -1597,6 +3315,13 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
       }
     }
     if (text != null) {
+      if (text instanceof PreEncoded) {
+        // Both XHTML and XHTML attribute encodings are valid in text
+        writePreEncoded(unsafe, (PreEncoded) text);
+        @SuppressWarnings("unchecked")
+        D d = (D) this;
+        return d;
+      }
       if (text instanceof char[]) {
         return text(unsafe, (char[]) text);
       }
@@ -1709,7 +3434,13 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
    */
   public D xmlDeclaration() throws IOException {
     Charset documentEncoding = encodingContext.getCharacterEncoding();
-    if (encodingContext.getDoctype().xmlDeclaration(encodingContext.getSerialization(), documentEncoding, getRawUnsafe(null))) {
+    if (isRecording()) {
+      serialized(serialization -> {
+        if (encodingContext.getDoctype().xmlDeclaration(serialization, documentEncoding, getRawUnsafe(null))) {
+          setAtnl();
+        }
+      });
+    } else if (encodingContext.getDoctype().xmlDeclaration(encodingContext.getSerialization(), documentEncoding, getRawUnsafe(null))) {
       setAtnl();
     }
     @SuppressWarnings("unchecked")
@@ -1721,7 +3452,13 @@ public abstract class AnyDocument<D extends AnyDocument<D>> implements AnyConten
    * @see Doctype#doctype(com.aoapps.encoding.Serialization, java.lang.Appendable)
    */
   public D doctype() throws IOException {
-    if (encodingContext.getDoctype().doctype(encodingContext.getSerialization(), getRawUnsafe(null))) {
+    if (isRecording()) {
+      serialized(serialization -> {
+        if (encodingContext.getDoctype().doctype(serialization, getRawUnsafe(null))) {
+          setAtnl();
+        }
+      });
+    } else if (encodingContext.getDoctype().doctype(encodingContext.getSerialization(), getRawUnsafe(null))) {
       setAtnl();
     }
     @SuppressWarnings("unchecked")
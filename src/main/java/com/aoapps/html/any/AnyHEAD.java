@@ -120,5 +120,8 @@ public abstract class AnyHEAD<
       document.autoNli(unsafe).unsafe(unsafe, "</head>", false);
     }
     document.autoNl(unsafe);
+    if (document.getFlushAfterHead()) {
+      document.flush();
+    }
   }
 }
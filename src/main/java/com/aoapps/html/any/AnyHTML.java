@@ -112,9 +112,18 @@ public abstract class AnyHTML<
 
   @Override
   protected void writeOpen(Writer unsafe) throws IOException {
-    document.autoNli(unsafe).unsafe(
+    document.autoNli(unsafe);
+    if (document.isRecording()) {
+      document.serialized(serialization -> writeOpen(document.getRawUnsafe(null), serialization));
+    } else {
+      writeOpen(unsafe, document.encodingContext.getSerialization());
+    }
+  }
+
+  private void writeOpen(Writer unsafe, Serialization serialization) throws IOException {
+    document.unsafe(
         unsafe,
-        (document.encodingContext.getSerialization() == Serialization.XML)
+        (serialization == Serialization.XML)
             ? "<html xmlns=\"http://www.w3.org/1999/xhtml\""
             : "<html",
         false
@@ -155,12 +164,25 @@ public abstract class AnyHTML<
     super.lang(lang);
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    if (document.encodingContext.getSerialization() == Serialization.XML) {
+    if (document.isRecording()) {
+      document.serialized(serialization -> xmlLang(serialization, lang));
+    } else {
+      xmlLang(document.encodingContext.getSerialization(), lang);
+    }
+    return element;
+  }
+
+  /**
+   * Adds <code>xml:lang="…"</code> for {@link Serialization#XML}.
+   */
+  private void xmlLang(Serialization serialization, Object lang) throws IOException {
+    if (serialization == Serialization.XML) {
+      @SuppressWarnings("unchecked")
+      E element = (E) this;
       // Add xml:lang="…"
       Attributes.Text.attribute(element, "xml:lang", MarkupType.NONE, lang,
           com.aoapps.html.any.attributes.text.Lang.lang::normalize, textInXhtmlAttributeEncoder);
     }
-    return element;
   }
 
   /**
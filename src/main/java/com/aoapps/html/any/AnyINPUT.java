@@ -270,6 +270,26 @@ public abstract class AnyINPUT<
       this.type = (type == null) ? null : type.getValue();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return  {@code false}, since the type may be given at construction
+     */
+    @Override
+    protected boolean isRecyclable() {
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return  {@code true}, since tracks the {@code type}
+     */
+    @Override
+    protected boolean hasAttributeState() {
+      return true;
+    }
+
     @Override
     protected void openWriteType(Writer unsafe) throws IOException {
       assert !document.getAtnl();
@@ -83,6 +83,24 @@ public abstract class AnyLINK<
     super(document, pc);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @return  {@code true}, since tracks {@code itemprop}, {@code rel}, and {@code type}
+   */
+  @Override
+  protected boolean hasAttributeState() {
+    return true;
+  }
+
+  @Override
+  protected void recycle() {
+    super.recycle();
+    itemprop = null;
+    rel = null;
+    type = null;
+  }
+
   @Override
   protected void writeOpen(Writer unsafe) throws IOException {
     document.autoNli(unsafe).unsafe(unsafe, "<link", false);
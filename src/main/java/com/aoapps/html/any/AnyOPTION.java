@@ -166,13 +166,14 @@ public abstract class AnyOPTION<
   // TODO: How to ensure markup type NONE when no value set or TEXT when set?
   @Override
   protected void writeClose(Writer unsafe, boolean closeAttributes) throws IOException {
-    document
-        .setDepth(oldDepth)
-        .setIndent(oldIndent)
-        .setAutonli(oldAutonli);
     if (closeAttributes) {
+      // No body, so whitespace was not changed by doBeforeBody
       document.autoIndent(unsafe).unsafe(unsafe, "></option>", false);
     } else {
+      document
+          .setDepth(oldDepth)
+          .setIndent(oldIndent)
+          .setAutonli(oldAutonli);
       document.unsafe(unsafe, "</option>", false);
     }
     document.autoNl(unsafe);
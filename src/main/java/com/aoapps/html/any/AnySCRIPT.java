@@ -241,12 +241,19 @@ public abstract class AnySCRIPT<
   }
 
   protected MediaEncoder getMediaEncoder(MediaType mediaType) throws UnsupportedEncodingException {
-    return MediaEncoder.getInstance(document.encodingContext, mediaType, MediaType.XHTML);
+    return document.getEncoders().getInstance(mediaType);
   }
 
   protected boolean doCdata() {
+    return doCdata(document.encodingContext.getSerialization());
+  }
+
+  /**
+   * Determines if the body is wrapped in a CDATA section for the given serialization.
+   */
+  protected boolean doCdata(Serialization serialization) {
     return
-        document.encodingContext.getSerialization() == Serialization.XML
+        serialization == Serialization.XML
             && (
             type == null
                 || type.equals(ContentType.JAVASCRIPT)
@@ -260,10 +267,15 @@ public abstract class AnySCRIPT<
 
   protected void startBody(Writer unsafe) throws IOException {
     if (!didBody) {
-      document
-          .autoIndent(unsafe)
-          .unsafe(unsafe, doCdata() ? (">//<![CDATA[" + NL) : (">" + NL), true)
-          .incDepth();
+      document.autoIndent(unsafe);
+      if (document.isRecording()) {
+        document.serialized(serialization ->
+            document.unsafe(document.getRawUnsafe(null), doCdata(serialization) ? (">//<![CDATA[" + NL) : (">" + NL), true)
+        );
+      } else {
+        document.unsafe(unsafe, doCdata() ? (">//<![CDATA[" + NL) : (">" + NL), true);
+      }
+      document.incDepth();
       didBody = true;
     }
   }
@@ -381,9 +393,17 @@ public abstract class AnySCRIPT<
     if (!didBody) {
       document.autoIndent(unsafe).unsafe(unsafe, "></script>", false);
     } else {
-      document.decDepth().nli(unsafe).unsafe(unsafe, doCdata() ? "//]]></script>" : "</script>", false);
+      document.decDepth().nli(unsafe);
+      if (document.isRecording()) {
+        document.serialized(serialization ->
+            document.unsafe(document.getRawUnsafe(null), doCdata(serialization) ? "//]]></script>" : "</script>", false)
+        );
+      } else {
+        document.unsafe(unsafe, doCdata() ? "//]]></script>" : "</script>", false);
+      }
     }
     document.autoNl(unsafe);
+    released();
     return pc;
   }
 }
@@ -129,4 +129,34 @@ public abstract class AnySELECT<
       document.autoNli(unsafe).unsafe(unsafe, "</select>", false);
     }
   }
+
+  /**
+   * Ends attributes, writes the given options, then closes this element.  The options are encoded once in advance,
+   * with only the {@code selected} attribute written per render, for the same output as an {@link AnyOPTION} per
+   * option.
+   *
+   * @param  selected  The values of the selected options, compared as
+   *                   {@link com.aoapps.lang.Coercion#toString(java.lang.Object)}
+   *
+   * @return  The parent content model this element is within
+   */
+  public PC options(OptionList options, Object... selected) throws IOException {
+    int[] indexes = options.getIndexes(selected);
+    return __(() -> options.write(document, indexes));
+  }
+
+  /**
+   * Ends attributes, writes the given options, then closes this element.  The options are encoded once in advance,
+   * with only the {@code selected} attribute written per render, for the same output as an {@link AnyOPTION} per
+   * option.
+   *
+   * @param  selected  The values of the selected options, compared as
+   *                   {@link com.aoapps.lang.Coercion#toString(java.lang.Object)}
+   *
+   * @return  The parent content model this element is within
+   */
+  public PC options(OptionList options, Iterable<?> selected) throws IOException {
+    int[] indexes = options.getIndexes(selected);
+    return __(() -> options.write(document, indexes));
+  }
 }
@@ -214,21 +214,33 @@ public abstract class AnySTYLE<
   }
 
   protected MediaEncoder getMediaEncoder(MediaType mediaType) throws UnsupportedEncodingException {
-    return MediaEncoder.getInstance(document.encodingContext, mediaType, MediaType.XHTML);
+    return document.getEncoders().getInstance(mediaType);
   }
 
   protected boolean doCdata() {
-    return document.encodingContext.getSerialization() == Serialization.XML;
+    return doCdata(document.encodingContext.getSerialization());
+  }
+
+  /**
+   * Determines if the body is wrapped in a CDATA section for the given serialization.
+   */
+  protected boolean doCdata(Serialization serialization) {
+    return serialization == Serialization.XML;
   }
 
   private boolean didBody;
 
   protected void startBody(Writer unsafe) throws IOException {
     if (!didBody) {
-      document
-          .autoIndent(unsafe)
-          .unsafe(unsafe, doCdata() ? (">/*<![CDATA[*/" + NL) : (">" + NL), true)
-          .incDepth();
+      document.autoIndent(unsafe);
+      if (document.isRecording()) {
+        document.serialized(serialization ->
+            document.unsafe(document.getRawUnsafe(null), doCdata(serialization) ? (">/*<![CDATA[*/" + NL) : (">" + NL), true)
+        );
+      } else {
+        document.unsafe(unsafe, doCdata() ? (">/*<![CDATA[*/" + NL) : (">" + NL), true);
+      }
+      document.incDepth();
       didBody = true;
     }
   }
@@ -347,9 +359,17 @@ public abstract class AnySTYLE<
     if (!didBody) {
       document.autoIndent(unsafe).unsafe(unsafe, "></style>", false);
     } else {
-      document.decDepth().nli(unsafe).unsafe(unsafe, doCdata() ? "/*]]>*/</style>" : "</style>", false);
+      document.decDepth().nli(unsafe);
+      if (document.isRecording()) {
+        document.serialized(serialization ->
+            document.unsafe(document.getRawUnsafe(null), doCdata(serialization) ? "/*]]>*/</style>" : "</style>", false)
+        );
+      } else {
+        document.unsafe(unsafe, doCdata() ? "/*]]>*/</style>" : "</style>", false);
+      }
     }
     document.autoNl(unsafe);
+    released();
     return pc;
   }
 }
@@ -25,6 +25,10 @@ package com.aoapps.html.any;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
 
 /**
  * <ul>
@@ -74,4 +78,186 @@ public abstract class AnyTBODY<
     }
     document.autoNl(unsafe);
   }
+
+  /**
+   * Ends attributes, writes a row for each element, then closes this element.
+   *
+   * @param  <R>  The row type
+   *
+   * @return  The parent content model this element is within
+   *
+   * @see  #rows(java.util.Iterator, com.aoapps.html.any.TableColumns)
+   */
+  public <R> PC rows(Iterable<? extends R> rows, TableColumns<? super R> columns) throws IOException {
+    return rows(rows.iterator(), columns);
+  }
+
+  /**
+   * Ends attributes, writes a row for each element, then closes this element.  The stream is not closed.
+   *
+   * @param  <R>  The row type
+   *
+   * @return  The parent content model this element is within
+   *
+   * @see  #rows(java.util.Iterator, com.aoapps.html.any.TableColumns)
+   */
+  public <R> PC rows(Stream<? extends R> rows, TableColumns<? super R> columns) throws IOException {
+    return rows(rows.iterator(), columns);
+  }
+
+  /**
+   * Ends attributes, writes a row for each element, then closes this element.
+   *
+   * @param  <R>  The row type
+   *
+   * @return  The parent content model this element is within
+   *
+   * @see  #rows(java.util.Iterator, com.aoapps.html.any.TableColumns)
+   */
+  public <R> PC rows(Spliterator<? extends R> rows, TableColumns<? super R> columns) throws IOException {
+    return rows(Spliterators.iterator(rows), columns);
+  }
+
+  /**
+   * Ends attributes, writes a row for each element, then closes this element.  Each row is a {@code <tr>} with one
+   * {@code <td>} per column.  Long tables may be flushed as they are written with
+   * {@link AnyDocument#setFlushInterval(long)}.
+   *
+   * <p>Without {@linkplain AnyDocument#getAutonli() automatic newlines}, rows are written directly, with the constant
+   * tags of each column encoded once in advance.  Otherwise, each row is written with the usual elements, for the
+   * same output.</p>
+   *
+   * @param  <R>  The row type
+   *
+   * @return  The parent content model this element is within
+   */
+  public <R> PC rows(Iterator<? extends R> rows, TableColumns<? super R> columns) throws IOException {
+    return rows(new RowWriter() {
+      private R row;
+
+      @Override
+      boolean next() {
+        if (rows.hasNext()) {
+          row = rows.next();
+          return true;
+        } else {
+          return false;
+        }
+      }
+
+      @Override
+      void writeCells(AnyTR_c<D, __, ?> tr) throws IOException {
+        for (int column = 0, size = columns.size(); column < size; column++) {
+          tr.td().clazz(columns.getClazz(column)).__(columns.getValue(column, row));
+        }
+      }
+
+      @Override
+      void writeCells(Writer unsafe) throws IOException {
+        for (int column = 0, size = columns.size(); column < size; column++) {
+          unsafe.write(columns.getOpen(column));
+          Object value = columns.getValue(column, row);
+          if (value == null) {
+            unsafe.write("></td>");
+          } else {
+            unsafe.write('>');
+            document.text(unsafe, value);
+            unsafe.write("</td>");
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Ends attributes, writes a row for each index of the given columns, then closes this element.  Each row is a
+   * {@code <tr>} with one {@code <td>} per column.  Long tables may be flushed as they are written with
+   * {@link AnyDocument#setFlushInterval(long)}.
+   *
+   * <p>Without {@linkplain AnyDocument#getAutonli() automatic newlines}, rows are written directly, without boxing or
+   * an element per cell.  Otherwise, each row is written with the usual elements, for the same output.</p>
+   *
+   * @return  The parent content model this element is within
+   *
+   * @see  AnyTR#cells(com.aoapps.html.any.TableArrays, int)
+   */
+  public PC rows(TableArrays columns) throws IOException {
+    int rowCount = columns.getRowCount();
+    return rows(new RowWriter() {
+      private int row = -1;
+
+      @Override
+      boolean next() {
+        return ++row < rowCount;
+      }
+
+      @Override
+      void writeCells(AnyTR_c<D, __, ?> tr) throws IOException {
+        AnyTR.writeCells(document, tr, columns, row);
+      }
+
+      @Override
+      void writeCells(Writer unsafe) throws IOException {
+        columns.writeCells(document, unsafe, row);
+      }
+    });
+  }
+
+  /**
+   * The source of rows for the shared implementation of each {@code rows} method.
+   */
+  private abstract class RowWriter {
+
+    /**
+     * Moves to the next row.
+     *
+     * @return  {@code true} when there is another row
+     */
+    abstract boolean next();
+
+    /**
+     * Writes the cells of the current row with the usual elements.
+     */
+    abstract void writeCells(AnyTR_c<D, __, ?> tr) throws IOException;
+
+    /**
+     * Writes the cells of the current row directly.
+     */
+    abstract void writeCells(Writer unsafe) throws IOException;
+  }
+
+  /**
+   * Ends attributes, writes each row, then closes this element.
+   *
+   * @return  The parent content model this element is within
+   */
+  @SuppressWarnings("deprecation")
+  private PC rows(RowWriter rows) throws IOException {
+    if (document.getAutonli()) {
+      return __(tbody -> {
+        while (rows.next()) {
+          try (AnyTR_c<D, __, ?> tr = tbody.tr()._c()) {
+            rows.writeCells(tr);
+          }
+        }
+      });
+    }
+    Writer unsafe = document.getRawUnsafe(null);
+    try {
+      document.unsafe(unsafe, '>');
+      doBeforeBody(unsafe);
+      while (rows.next()) {
+        unsafe.write("<tr>");
+        rows.writeCells(unsafe);
+        unsafe.write("</tr>");
+      }
+      document.clearAtnl();
+      writeClose(unsafe, false);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
+    }
+    released();
+    return pc;
+  }
 }
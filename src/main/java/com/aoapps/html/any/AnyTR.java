@@ -74,4 +74,59 @@ public abstract class AnyTR<
     }
     document.autoNl(unsafe);
   }
+
+  /**
+   * Ends attributes, writes the cells of one row of the given columns, then closes this element.
+   *
+   * <p>Without {@linkplain AnyDocument#getAutonli() automatic newlines}, the cells are written directly, without an
+   * element per cell.  Otherwise, each cell is written with the usual elements, for the same output.</p>
+   *
+   * @param  row  The index of the row within the columns
+   *
+   * @return  The parent content model this element is within
+   *
+   * @throws  IndexOutOfBoundsException  when the row is not within the columns
+   */
+  @SuppressWarnings("deprecation")
+  public PC cells(TableArrays columns, int row) throws IOException, IndexOutOfBoundsException {
+    columns.checkRow(row);
+    if (document.getAutonli()) {
+      return __(tr -> writeCells(document, tr, columns, row));
+    }
+    Writer unsafe = document.getRawUnsafe(null);
+    try {
+      document.unsafe(unsafe, '>');
+      doBeforeBody(unsafe);
+      columns.writeCells(document, unsafe, row);
+      document.clearAtnl();
+      writeClose(unsafe, false);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
+    }
+    released();
+    return pc;
+  }
+
+  /**
+   * Writes the cells of one row of the given columns with the usual elements.
+   */
+  @SuppressWarnings("deprecation")
+  static <D extends AnyDocument<D>> void writeCells(
+      D document,
+      AnyTR_content<D, ?> tr,
+      TableArrays columns,
+      int row
+  ) throws IOException {
+    for (int column = 0, size = columns.size(); column < size; column++) {
+      if (columns.isEmpty(column, row)) {
+        tr.td().clazz(columns.getClazz(column)).__();
+      } else {
+        int c = column;
+        tr.td().clazz(columns.getClazz(column)).__(td ->
+            columns.writeValue(document, document.getRawUnsafe(false), c, row)
+        );
+      }
+    }
+  }
 }
@@ -41,6 +41,7 @@ import com.aoapps.lang.LocalizedIllegalArgumentException;
 import com.aoapps.lang.LocalizedUnsupportedOperationException;
 import com.aoapps.lang.function.FunctionE;
 import com.aoapps.lang.i18n.Resources;
+import com.aoapps.lang.io.function.IOConsumerE;
 import com.aoapps.lang.io.function.IOSupplierE;
 import com.aoapps.lang.validation.InvalidResult;
 import com.aoapps.lang.validation.ValidResult;
@@ -52,6 +53,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 
 /**
  * See <a href="https://www.w3schools.com/tags/ref_attributes.asp">HTML Attributes</a>.
@@ -133,6 +135,29 @@ public final class Attributes {
     return (validator == null) ? value : validate(value, validator.apply(value));
   }
 
+  /**
+   * Validates a value using the provided validator, when the document of the given element is
+   * {@linkplain AnyDocument#getValidating() validating}.  This is for advisory checks against the specifications only,
+   * such as supported doctypes and enumerated values, since the value is still encoded when written.  Checks that
+   * protect the markup itself, such as of names written without encoding, must use
+   * {@link #validate(java.lang.Object, com.aoapps.lang.function.FunctionE)}, which is always performed.
+   *
+   * @param  validator  When {@code null}, no validation is performed.
+   *
+   * @return  The value when valid or not validated
+   * @throws  IllegalArgumentException  When invalid, supporting {@link LocalizedIllegalArgumentException} when
+   *                                    validationResult is an {@link InvalidResult}
+   *
+   * @see  AnyDocument#setValidationLevel(com.aoapps.html.any.ValidationLevel)
+   */
+  public static <T, Ex extends Throwable> T validate(
+      Element<?, ?, ?> element,
+      T value,
+      FunctionE<? super T, ValidationResult, Ex> validator
+  ) throws IllegalArgumentException, Ex {
+    return (validator == null || !element.document.getValidating()) ? value : validate(value, validator.apply(value));
+  }
+
   /**
    * Validates that the document type is HTML 5 for the given attribute.
    */
@@ -157,6 +182,23 @@ public final class Attributes {
     return validateInHtml5(element.getDocument(), attrName);
   }
 
+  /**
+   * Validates that the document type is HTML 5 for the given attribute, when the document of the given element is
+   * {@linkplain AnyDocument#getValidating() validating}.  This is an advisory check, like
+   * {@link #validate(com.aoapps.html.any.Element, java.lang.Object, com.aoapps.lang.function.FunctionE)}, for
+   * attributes with primitive values that would otherwise be boxed only to be ignored by the validator.
+   *
+   * @throws  IllegalArgumentException  When validating and {@link EncodingContext#getDoctype()} is not
+   *                                    {@link Doctype#HTML5}
+   */
+  public static void validateInHtml5IfValidating(Element<?, ?, ?> element, java.lang.String attrName)
+      throws IllegalArgumentException {
+    AnyDocument<?> document = element.document;
+    if (document.getValidating()) {
+      validate(null, validateInHtml5(document, attrName));
+    }
+  }
+
   /**
    * Enforces that the document type is HTML 5 for the given attribute.
    *
@@ -194,6 +236,28 @@ public final class Attributes {
     }
   }
 
+  /**
+   * Writes an attribute whose value depends on the {@link Serialization}.  While recording, the attribute is written
+   * once per serialization so replay selects the value for the replaying document.
+   *
+   * @param  <E>        This element type
+   * @param  value      Gets the attribute value for a serialization
+   * @param  attribute  Writes the attribute, typically the attribute's {@link Funnel} method
+   */
+  public static <E extends Element<?, ?, E>> E serialized(
+      E element,
+      Function<? super Serialization, java.lang.String> value,
+      IOConsumerE<? super java.lang.String, ? extends RuntimeException> attribute
+  ) throws IOException {
+    AnyDocument<?> document = element.document;
+    if (document.isRecording()) {
+      document.serialized(serialization -> attribute.accept(value.apply(serialization)));
+    } else {
+      attribute.accept(value.apply(document.encodingContext.getSerialization()));
+    }
+    return element;
+  }
+
   /**
    * See <a href="https://html.spec.whatwg.org/multipage/common-microsyntaxes.html#boolean-attributes">2.4.2 Boolean attributes</a>.
    *
@@ -218,7 +282,7 @@ public final class Attributes {
         FunctionE<? super java.lang.Boolean, ValidationResult, Ex> validator
     ) throws IOException, Ex {
       if (value) {
-        validate(value, validator);
+        validate(element, value, validator);
         AnyDocument<?> document = element.document;
         @SuppressWarnings("deprecation")
         Writer unsafe = document.getRawUnsafe(null);
@@ -229,18 +293,28 @@ public final class Attributes {
           unsafe.append(' ');
         }
         unsafe.write(name);
-        Serialization serialization = document.encodingContext.getSerialization();
-        if (serialization == Serialization.XML) {
-          unsafe.write("=\"");
-          unsafe.write(name);
-          unsafe.append('"');
+        if (document.isRecording()) {
+          document.serialized(serialization -> writeValue(document.getRawUnsafe(null), name, serialization));
         } else {
-          assert serialization == Serialization.SGML;
+          writeValue(unsafe, name, document.encodingContext.getSerialization());
         }
       }
       return element;
     }
 
+    /**
+     * Writes the value of a boolean attribute, which is only written for {@link Serialization#XML}.
+     */
+    static void writeValue(Writer unsafe, java.lang.String name, Serialization serialization) throws IOException {
+      if (serialization == Serialization.XML) {
+        unsafe.write("=\"");
+        unsafe.write(name);
+        unsafe.append('"');
+      } else {
+        assert serialization == Serialization.SGML;
+      }
+    }
+
     /**
      * @param  <E>  This element type
      */
@@ -351,6 +425,179 @@ public final class Attributes {
     }
   }
 
+  /**
+   * See <a href="https://html.spec.whatwg.org/multipage/common-microsyntaxes.html#floating-point-numbers">2.3.4.3 Floating-point numbers</a>.
+   *
+   * <p>Integral values are written directly, without creating a {@link java.lang.String}.  All other values are
+   * formatted by {@link java.lang.Double#toString(double)}, which does allocate.</p>
+   *
+   * <p>NaN and infinite values are not floating-point numbers and are rejected.</p>
+   */
+  public static final class Double {
+
+    /** Make no instances. */
+    private Double() {
+      throw new AssertionError();
+    }
+
+    /**
+     * Checks that a value is finite, before anything is written.
+     *
+     * @throws  IllegalArgumentException  when NaN or infinite
+     */
+    private static void checkFinite(java.lang.String name, double value) throws IllegalArgumentException {
+      if (!java.lang.Double.isFinite(value)) {
+        throw new IllegalArgumentException("Not a valid floating-point number: " + name + "=\"" + value + '"');
+      }
+    }
+
+    /**
+     * The largest magnitude where every integer is exactly representable as a {@code double}.
+     */
+    private static final double MAX_EXACT_INTEGER = 0x1p53;
+
+    /**
+     * Formats a value as it is written by this class, for attributes that are written through a
+     * {@link java.lang.String} funnel.
+     *
+     * @throws  IllegalArgumentException  when the value is NaN or infinite
+     */
+    public static java.lang.String format(java.lang.String name, double value) throws IllegalArgumentException {
+      checkFinite(name, value);
+      if (value >= -MAX_EXACT_INTEGER && value <= MAX_EXACT_INTEGER) {
+        long l = (long) value;
+        if (l == value) {
+          return java.lang.Long.toString(l);
+        }
+      }
+      return java.lang.Double.toString(value);
+    }
+
+    /**
+     * @param  <E>        This element type
+     * @param  validator  Optional validator, which gets the attribute value only when attribute will be actually written.
+     *                    Will not be called when the attribute will be skipped.
+     *
+     * @throws  IllegalArgumentException  when the value is NaN or infinite
+     */
+    public static <E extends Element<?, ?, E>, Ex extends Throwable> E attribute(
+        E element,
+        java.lang.String name,
+        double value,
+        FunctionE<? super java.lang.Double, ValidationResult, Ex> validator
+    ) throws IOException, IllegalArgumentException, Ex {
+      checkFinite(name, value);
+      if (validator != null) {
+        validate(element, value, validator);
+      }
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeDouble(unsafe, value);
+      unsafe.append('"');
+      return element;
+    }
+
+    /**
+     * @param  <E>  This element type
+     *
+     * @throws  IllegalArgumentException  when the value is NaN or infinite
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        double value
+    ) throws IOException, IllegalArgumentException {
+      return attribute(element, name, value, null);
+    }
+
+    /**
+     * Writes a comma-separated list of three values, such as the coordinates of a circle.
+     *
+     * @param  <E>  This element type
+     *
+     * @throws  IllegalArgumentException  when any value is NaN or infinite
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        double value1,
+        double value2,
+        double value3
+    ) throws IOException, IllegalArgumentException {
+      checkFinite(name, value1);
+      checkFinite(name, value2);
+      checkFinite(name, value3);
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeDouble(unsafe, value1);
+      unsafe.append(',');
+      document.writeDouble(unsafe, value2);
+      unsafe.append(',');
+      document.writeDouble(unsafe, value3);
+      unsafe.append('"');
+      return element;
+    }
+
+    /**
+     * Writes a comma-separated list of four values, such as the coordinates of a rectangle.
+     *
+     * @param  <E>  This element type
+     *
+     * @throws  IllegalArgumentException  when any value is NaN or infinite
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        double value1,
+        double value2,
+        double value3,
+        double value4
+    ) throws IOException, IllegalArgumentException {
+      checkFinite(name, value1);
+      checkFinite(name, value2);
+      checkFinite(name, value3);
+      checkFinite(name, value4);
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeDouble(unsafe, value1);
+      unsafe.append(',');
+      document.writeDouble(unsafe, value2);
+      unsafe.append(',');
+      document.writeDouble(unsafe, value3);
+      unsafe.append(',');
+      document.writeDouble(unsafe, value4);
+      unsafe.append('"');
+      return element;
+    }
+  }
+
   /**
    * See <a href="https://www.w3schools.com/tags/ref_eventattributes.asp">HTML Event Attributes</a>.
    *
@@ -415,7 +662,9 @@ public final class Attributes {
         int value,
         FunctionE<? super java.lang.Integer, ValidationResult, Ex> validator
     ) throws IOException, Ex {
-      validate(value, validator);
+      if (validator != null) {
+        validate(element, value, validator);
+      }
       AnyDocument<?> document = element.document;
       @SuppressWarnings("deprecation")
       Writer unsafe = document.getRawUnsafe(null);
@@ -427,7 +676,7 @@ public final class Attributes {
       }
       unsafe.write(name);
       unsafe.write("=\"");
-      unsafe.write(java.lang.Integer.toString(value));
+      document.writeInt(unsafe, value);
       unsafe.append('"');
       return element;
     }
@@ -471,6 +720,97 @@ public final class Attributes {
     ) throws IOException {
       return attribute(element, name, value, null);
     }
+
+    /**
+     * @param  <E>  This element type
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        long value
+    ) throws IOException {
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeLong(unsafe, value);
+      unsafe.append('"');
+      return element;
+    }
+
+    /**
+     * Writes a comma-separated list of three values, such as the coordinates of a circle.
+     *
+     * @param  <E>  This element type
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        int value1,
+        int value2,
+        int value3
+    ) throws IOException {
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeInt(unsafe, value1);
+      unsafe.append(',');
+      document.writeInt(unsafe, value2);
+      unsafe.append(',');
+      document.writeInt(unsafe, value3);
+      unsafe.append('"');
+      return element;
+    }
+
+    /**
+     * Writes a comma-separated list of four values, such as the coordinates of a rectangle.
+     *
+     * @param  <E>  This element type
+     */
+    public static <E extends Element<?, ?, E>> E attribute(
+        E element,
+        java.lang.String name,
+        int value1,
+        int value2,
+        int value3,
+        int value4
+    ) throws IOException {
+      AnyDocument<?> document = element.document;
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      if (document.getAtnl()) {
+        document.autoIndent(unsafe, 1);
+        document.clearAtnl();
+      } else {
+        unsafe.append(' ');
+      }
+      unsafe.write(name);
+      unsafe.write("=\"");
+      document.writeInt(unsafe, value1);
+      unsafe.append(',');
+      document.writeInt(unsafe, value2);
+      unsafe.append(',');
+      document.writeInt(unsafe, value3);
+      unsafe.append(',');
+      document.writeInt(unsafe, value4);
+      unsafe.append('"');
+      return element;
+    }
   }
 
   /**
@@ -504,7 +844,7 @@ public final class Attributes {
             value == NO_VALUE
         ) {
           // Empty attribute
-          validate(value, validator);
+          validate(element, value, validator);
           AnyDocument<?> document = element.document;
           @SuppressWarnings("deprecation")
           Writer unsafe = document.getRawUnsafe(null);
@@ -519,7 +859,7 @@ public final class Attributes {
           value = normalizer.apply(value);
           // value = value.trim(); // TODO: These trims should all be from Strings?
           if (value != null) {
-            validate(value, validator);
+            validate(element, value, validator);
             AnyDocument<?> document = element.document;
             @SuppressWarnings("deprecation")
             Writer unsafe = document.getRawUnsafe(null);
@@ -535,10 +875,10 @@ public final class Attributes {
             if (
                 markupType == null
                     || markupType == MarkupType.NONE
-                    || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                    || (threadContext = document.getThreadContext()) == null
             ) {
               // Short-cut additional type checks done by Coercion, since we already have a String
-              encodeTextInXhtmlAttribute(value, unsafe);
+              BulkEncoder.encodeTextInXhtmlAttribute(value, unsafe);
             } else {
               Writer optimized = Coercion.optimize(unsafe, textInXhtmlAttributeEncoder);
               BundleLookupMarkup lookupMarkup = threadContext.getLookupMarkup(value);
@@ -585,10 +925,17 @@ public final class Attributes {
     }
 
     /**
+     * A {@link PreEncoded} value for an XHTML attribute is written as-is, bypassing the normalizer.  Only when it is
+     * empty is the normalizer applied to an empty string, so the attribute is omitted as it would be otherwise.  The
+     * validator is given its encoded {@link PreEncoded#toString() string}.
+     *
      * @param  <E>        This element type
      * @param  value      The attribute value, {@link Attributes#NO_VALUE} (by identity, not value) for an empty attribute, {@code null} for no attribute.
      * @param  validator  Optional validator, which gets the attribute value only when attribute will be actually written.
      *                    Will not be called when the attribute will be skipped.
+     *
+     * @throws  IllegalArgumentException  when the value is {@link PreEncoded} for XHTML text, or is {@link PreEncoded}
+     *                                    and the encoder is not {@link com.aoapps.encoding.TextInXhtmlAttributeEncoder}
      */
     public static <E extends Element<?, ?, E>, Ex1 extends Throwable, Ex2 extends Throwable> E attribute(
         E element,
@@ -598,7 +945,7 @@ public final class Attributes {
         FunctionE<? super Object, ? extends Object, Ex1> normalizer,
         FunctionE<? super Object, ValidationResult, Ex2> validator,
         MediaEncoder encoder
-    ) throws IOException, Ex1, Ex2 {
+    ) throws IOException, IllegalArgumentException, Ex1, Ex2 {
       // TODO: Assert is valid attribute name by doctype
       while (value instanceof IOSupplierE<?, ?>) {
         @SuppressWarnings("unchecked")
@@ -607,7 +954,7 @@ public final class Attributes {
       }
       if (value != null) {
         if (value instanceof MediaWritable<?>) {
-          validate(value, validator);
+          validate(element, value, validator);
           @SuppressWarnings("unchecked")
           final MediaWritable<? extends RuntimeException> writer = (MediaWritable<? extends RuntimeException>) value;
           AnyDocument<?> document = element.document;
@@ -638,7 +985,7 @@ public final class Attributes {
             value == NO_VALUE
         ) {
           // Empty attribute
-          validate(value, validator);
+          validate(element, value, validator);
           AnyDocument<?> document = element.document;
           @SuppressWarnings("deprecation")
           Writer unsafe = document.getRawUnsafe(null);
@@ -650,10 +997,37 @@ public final class Attributes {
           }
           unsafe.write(name);
           // TODO: When serialization is XML, set equal to attribute name or empty?
+        } else if (value instanceof PreEncoded) {
+          PreEncoded preEncoded = (PreEncoded) value;
+          // Would otherwise be encoded a second time
+          if (!preEncoded.isAttribute()) {
+            throw new IllegalArgumentException("Value encoded for XHTML text may not be used as an attribute: " + name);
+          }
+          if (encoder != textInXhtmlAttributeEncoder) {
+            throw new IllegalArgumentException(
+                "Value encoded for XHTML attributes may not be used with " + encoder.getValidMediaInputType() + ": " + name);
+          }
+          // Already encoded, written as-is.  Only an empty value is normalized, to omit the attribute as usual.
+          if (preEncoded.length() != 0 || normalizer.apply("") != null) {
+            validate(element, preEncoded.toString(), validator);
+            AnyDocument<?> document = element.document;
+            @SuppressWarnings("deprecation")
+            Writer unsafe = document.getRawUnsafe(null);
+            if (document.getAtnl()) {
+              document.autoIndent(unsafe, 1);
+              document.clearAtnl();
+            } else {
+              unsafe.append(' ');
+            }
+            unsafe.write(name);
+            unsafe.write("=\"");
+            document.writeRaw(unsafe, preEncoded);
+            unsafe.append('"');
+          }
         } else {
           value = normalizer.apply(value);
           if (value != null) {
-            validate(value, validator);
+            validate(element, value, validator);
             AnyDocument<?> document = element.document;
             @SuppressWarnings("deprecation")
             Writer unsafe = document.getRawUnsafe(null);
@@ -665,14 +1039,27 @@ public final class Attributes {
             }
             unsafe.write(name);
             unsafe.write("=\"");
-            MarkupCoercion.write(
-                value,
-                markupType,
-                true,
-                encoder,
-                false,
-                unsafe
-            );
+            if (
+                encoder == textInXhtmlAttributeEncoder
+                    && value instanceof java.lang.String
+                    && (
+                      markupType == null
+                          || markupType == MarkupType.NONE
+                          || document.getThreadContext() == null
+                    )
+            ) {
+              // Short-cut additional type checks done by MarkupCoercion, since we already have a String
+              BulkEncoder.encodeTextInXhtmlAttribute((java.lang.String) value, unsafe);
+            } else {
+              MarkupCoercion.write(
+                  value,
+                  markupType,
+                  true,
+                  encoder,
+                  false,
+                  unsafe
+              );
+            }
             unsafe.append('"');
           }
         }
@@ -729,7 +1116,7 @@ public final class Attributes {
           }
           if (value != null) {
             if (value instanceof MediaWritable<?>) {
-              validate(value, validator);
+              validate(element, value, validator);
               @SuppressWarnings("unchecked")
               MediaWritable<? extends RuntimeException> writer = (MediaWritable<? extends RuntimeException>) value;
               if (val) {
@@ -767,7 +1154,7 @@ public final class Attributes {
                 value == NO_VALUE
             ) {
               // Empty attribute
-              validate(value, validator);
+              validate(element, value, validator);
               if (!attr) {
                 if (document.getAtnl()) {
                   document.autoIndent(unsafe, 1);
@@ -782,7 +1169,7 @@ public final class Attributes {
             } else {
               value = normalizer.apply(value);
               if (value != null) {
-                validate(value, validator);
+                validate(element, value, validator);
                 if (val) {
                   assert attr;
                   if (separator != null) {
@@ -869,7 +1256,7 @@ public final class Attributes {
       if (url != null) {
         url = normalizer.apply(url);
         if (url != null) {
-          validate(url, validator);
+          validate(element, url, validator);
           AnyDocument<?> document = element.document;
           @SuppressWarnings("deprecation")
           Writer unsafe = document.getRawUnsafe(null);
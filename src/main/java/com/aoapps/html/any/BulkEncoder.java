@@ -0,0 +1,190 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.TextInXhtmlAttributeEncoder;
+import com.aoapps.encoding.TextInXhtmlEncoder;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Fast path in front of {@link TextInXhtmlEncoder} and {@link TextInXhtmlAttributeEncoder}.  Scans ahead for
+ * characters that may need escaping or validation and writes each clean run with a single write.  Only the remaining
+ * characters are passed to the encoders, so the output and validation are unchanged.
+ *
+ * <p>Clean characters are printable ASCII, other than <code>&lt;</code>, <code>&gt;</code>, <code>&amp;</code>,
+ * <code>"</code>, and <code>'</code>.  Everything else, including all non-ASCII characters, is left to the
+ * encoders.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class BulkEncoder {
+
+  /** Make no instances. */
+  private BulkEncoder() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Characters that are written without encoding, indexed by ASCII value.
+   */
+  private static final boolean[] clean = new boolean[128];
+
+  static {
+    for (char ch = 0x20; ch < 0x7F; ch++) {
+      clean[ch] = true;
+    }
+    clean['<'] = false;
+    clean['>'] = false;
+    clean['&'] = false;
+    clean['"'] = false;
+    clean['\''] = false;
+  }
+
+  private static boolean isClean(char ch) {
+    return ch < 128 && clean[ch];
+  }
+
+  /**
+   * Writes a clean run from a character sequence.
+   */
+  private static void write(CharSequence csq, int start, int end, Writer out) throws IOException {
+    if (csq instanceof String) {
+      out.write((String) csq, start, end - start);
+    } else {
+      out.append(csq, start, end);
+    }
+  }
+
+  /**
+   * @see  TextInXhtmlEncoder#encodeTextInXhtml(char, java.lang.Appendable)
+   */
+  static void encodeTextInXhtml(char ch, Writer out) throws IOException {
+    if (isClean(ch)) {
+      out.write(ch);
+    } else {
+      TextInXhtmlEncoder.encodeTextInXhtml(ch, out);
+    }
+  }
+
+  /**
+   * @see  TextInXhtmlEncoder#encodeTextInXhtml(java.lang.CharSequence, int, int, java.lang.Appendable)
+   */
+  static void encodeTextInXhtml(CharSequence csq, int start, int end, Writer out) throws IOException {
+    int runStart = start;
+    int pos = start;
+    while (pos < end) {
+      if (isClean(csq.charAt(pos))) {
+        pos++;
+      } else {
+        if (pos > runStart) {
+          write(csq, runStart, pos, out);
+        }
+        int encodeStart = pos;
+        do {
+          pos++;
+        } while (pos < end && !isClean(csq.charAt(pos)));
+        TextInXhtmlEncoder.encodeTextInXhtml(csq, encodeStart, pos, out);
+        runStart = pos;
+      }
+    }
+    if (end > runStart) {
+      write(csq, runStart, end, out);
+    }
+  }
+
+  /**
+   * @see  TextInXhtmlEncoder#encodeTextInXhtml(java.lang.CharSequence, java.lang.Appendable)
+   */
+  static void encodeTextInXhtml(CharSequence csq, Writer out) throws IOException {
+    encodeTextInXhtml(csq, 0, csq.length(), out);
+  }
+
+  /**
+   * @see  TextInXhtmlEncoder#encodeTextInXhtml(char[], int, int, java.lang.Appendable)
+   */
+  static void encodeTextInXhtml(char[] cbuf, int offset, int len, Writer out) throws IOException {
+    int end = offset + len;
+    int runStart = offset;
+    int pos = offset;
+    while (pos < end) {
+      if (isClean(cbuf[pos])) {
+        pos++;
+      } else {
+        if (pos > runStart) {
+          out.write(cbuf, runStart, pos - runStart);
+        }
+        int encodeStart = pos;
+        do {
+          pos++;
+        } while (pos < end && !isClean(cbuf[pos]));
+        TextInXhtmlEncoder.encodeTextInXhtml(cbuf, encodeStart, pos - encodeStart, out);
+        runStart = pos;
+      }
+    }
+    if (end > runStart) {
+      out.write(cbuf, runStart, end - runStart);
+    }
+  }
+
+  /**
+   * @see  TextInXhtmlEncoder#encodeTextInXhtml(char[], java.lang.Appendable)
+   */
+  static void encodeTextInXhtml(char[] cbuf, Writer out) throws IOException {
+    encodeTextInXhtml(cbuf, 0, cbuf.length, out);
+  }
+
+  /**
+   * @see  TextInXhtmlAttributeEncoder#encodeTextInXhtmlAttribute(java.lang.CharSequence, int, int, java.lang.Appendable)
+   */
+  static void encodeTextInXhtmlAttribute(CharSequence csq, int start, int end, Writer out) throws IOException {
+    int runStart = start;
+    int pos = start;
+    while (pos < end) {
+      if (isClean(csq.charAt(pos))) {
+        pos++;
+      } else {
+        if (pos > runStart) {
+          write(csq, runStart, pos, out);
+        }
+        int encodeStart = pos;
+        do {
+          pos++;
+        } while (pos < end && !isClean(csq.charAt(pos)));
+        TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute(csq, encodeStart, pos, out);
+        runStart = pos;
+      }
+    }
+    if (end > runStart) {
+      write(csq, runStart, end, out);
+    }
+  }
+
+  /**
+   * @see  TextInXhtmlAttributeEncoder#encodeTextInXhtmlAttribute(java.lang.CharSequence, java.lang.Appendable)
+   */
+  static void encodeTextInXhtmlAttribute(CharSequence csq, Writer out) throws IOException {
+    encodeTextInXhtmlAttribute(csq, 0, csq.length(), out);
+  }
+}
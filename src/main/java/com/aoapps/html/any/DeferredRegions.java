@@ -0,0 +1,236 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Regions of a document that are rendered on other threads while the rest of the document continues to be streamed.
+ * A placeholder is written in place of each region, between a pair of empty {@code <template>} markers.  As each
+ * region completes, in any order, its markup is written in a {@code <template>} at the end of the
+ * {@code <body>} along with a small script that swaps it into place.
+ *
+ * <p>The ids of the markers and templates begin with a random prefix, chosen once per document render, so the ids of
+ * separate documents combined into a single page do not collide.</p>
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @param  <D>   The document type
+ *
+ * @see  AnyDocument#setDeferred(java.util.function.Supplier, java.util.concurrent.Executor)
+ * @see  AnyDocument#deferred(com.aoapps.lang.io.function.IOConsumerE, com.aoapps.lang.io.function.IOConsumerE)
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DeferredRegions<D extends AnyDocument<D>> {
+
+  /**
+   * The beginning of the prefix of the ids of the start marker, end marker, and template of each region.
+   */
+  private static final String ID_PREFIX = "ao-d";
+
+  /**
+   * The suffixes of the prefix, for the start marker, end marker, and template.
+   */
+  private static final char START_ID = 's';
+  private static final char END_ID = 'e';
+  private static final char TEMPLATE_ID = 't';
+
+  /**
+   * Replaces everything between the markers with the content of the template, then removes the markers and the
+   * template.  Written once per document, before the first region.
+   */
+  private static final String SWAP_FUNCTION =
+      "function aoDeferredSwap(x,i){"
+          + "var d=document,s=d.getElementById(x+\"" + START_ID + "\"+i),e=d.getElementById(x+\"" + END_ID + "\"+i),"
+          + "t=d.getElementById(x+\"" + TEMPLATE_ID + "\"+i),p=s.parentNode,n;"
+          + "while((n=s.nextSibling)!==e)p.removeChild(n);"
+          + "p.insertBefore(t.content,e);p.removeChild(s);p.removeChild(e);t.parentNode.removeChild(t);"
+          + "}";
+
+  private final Supplier<? extends D> factory;
+  private final Executor executor;
+
+  /**
+   * The completion service of the current render, replaced on {@link #reset()} when any regions were added, so
+   * regions cancelled by the reset are not left in its queue.
+   */
+  private CompletionService<Region> completionService;
+
+  /**
+   * The prefix of the ids of the current render, or {@code null} when not yet chosen.
+   */
+  private String prefix;
+
+  /**
+   * The id of the next region.
+   */
+  private int nextId;
+
+  /**
+   * The ids of the regions not yet written, by the future returned from {@link #completionService}.
+   */
+  private final Map<Future<Region>, Integer> pending = new IdentityHashMap<>();
+
+  /**
+   * Have any regions been added since the last {@link #reset()}.
+   */
+  private boolean added;
+
+  /**
+   * Has {@link #SWAP_FUNCTION} been written.
+   */
+  private boolean wroteSwap;
+
+  DeferredRegions(Supplier<? extends D> factory, Executor executor) {
+    this.factory = factory;
+    this.executor = executor;
+    this.completionService = new ExecutorCompletionService<>(executor);
+  }
+
+  /**
+   * Discards all regions not yet written and chooses a new id prefix for the next render.
+   */
+  void reset() {
+    for (Future<Region> future : pending.keySet()) {
+      future.cancel(true);
+    }
+    pending.clear();
+    if (added) {
+      completionService = new ExecutorCompletionService<>(executor);
+      added = false;
+    }
+    prefix = null;
+    nextId = 0;
+    wroteSwap = false;
+  }
+
+  boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  /**
+   * Gets the prefix of the ids of the current render, choosing a random prefix on first use.
+   */
+  private String getPrefix() {
+    String myPrefix = prefix;
+    if (myPrefix == null) {
+      myPrefix = ID_PREFIX + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX)
+          + '-';
+      prefix = myPrefix;
+    }
+    return myPrefix;
+  }
+
+  /**
+   * Writes the placeholder, between its markers, and begins rendering the region.
+   */
+  <Ex extends Throwable> void deferred(
+      D document,
+      Writer unsafe,
+      IOConsumerE<? super D, Ex> placeholder,
+      IOConsumerE<? super D, ?> body
+  ) throws IOException, Ex {
+    String myPrefix = getPrefix();
+    int id = nextId++;
+    document.autoIndent(unsafe);
+    writeMarker(document, unsafe, myPrefix, START_ID, id);
+    document.clearAtnl();
+    if (placeholder != null) {
+      placeholder.accept(document);
+    }
+    document.autoIndent(unsafe);
+    writeMarker(document, unsafe, myPrefix, END_ID, id);
+    document.clearAtnl();
+    added = true;
+    pending.put(completionService.submit(Region.newTask(document, factory, body, 0, false)), id);
+  }
+
+  /**
+   * Writes an empty {@code <template>} marker.
+   */
+  private static void writeMarker(AnyDocument<?> document, Writer unsafe, String prefix, char type, int id)
+      throws IOException {
+    writeTemplateOpen(document, unsafe, prefix, type, id);
+    unsafe.write("</template>");
+  }
+
+  /**
+   * Writes the opening tag of a {@code <template>}, which has only a generated id that never needs encoding.  This
+   * does not use the element API, since {@link AnyTEMPLATE} is not yet implemented.
+   */
+  private static void writeTemplateOpen(AnyDocument<?> document, Writer unsafe, String prefix, char type, int id)
+      throws IOException {
+    unsafe.write("<template id=\"");
+    unsafe.write(prefix);
+    unsafe.write(type);
+    document.writeInt(unsafe, id);
+    unsafe.write("\">");
+  }
+
+  /**
+   * Waits for all regions, writing each in the order completed.  The document is flushed after each region, so the
+   * browser may display it immediately.
+   *
+   * @param  nonce  The nonce of the scripts, for a content security policy, or {@code null} for none
+   */
+  void writePending(D document, Writer unsafe, String nonce) throws IOException {
+    while (!pending.isEmpty()) {
+      Future<Region> future;
+      try {
+        future = completionService.take();
+      } catch (InterruptedException e) {
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+        InterruptedIOException ioErr = new InterruptedIOException();
+        ioErr.initCause(e);
+        throw ioErr;
+      }
+      Integer id = pending.remove(future);
+      assert id != null : "Only pending regions are in the completion service";
+      Region region = Region.get(future);
+      String myPrefix = getPrefix();
+      document.autoNli(unsafe);
+      writeTemplateOpen(document, unsafe, myPrefix, TEMPLATE_ID, id);
+      region.buffer.writeTo(unsafe);
+      unsafe.write("</template>");
+      document.clearAtnl();
+      String call = "aoDeferredSwap(\"" + myPrefix + "\"," + id + ");";
+      document.script().nonce(nonce).out(wroteSwap ? call : (SWAP_FUNCTION + call)).__();
+      wroteSwap = true;
+      document.flush();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes to an underlying writer while also encoding all characters into an {@link OutputDigest}, in the character
+ * encoding of the document.
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @see  AnyDocument#setOutputDigest(com.aoapps.html.any.OutputDigest)
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DigestWriter extends Writer {
+
+  /**
+   * The size of the buffer used to encode UTF-8.
+   */
+  private static final int UTF8_BUFFER_SIZE = 1024;
+
+  private final Writer out;
+
+  /**
+   * Encodes characters into the digest.
+   */
+  private final Writer encoder;
+
+  DigestWriter(Writer out, OutputDigest digest, Charset charset) {
+    this.out = out;
+    if (StandardCharsets.UTF_8.equals(charset)) {
+      Utf8Writer utf8 = new Utf8Writer(UTF8_BUFFER_SIZE);
+      utf8.setOut(digest.getOutputStream());
+      this.encoder = utf8;
+    } else {
+      this.encoder = new OutputStreamWriter(digest.getOutputStream(), charset);
+    }
+  }
+
+  /**
+   * Gets the underlying writer.
+   */
+  Writer getOut() {
+    return out;
+  }
+
+  /**
+   * Encodes all characters written so far into the digest.
+   */
+  void finish() throws IOException {
+    encoder.flush();
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    out.write(c);
+    encoder.write(c);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    out.write(cbuf, off, len);
+    encoder.write(cbuf, off, len);
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    out.write(str, off, len);
+    encoder.write(str, off, len);
+  }
+
+  @Override
+  public DigestWriter append(CharSequence csq) throws IOException {
+    out.append(csq);
+    encoder.append(csq);
+    return this;
+  }
+
+  @Override
+  public DigestWriter append(CharSequence csq, int start, int end) throws IOException {
+    out.append(csq, start, end);
+    encoder.append(csq, start, end);
+    return this;
+  }
+
+  @Override
+  public DigestWriter append(char c) throws IOException {
+    out.append(c);
+    encoder.append(c);
+    return this;
+  }
+
+  /**
+   * Flushes the underlying writer.  Characters are only encoded into the digest on {@link #finish()}.
+   */
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A reusable character buffer placed in front of the output of an {@link AnyDocument}.  Many small writes, such as
+ * the single characters and short tag fragments written by elements and attributes, are collected into a single
+ * {@code char[]} and passed to the underlying writer in large blocks.
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @see  AnyDocument#setBufferSize(int)
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DocumentBuffer extends Writer {
+
+  private final char[] buf;
+
+  private int count;
+
+  private Writer out;
+
+  /**
+   * The number of characters after which the underlying writer is flushed, or {@code 0} to not flush automatically.
+   */
+  private long flushInterval;
+
+  /**
+   * The number of characters written to the underlying writer since it was last flushed.
+   */
+  private long unflushed;
+
+  DocumentBuffer(int size) {
+    assert size > 0;
+    this.buf = new char[size];
+  }
+
+  /**
+   * Gets the capacity of this buffer.
+   */
+  int getSize() {
+    return buf.length;
+  }
+
+  /**
+   * Sets the writer this buffer is writing to.  Any buffered output must have already been
+   * {@linkplain #drain() drained} to the previous writer.
+   */
+  void setOut(Writer out) {
+    assert count == 0 : "Buffer not drained before changing writer";
+    this.out = out;
+    this.unflushed = 0;
+  }
+
+  /**
+   * Sets the number of characters after which the underlying writer is flushed, or {@code 0} to not flush
+   * automatically.
+   */
+  void setFlushInterval(long flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  /**
+   * Flushes the underlying writer once {@link #flushInterval} characters have been written to it.
+   */
+  private void written(int len) throws IOException {
+    long interval = flushInterval;
+    if (interval > 0) {
+      long u = unflushed + len;
+      if (u >= interval) {
+        unflushed = 0;
+        out.flush();
+      } else {
+        unflushed = u;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of characters currently buffered.
+   */
+  int getCount() {
+    return count;
+  }
+
+  /**
+   * Writes all buffered characters to the underlying writer, without flushing the underlying writer.
+   */
+  void drain() throws IOException {
+    int c = count;
+    if (c > 0) {
+      // Reset first, so a failing writer does not have the same output sent to it again
+      count = 0;
+      out.write(buf, 0, c);
+      written(c);
+    }
+  }
+
+  /**
+   * Discards all buffered characters.
+   */
+  void discard() {
+    count = 0;
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (count == buf.length) {
+      drain();
+    }
+    buf[count++] = (char) c;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    if (len >= buf.length) {
+      // Larger than buffer, write directly
+      drain();
+      out.write(cbuf, off, len);
+      written(len);
+    } else {
+      if (len > buf.length - count) {
+        drain();
+      }
+      System.arraycopy(cbuf, off, buf, count, len);
+      count += len;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    if (len >= buf.length) {
+      // Larger than buffer, write directly
+      drain();
+      out.write(str, off, len);
+      written(len);
+    } else {
+      if (len > buf.length - count) {
+        drain();
+      }
+      str.getChars(off, off + len, buf, count);
+      count += len;
+    }
+  }
+
+  @Override
+  public DocumentBuffer append(CharSequence csq) throws IOException {
+    if (csq == null) {
+      write("null", 0, 4);
+    } else {
+      append(csq, 0, csq.length());
+    }
+    return this;
+  }
+
+  @Override
+  public DocumentBuffer append(CharSequence csq, int start, int end) throws IOException {
+    if (csq == null) {
+      write("null", start, end - start);
+    } else if (csq instanceof String) {
+      write((String) csq, start, end - start);
+    } else {
+      int len = end - start;
+      if (len >= buf.length) {
+        // Larger than buffer, write directly
+        drain();
+        out.append(csq, start, end);
+        written(len);
+      } else {
+        if (len > buf.length - count) {
+          drain();
+        }
+        if (csq instanceof StringBuilder) {
+          ((StringBuilder) csq).getChars(start, end, buf, count);
+          count += len;
+        } else {
+          for (int i = start; i < end; i++) {
+            buf[count++] = csq.charAt(i);
+          }
+        }
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public DocumentBuffer append(char c) throws IOException {
+    write(c);
+    return this;
+  }
+
+  /**
+   * Drains the buffer then flushes the underlying writer.
+   */
+  @Override
+  public void flush() throws IOException {
+    drain();
+    unflushed = 0;
+    out.flush();
+  }
+
+  /**
+   * Drains the buffer then closes the underlying writer.
+   */
+  @Override
+  public void close() throws IOException {
+    drain();
+    out.close();
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.encoding.MediaEncoder;
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.ValidateOnlyEncoder;
+import com.aoapps.lang.Coercion;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+/**
+ * Caches the {@link MediaEncoder} used to encode each {@link MediaType} within XHTML, along with the writer most
+ * recently optimized for it by {@link Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)}.  This avoids
+ * repeated lookups and allocations for documents with many small calls to
+ * {@link AnyDocument#encode(com.aoapps.encoding.MediaType, java.lang.CharSequence)}, such as inline JSON and event
+ * handlers.
+ *
+ * <p>Buffered encoders hold the content being encoded, so are never cached and a new instance is created for each
+ * use.  All other encoders are stateless and are shared by all uses within the document.</p>
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DocumentEncoders {
+
+  private static final MediaType[] mediaTypes = MediaType.values();
+
+  private static final class Entry {
+
+    /**
+     * Has {@link MediaEncoder#getInstance(com.aoapps.encoding.EncodingContext, com.aoapps.encoding.MediaType, com.aoapps.encoding.MediaType)}
+     * been called and its result cached in {@link #instance}?
+     */
+    private boolean resolved;
+
+    /**
+     * The cached instance, which may be {@code null} when no encoding is required.
+     */
+    private MediaEncoder instance;
+
+    /**
+     * The cached encoder, which is never {@code null}.
+     */
+    private MediaEncoder encoder;
+
+    /**
+     * The writer most recently optimized, along with its encoder and the optimized result.
+     */
+    private Writer out;
+    private MediaEncoder outEncoder;
+    private Writer optimized;
+  }
+
+  private final EncodingContext encodingContext;
+
+  private final Entry[] entries = new Entry[mediaTypes.length];
+
+  DocumentEncoders(EncodingContext encodingContext) {
+    this.encodingContext = encodingContext;
+  }
+
+  private Entry getEntry(MediaType contentType) {
+    int ordinal = contentType.ordinal();
+    Entry entry = entries[ordinal];
+    if (entry == null) {
+      entry = new Entry();
+      entries[ordinal] = entry;
+    }
+    return entry;
+  }
+
+  /**
+   * Gets the encoder for the given content type within XHTML.
+   *
+   * @return  the encoder or {@code null} when no encoding is required
+   *
+   * @see  MediaEncoder#getInstance(com.aoapps.encoding.EncodingContext, com.aoapps.encoding.MediaType, com.aoapps.encoding.MediaType)
+   */
+  MediaEncoder getInstance(MediaType contentType) throws UnsupportedEncodingException {
+    Entry entry = getEntry(contentType);
+    if (entry.resolved) {
+      return entry.instance;
+    }
+    MediaEncoder instance = MediaEncoder.getInstance(encodingContext, contentType, MediaType.XHTML);
+    if (instance == null || !instance.isBuffered()) {
+      entry.instance = instance;
+      entry.resolved = true;
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the encoder for the given content type within XHTML, using a {@link ValidateOnlyEncoder} when no encoding is
+   * required.
+   *
+   * @return  the encoder, never {@code null}
+   */
+  MediaEncoder getEncoder(MediaType contentType) throws UnsupportedEncodingException {
+    Entry entry = getEntry(contentType);
+    MediaEncoder encoder = entry.encoder;
+    if (encoder == null) {
+      encoder = getInstance(contentType);
+      if (encoder == null) {
+        // Already in a compatible context that does not strictly require character encoding, but still need prefix/suffix
+        encoder = new ValidateOnlyEncoder(contentType);
+      }
+      if (!encoder.isBuffered()) {
+        entry.encoder = encoder;
+      }
+    }
+    return encoder;
+  }
+
+  /**
+   * Optimizes the given writer for the given encoder, reusing the result while the writer and encoder are unchanged.
+   *
+   * @see  Coercion#optimize(java.io.Writer, com.aoapps.lang.io.Encoder)
+   */
+  Writer optimize(MediaType contentType, Writer out, MediaEncoder encoder) {
+    Entry entry = getEntry(contentType);
+    if (entry.out == out && entry.outEncoder == encoder) {
+      return entry.optimized;
+    }
+    Writer optimized = Coercion.optimize(out, encoder);
+    entry.out = out;
+    entry.outEncoder = encoder;
+    entry.optimized = optimized;
+    return optimized;
+  }
+
+  /**
+   * Releases the writers held for optimization, so the cache does not keep a previous output reachable.
+   */
+  void clearWriters() {
+    for (Entry entry : entries) {
+      if (entry != null) {
+        entry.out = null;
+        entry.outEncoder = null;
+        entry.optimized = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.LocalizedIllegalStateException;
+import com.aoapps.lang.i18n.Resources;
+import java.io.Writer;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of reusable documents, to avoid allocating a new document, along with its buffers and caches, for
+ * every request.
+ *
+ * <p>This pool is shared by all threads and is lock-free.  It is safe for use from virtual threads: it neither pins
+ * carrier threads nor relies on {@link ThreadLocal}, which would retain a document per virtual thread and provide
+ * no reuse when threads are created per task.</p>
+ *
+ * <p>Typical usage:</p>
+ *
+ * <pre>D document = pool.acquire(out);
+ * try {
+ *   // Render
+ *   document.flush();
+ * } finally {
+ *   pool.release(document);
+ * }</pre>
+ *
+ * @param  <D>   The document type
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class DocumentPool<D extends AnyDocument<D>> {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, DocumentPool.class);
+
+  /**
+   * The default maximum number of idle documents.
+   */
+  public static final int DEFAULT_MAX_IDLE = 256;
+
+  private final Supplier<? extends D> factory;
+
+  private final int maxIdle;
+
+  /**
+   * Used as a stack, so the most recently released, and most likely cache-resident, document is reused first.
+   */
+  private final ConcurrentLinkedDeque<D> idle = new ConcurrentLinkedDeque<>();
+
+  /**
+   * The number of documents in {@link #idle}, tracked separately since {@link ConcurrentLinkedDeque#size()} is not a
+   * constant-time operation.
+   */
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  /**
+   * @param  factory  Creates new documents when none are idle.  Documents should be created with a {@code null}
+   *                  output, which is set on {@link #acquire(java.io.Writer)}.
+   * @param  maxIdle  The maximum number of idle documents retained.  Documents released beyond this limit are
+   *                  discarded.
+   */
+  public DocumentPool(Supplier<? extends D> factory, int maxIdle) {
+    if (maxIdle < 0) {
+      throw new IllegalArgumentException("maxIdle < 0: " + maxIdle);
+    }
+    this.factory = factory;
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Creates a pool with {@link #DEFAULT_MAX_IDLE}.
+   *
+   * @param  factory  Creates new documents when none are idle.  Documents should be created with a {@code null}
+   *                  output, which is set on {@link #acquire(java.io.Writer)}.
+   */
+  public DocumentPool(Supplier<? extends D> factory) {
+    this(factory, DEFAULT_MAX_IDLE);
+  }
+
+  /**
+   * Gets the maximum number of idle documents retained.
+   */
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * Gets the current number of idle documents.
+   */
+  public int getIdleCount() {
+    return idleCount.get();
+  }
+
+  /**
+   * Gets a document from the pool, or creates a new one when none are idle.
+   *
+   * @param  out  The writer the document will write to.  May be {@code null}, such as when
+   *              {@linkplain AnyDocument#setOutputStream(java.io.OutputStream) direct UTF-8 output} will be set
+   *              afterward.
+   *
+   * @return  The document, {@linkplain AnyDocument#reset(java.io.Writer) reset} to write to the given writer.
+   */
+  public D acquire(Writer out) {
+    D document = idle.pollFirst();
+    if (document != null) {
+      idleCount.decrementAndGet();
+      document.pooled = false;
+    } else {
+      document = factory.get();
+    }
+    return document.reset(out);
+  }
+
+  /**
+   * Returns a document to the pool.  The document is {@linkplain AnyDocument#reset(java.io.Writer) reset} to a
+   * {@code null} output, discarding any output still buffered.  Call {@link AnyDocument#flush()} first to keep it.
+   *
+   * <p>The document must not be used after being released.</p>
+   *
+   * @throws  IllegalStateException  when the document has already been released
+   */
+  public void release(D document) throws IllegalStateException {
+    if (document.pooled) {
+      throw new LocalizedIllegalStateException(RESOURCES, "release.alreadyReleased");
+    }
+    document.reset(null);
+    if (idleCount.incrementAndGet() <= maxIdle) {
+      document.pooled = true;
+      idle.offerFirst(document);
+    } else {
+      idleCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Discards all idle documents.
+   */
+  public void clear() {
+    D document;
+    while ((document = idle.pollFirst()) != null) {
+      idleCount.decrementAndGet();
+      document.pooled = false;
+    }
+  }
+}
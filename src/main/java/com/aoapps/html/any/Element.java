@@ -53,7 +53,22 @@ public abstract class Element<
     GlobalAttributes<E> {
 
   protected final D document;
-  protected final PC pc;
+
+  /**
+   * The parent content model this element is within.  This is only changed when the element is
+   * {@linkplain AnyDocument#setRecycleElements(boolean) recycled}.
+   */
+  protected PC pc;
+
+  /**
+   * The recycler this element is registered with, or {@code null} when not recycled.
+   */
+  ElementRecycler recycler;
+
+  /**
+   * Is the document flushed once this element is closed.
+   */
+  private boolean flushAfter;
 
   protected Element(D document, PC pc) {
     this.document = document;
@@ -64,6 +79,108 @@ public abstract class Element<
     return document;
   }
 
+  /**
+   * Determines if this element may be {@linkplain AnyDocument#setRecycleElements(boolean) recycled}.  Elements that
+   * are given state at construction, beyond {@link #document} and {@link #pc}, must not be recycled.
+   *
+   * @return  {@code false} by default
+   */
+  protected boolean isRecyclable() {
+    return false;
+  }
+
+  /**
+   * Called when this element is being reused for a new occurrence, after {@link #pc} has been updated and before
+   * the opening tag is written.  Elements that track state while writing attributes must override this method to
+   * clear it, calling {@code super.recycle()}.
+   *
+   * @see  AnyDocument#setRecycleElements(boolean)
+   */
+  @SuppressWarnings("NoopMethodInAbstractClass")
+  protected void recycle() {
+    // Nothing to reset by default
+  }
+
+  /**
+   * Determines if this element tracks state from the attributes written to it, such as to enforce rules between
+   * attributes.  {@linkplain PreparedAttributes Prepared attributes} are always written directly to such elements, so
+   * the state is still tracked.
+   *
+   * @return  {@code false} by default
+   */
+  protected boolean hasAttributeState() {
+    return false;
+  }
+
+  /**
+   * Writes a set of prepared attributes, which are validated and encoded once then written by a single bulk write.
+   *
+   * @return  {@code this} element
+   *
+   * @see  PreparedAttributes
+   */
+  public E attributes(PreparedAttributes<? super E> prepared) throws IOException {
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
+    prepared.writeTo(element);
+    return element;
+  }
+
+  /**
+   * Marks this element as a flush point, with the document {@linkplain AnyDocument#flush() flushed} once this
+   * element is closed.  This allows the browser to display content rendered so far, such as the header of a page,
+   * while the remainder is still being rendered.
+   *
+   * @return  {@code this} element
+   *
+   * @see  AnyDocument#setFlushAfterHead(boolean)
+   */
+  public E flushAfter() {
+    flushAfter = true;
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
+    return element;
+  }
+
+  /**
+   * Prepares this element for reuse by a new occurrence within the given parent content model.
+   *
+   * @see  #recycle()
+   */
+  final void reuse(PC pc) {
+    this.pc = pc;
+    flushAfter = false;
+    recycle();
+  }
+
+  /**
+   * Called once this element has been closed.  Notifies the recycler, if any, that this element may be reused, then
+   * flushes the document when this element is a {@linkplain #flushAfter() flush point}.
+   */
+  final void released() throws IOException {
+    ElementRecycler r = recycler;
+    if (r != null) {
+      r.release(this);
+    }
+    if (flushAfter) {
+      flushAfter = false;
+      document.flush();
+    }
+  }
+
+  /**
+   * Called when writing this element throws before it is closed.  The document is not flushed, even when this
+   * element is a {@linkplain #flushAfter() flush point}, but the recycler, if any, is notified that this element may
+   * be reused.
+   */
+  final void abandoned() {
+    flushAfter = false;
+    ElementRecycler r = recycler;
+    if (r != null) {
+      r.release(this);
+    }
+  }
+
   // <editor-fold desc="Whitespace - delegate to Document" defaultstate="collapsed">
   /**
    * {@inheritDoc}
@@ -0,0 +1,111 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+/**
+ * Keeps one instance of a single element type per nesting level, for reuse once closed.
+ *
+ * <p>Elements of the same type are opened and closed in nested, last-in-first-out order, so the instance at each
+ * level is free to reuse once every element at or above its level has been closed.</p>
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @see  AnyDocument#setRecycleElements(boolean)
+ *
+ * @author  AO Industries, Inc.
+ */
+final class ElementRecycler {
+
+  /**
+   * The maximum nesting level that will be recycled.  Elements nested deeper are created as usual.
+   */
+  static final int MAX_LEVELS = 64;
+
+  /**
+   * Set when the element type does not support recycling.
+   *
+   * @see  Element#isRecyclable()
+   */
+  boolean disabled;
+
+  private Element<?, ?, ?>[] instances = new Element<?, ?, ?>[4];
+
+  /**
+   * The number of levels currently open.
+   */
+  private int open;
+
+  /**
+   * Gets the current nesting level, which is the level the next element will be opened at.
+   */
+  int getLevel() {
+    return open;
+  }
+
+  /**
+   * Gets the instance for the current level, marking the level as open.
+   *
+   * @return  The instance or {@code null} when none yet created, which must then be {@linkplain #set(int, Element) set}.
+   */
+  Element<?, ?, ?> open() {
+    int level = open;
+    Element<?, ?, ?> element = (level < instances.length) ? instances[level] : null;
+    open = level + 1;
+    return element;
+  }
+
+  /**
+   * Sets the instance for the given level.
+   */
+  void set(int level, Element<?, ?, ?> element) {
+    assert level < MAX_LEVELS;
+    if (level >= instances.length) {
+      Element<?, ?, ?>[] newInstances = new Element<?, ?, ?>[Math.min(MAX_LEVELS, Math.max(level + 1, instances.length * 2))];
+      System.arraycopy(instances, 0, newInstances, 0, instances.length);
+      instances = newInstances;
+    }
+    instances[level] = element;
+  }
+
+  /**
+   * Marks the level of the given element as closed.  Any levels above it are also closed, since their elements were
+   * abandoned without being closed.
+   */
+  void release(Element<?, ?, ?> element) {
+    for (int level = Math.min(open, instances.length) - 1; level >= 0; level--) {
+      if (instances[level] == element) {
+        open = level;
+        return;
+      }
+    }
+    // Not open, already released
+  }
+
+  /**
+   * Marks all levels as closed, keeping the instances for reuse.
+   */
+  void reset() {
+    open = 0;
+  }
+}
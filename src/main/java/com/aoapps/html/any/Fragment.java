@@ -0,0 +1,220 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The captured output of a rendered subtree, with its indentation stored relative to the depth it was rendered at so
+ * it may be replayed at any depth.
+ *
+ * @see  FragmentCache
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Fragment {
+
+  /**
+   * The output, without the spaces at each indentation point.
+   */
+  private final char[] chars;
+
+  /**
+   * The positions, within {@link #chars}, of each indentation point.
+   */
+  private final int[] positions;
+
+  /**
+   * The depth of each indentation point, relative to {@link #baseDepth}.
+   */
+  private final int[] depths;
+
+  /**
+   * The kind of each point, or {@code null} when all points are indentation.
+   *
+   * @see  FragmentCapture#INDENT
+   * @see  FragmentCapture#hole(int, int, boolean)
+   * @see  FragmentCapture#branch(com.aoapps.html.any.Fragment[], int)
+   */
+  private final int[] kinds;
+
+  /**
+   * The alternatives of each {@link RenderRecording} branch, by {@link com.aoapps.encoding.Serialization} ordinal, or
+   * {@code null} when there are no branches.
+   */
+  private final Fragment[][] branches;
+
+  /**
+   * The number of values required to replay, one more than the highest index of any hole.
+   */
+  final int holeCount;
+
+  /**
+   * The depth the fragment was rendered at.
+   */
+  final int baseDepth;
+
+  /**
+   * The lowest relative depth of any indentation point, or {@link Integer#MAX_VALUE} when there are none.
+   */
+  private final int minDepth;
+
+  /**
+   * The change in depth from rendering the fragment, which is normally zero.
+   */
+  private final int depthChange;
+
+  /**
+   * The value of {@link AnyDocument#getAtnl()} after the fragment.
+   */
+  final boolean endsNewline;
+
+  /**
+   * The time, in {@link System#nanoTime()}, the fragment was rendered.
+   */
+  final long created;
+
+  Fragment(
+      char[] chars,
+      int[] positions,
+      int[] depths,
+      int[] kinds,
+      Fragment[][] branches,
+      int baseDepth,
+      int depthChange,
+      boolean endsNewline
+  ) {
+    assert positions.length == depths.length;
+    assert kinds == null || kinds.length == positions.length;
+    this.chars = chars;
+    this.positions = positions;
+    this.depths = depths;
+    this.kinds = kinds;
+    this.branches = branches;
+    this.baseDepth = baseDepth;
+    int min = Integer.MAX_VALUE;
+    int count = 0;
+    for (int i = 0; i < depths.length; i++) {
+      int kind = (kinds == null) ? FragmentCapture.INDENT : kinds[i];
+      if (kind == FragmentCapture.INDENT) {
+        min = Math.min(min, depths[i]);
+      } else if (kind >= 0) {
+        count = Math.max(count, (kind >>> 1) + 1);
+      } else {
+        for (Fragment alternative : branches[FragmentCapture.INDENT - 1 - kind]) {
+          if (alternative.minDepth != Integer.MAX_VALUE) {
+            min = Math.min(min, depths[i] + alternative.minDepth);
+          }
+          count = Math.max(count, alternative.holeCount);
+        }
+      }
+    }
+    this.minDepth = min;
+    this.holeCount = count;
+    this.depthChange = depthChange;
+    this.endsNewline = endsNewline;
+    this.created = System.nanoTime();
+  }
+
+  /**
+   * Gets the number of characters retained by this fragment, used to bound the size of the cache.
+   */
+  int getSize() {
+    return chars.length + positions.length * 4;
+  }
+
+  /**
+   * Determines if this fragment may be replayed at the given depth.  Indentation at or below depth zero writes no
+   * spaces and leaves the output at a newline, which affects the automatic newlines that follow.  Thus, when any
+   * indentation point would cross depth zero, the fragment may only be replayed at the depth it was rendered at.
+   */
+  boolean isReplayable(int depth) {
+    return
+        depth == baseDepth
+            || minDepth == Integer.MAX_VALUE
+            || (baseDepth + minDepth > 0 && depth + minDepth > 0);
+  }
+
+  /**
+   * Writes this fragment, rebasing its indentation to the current depth of the document.  Restores the depth and
+   * {@linkplain AnyDocument#getAtnl() atnl} state of the document as they were after the fragment was rendered.
+   */
+  void replay(AnyDocument<?> document, Writer unsafe) throws IOException {
+    assert kinds == null;
+    replay(document, unsafe, null);
+  }
+
+  /**
+   * Writes this fragment, as {@link #replay(com.aoapps.html.any.AnyDocument, java.io.Writer)}, with the given values
+   * written as text at each {@link Template} hole.  Each hole is written at the depth and
+   * {@linkplain AnyDocument#getAtnl() atnl} state it was recorded at.  The atnl state is then left as written by the
+   * value, including when the fragment ends with a hole.  Each {@link RenderRecording} branch writes the alternative
+   * for the serialization of the document.
+   *
+   * @param  values  The values, with at least {@link #holeCount} elements
+   */
+  @SuppressWarnings("deprecation")
+  void replay(AnyDocument<?> document, Writer unsafe, Object[] values) throws IOException {
+    int depth = document.getDepth();
+    assert isReplayable(depth);
+    int pos = 0;
+    boolean endsHole = false;
+    for (int i = 0; i < positions.length; i++) {
+      int end = positions[i];
+      if (end > pos) {
+        unsafe.write(chars, pos, end - pos);
+        pos = end;
+      }
+      int kind = (kinds == null) ? FragmentCapture.INDENT : kinds[i];
+      endsHole = kind >= 0;
+      if (kind == FragmentCapture.INDENT) {
+        document.indentFragment(unsafe, depth + depths[i]);
+      } else if (endsHole) {
+        boolean atnl = (kind & 1) != 0;
+        document.setDepth(Math.max(0, depth + depths[i]));
+        document.setAtnl(atnl);
+        document.text(unsafe, values[kind >>> 1]);
+        document.setDepth(depth);
+      } else {
+        Fragment alternative = branches[FragmentCapture.INDENT - 1 - kind][
+            document.encodingContext.getSerialization().ordinal()
+        ];
+        document.setDepth(Math.max(0, depth + depths[i]));
+        alternative.replay(document, unsafe, values);
+        document.setDepth(depth);
+      }
+    }
+    if (pos < chars.length) {
+      unsafe.write(chars, pos, chars.length - pos);
+      endsHole = false;
+    }
+    if (depthChange != 0) {
+      document.setDepth(Math.max(0, depth + depthChange));
+    }
+    if (!endsHole) {
+      document.setAtnl(endsNewline);
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.Serialization;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of rendered subtrees, such as navigation menus, footers, and product cards, that are identical
+ * across most requests.  A subtree is rendered once by {@link AnyDocument#cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}
+ * and replayed thereafter, with its indentation rebased to the depth it is replayed at.
+ *
+ * <p>Entries are evicted least-recently-used first when either the maximum number of entries or the maximum number of
+ * characters is exceeded.  Entries are also expired once older than the time-to-live, if any.</p>
+ *
+ * <p>Separate entries are kept for each {@link Doctype}, {@link Serialization}, and whitespace state of the document,
+ * so a single cache may be shared by all documents.  This cache is thread-safe.</p>
+ *
+ * @see  AnyDocument#setFragmentCache(com.aoapps.html.any.FragmentCache)
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class FragmentCache {
+
+  /**
+   * The default maximum number of entries.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  /**
+   * The default maximum number of characters, across all entries.
+   */
+  public static final long DEFAULT_MAX_CHARS = 4L * 1024 * 1024;
+
+  /**
+   * The key for an entry, which includes the state of the document that affects the rendered output.
+   */
+  static final class Key {
+
+    private final Object key;
+    private final Doctype doctype;
+    private final Serialization serialization;
+    private final boolean indent;
+    private final boolean autonli;
+    private final boolean atnl;
+    private final int hash;
+
+    Key(Object key, Doctype doctype, Serialization serialization, boolean indent, boolean autonli, boolean atnl) {
+      this.key = Objects.requireNonNull(key);
+      this.doctype = doctype;
+      this.serialization = serialization;
+      this.indent = indent;
+      this.autonli = autonli;
+      this.atnl = atnl;
+      int h = key.hashCode();
+      h = h * 31 + Objects.hashCode(doctype);
+      h = h * 31 + Objects.hashCode(serialization);
+      h = h * 8 + (indent ? 4 : 0) + (autonli ? 2 : 0) + (atnl ? 1 : 0);
+      this.hash = h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return
+          hash == other.hash
+              && indent == other.indent
+              && autonli == other.autonli
+              && atnl == other.atnl
+              && doctype == other.doctype
+              && serialization == other.serialization
+              && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private final int maxEntries;
+
+  private final long maxChars;
+
+  /**
+   * The time-to-live in nanoseconds, or {@code 0} for no expiration.
+   */
+  private final long ttlNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * Access-ordered, so the first entry is the least recently used.
+   */
+  private final LinkedHashMap<Key, Fragment> fragments = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long chars;
+
+  /**
+   * @param  maxEntries  The maximum number of entries retained
+   * @param  maxChars    The maximum number of characters retained, across all entries.  A single fragment larger than
+   *                     this is never cached.
+   * @param  timeToLive  The maximum age of an entry, or {@code null} for no expiration
+   */
+  public FragmentCache(int maxEntries, long maxChars, Duration timeToLive) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("maxEntries < 0: " + maxEntries);
+    }
+    if (maxChars < 0) {
+      throw new IllegalArgumentException("maxChars < 0: " + maxChars);
+    }
+    if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+      throw new IllegalArgumentException("timeToLive <= 0: " + timeToLive);
+    }
+    this.maxEntries = maxEntries;
+    this.maxChars = maxChars;
+    this.ttlNanos = (timeToLive == null) ? 0 : Math.max(1, timeToLive.toNanos());
+  }
+
+  /**
+   * Creates a cache with {@link #DEFAULT_MAX_ENTRIES}, {@link #DEFAULT_MAX_CHARS}, and no expiration.
+   */
+  public FragmentCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_CHARS, null);
+  }
+
+  /**
+   * Gets the maximum number of entries retained.
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Gets the maximum number of characters retained, across all entries.
+   */
+  public long getMaxChars() {
+    return maxChars;
+  }
+
+  /**
+   * Gets the maximum age of an entry.
+   *
+   * @return  The time-to-live or {@code null} for no expiration
+   */
+  public Duration getTimeToLive() {
+    return (ttlNanos == 0) ? null : Duration.ofNanos(ttlNanos);
+  }
+
+  /**
+   * Gets the current number of entries.
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return fragments.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the current number of characters retained, across all entries.
+   */
+  public long getCharCount() {
+    lock.lock();
+    try {
+      return chars;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets a fragment, removing it when expired.
+   *
+   * @return  The fragment or {@code null} when not cached
+   */
+  Fragment get(Key key) {
+    lock.lock();
+    try {
+      Fragment fragment = fragments.get(key);
+      if (fragment != null && ttlNanos != 0 && (System.nanoTime() - fragment.created) >= ttlNanos) {
+        fragments.remove(key);
+        chars -= fragment.getSize();
+        fragment = null;
+      }
+      return fragment;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds a fragment, evicting the least recently used entries as needed to remain within bounds.
+   */
+  void put(Key key, Fragment fragment) {
+    int size = fragment.getSize();
+    if (size > maxChars || maxEntries == 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      Fragment old = fragments.put(key, fragment);
+      if (old != null) {
+        chars -= old.getSize();
+      }
+      chars += size;
+      Iterator<Fragment> iter = fragments.values().iterator();
+      while ((fragments.size() > maxEntries || chars > maxChars) && iter.hasNext()) {
+        Fragment eldest = iter.next();
+        iter.remove();
+        chars -= eldest.getSize();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all entries for the given key, across all doctypes, serializations, and whitespace states.
+   */
+  public void invalidate(Object key) {
+    lock.lock();
+    try {
+      Iterator<Map.Entry<Key, Fragment>> iter = fragments.entrySet().iterator();
+      while (iter.hasNext()) {
+        Map.Entry<Key, Fragment> entry = iter.next();
+        if (entry.getKey().key.equals(key)) {
+          iter.remove();
+          chars -= entry.getValue().getSize();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public void clear() {
+    lock.lock();
+    try {
+      fragments.clear();
+      chars = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Captures the output of a subtree being rendered for a {@link FragmentCache}.  Indentation is not written, but is
+ * instead recorded as a point relative to the depth the capture started at.
+ *
+ * <p>This is not thread-safe, as it is used by a single document.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class FragmentCapture extends Writer {
+
+  /**
+   * The depth of the document when this capture started.
+   */
+  final int baseDepth;
+
+  private char[] chars = new char[256];
+  private int count;
+
+  private int[] positions = new int[16];
+  private int[] depths = new int[16];
+  private int points;
+
+  /**
+   * The kind of each point, or {@code null} until the first point that is not indentation.  Each point is one of:
+   * <ul>
+   *   <li>{@link #INDENT} for indentation</li>
+   *   <li>A {@link Template} hole, as its index shifted left by one, with the low bit set when the output was at a
+   *       newline</li>
+   *   <li>A {@link RenderRecording} branch, as {@code INDENT - 1 - index} into {@link #branches}</li>
+   * </ul>
+   */
+  private int[] kinds;
+
+  /**
+   * The kind of an indentation point.
+   */
+  static final int INDENT = -1;
+
+  private Fragment[][] branches;
+  private int branchCount;
+
+  FragmentCapture(int baseDepth) {
+    this.baseDepth = baseDepth;
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity > chars.length) {
+      if (minCapacity < 0) {
+        throw new OutOfMemoryError();
+      }
+      chars = Arrays.copyOf(chars, Math.max(minCapacity, chars.length << 1));
+    }
+  }
+
+  /**
+   * Records an indentation point at the current position.
+   *
+   * @param  depth  The absolute depth of the indentation, which may be negative
+   */
+  void indent(int depth) {
+    int p = addPoint(depth);
+    if (kinds != null) {
+      kinds[p] = INDENT;
+    }
+  }
+
+  /**
+   * Records a {@link Template} hole at the current position.
+   *
+   * @param  index  The index of the value written at this hole
+   * @param  depth  The absolute depth of the document at the hole
+   * @param  atnl   The value of {@link AnyDocument#getAtnl()} at the hole
+   *
+   * @see  Fragment#replay(com.aoapps.html.any.AnyDocument, java.io.Writer, java.lang.Object[])
+   */
+  void hole(int index, int depth, boolean atnl) {
+    assert index >= 0;
+    setKind(addPoint(depth), (index << 1) | (atnl ? 1 : 0));
+  }
+
+  /**
+   * Records a {@link RenderRecording} branch at the current position, with the output captured for each
+   * {@link com.aoapps.encoding.Serialization}.
+   *
+   * @param  alternatives  The output for each serialization, by ordinal
+   * @param  depth         The absolute depth of the document at the branch
+   */
+  void branch(Fragment[] alternatives, int depth) {
+    int b = branchCount;
+    if (branches == null) {
+      branches = new Fragment[4][];
+    } else if (b == branches.length) {
+      branches = Arrays.copyOf(branches, b << 1);
+    }
+    branches[b] = alternatives;
+    branchCount = b + 1;
+    setKind(addPoint(depth), INDENT - 1 - b);
+  }
+
+  private void setKind(int p, int kind) {
+    if (kinds == null) {
+      kinds = new int[positions.length];
+      Arrays.fill(kinds, INDENT);
+    }
+    kinds[p] = kind;
+  }
+
+  private int addPoint(int depth) {
+    int p = points;
+    if (p == positions.length) {
+      positions = Arrays.copyOf(positions, p << 1);
+      depths = Arrays.copyOf(depths, p << 1);
+      if (kinds != null) {
+        kinds = Arrays.copyOf(kinds, p << 1);
+      }
+    }
+    positions[p] = count;
+    depths[p] = depth - baseDepth;
+    points = p + 1;
+    return p;
+  }
+
+  /**
+   * Determines if any indentation points, holes, or branches have been recorded.
+   */
+  boolean hasIndent() {
+    return points != 0;
+  }
+
+  /**
+   * Gets the captured characters.  Must only be used when there are no points of any kind.
+   */
+  char[] toChars() {
+    assert points == 0;
+    return Arrays.copyOf(chars, count);
+  }
+
+  /**
+   * Gets the captured fragment.
+   *
+   * @param  depth        The depth of the document after the subtree was rendered
+   * @param  endsNewline  The value of {@link AnyDocument#getAtnl()} after the subtree was rendered
+   */
+  Fragment toFragment(int depth, boolean endsNewline) {
+    return new Fragment(
+        Arrays.copyOf(chars, count),
+        Arrays.copyOf(positions, points),
+        Arrays.copyOf(depths, points),
+        (kinds == null) ? null : Arrays.copyOf(kinds, points),
+        (branches == null) ? null : Arrays.copyOf(branches, branchCount),
+        baseDepth,
+        depth - baseDepth,
+        endsNewline
+    );
+  }
+
+  @Override
+  public void write(int c) {
+    int newCount = count + 1;
+    ensureCapacity(newCount);
+    chars[count] = (char) c;
+    count = newCount;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) {
+    if ((off | len | (off + len) | (cbuf.length - (off + len))) < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    int newCount = count + len;
+    ensureCapacity(newCount);
+    System.arraycopy(cbuf, off, chars, count, len);
+    count = newCount;
+  }
+
+  @Override
+  public void write(String str, int off, int len) {
+    int newCount = count + len;
+    ensureCapacity(newCount);
+    str.getChars(off, off + len, chars, count);
+    count = newCount;
+  }
+
+  @Override
+  public FragmentCapture append(CharSequence csq) {
+    if (csq == null) {
+      write("null", 0, 4);
+    } else {
+      append(csq, 0, csq.length());
+    }
+    return this;
+  }
+
+  @Override
+  public FragmentCapture append(CharSequence csq, int start, int end) {
+    if (csq == null) {
+      csq = "null";
+    }
+    if (csq instanceof String) {
+      write((String) csq, start, end - start);
+    } else {
+      if (start < 0 || start > end || end > csq.length()) {
+        throw new IndexOutOfBoundsException();
+      }
+      int newCount = count + (end - start);
+      ensureCapacity(newCount);
+      for (int i = start; i < end; i++) {
+        chars[count++] = csq.charAt(i);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public FragmentCapture append(char c) {
+    write(c);
+    return this;
+  }
+
+  /**
+   * Does nothing, since the capture is written to its document once complete.
+   */
+  @Override
+  public void flush() {
+    // Nothing to flush
+  }
+
+  /**
+   * Does nothing, since the capture is not closed by its document.
+   */
+  @Override
+  public void close() {
+    // Nothing to close
+  }
+}
@@ -103,11 +103,7 @@ public interface GlobalAttributes<E extends Element<?, ?, E> & GlobalAttributes<
     //       https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/itemtype
     //       https://developer.mozilla.org/en-US/docs/Web/API/HTMLElement/itemType
     com.aoapps.html.any.attributes.text.Lang<E>,
-    // TODO: nonce
-    //       https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce
-    //       https://fetch.spec.whatwg.org/#concept-request-nonce-metadata
-    //       https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce
-    //       https://developer.mozilla.org/en-US/docs/Web/API/HTMLElement/nonce
+    com.aoapps.html.any.attributes.text.Nonce<E>,
     // TODO: part (experimental)
     //       https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/part
     // TODO: slot
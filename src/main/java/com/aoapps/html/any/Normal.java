@@ -53,6 +53,62 @@ public abstract class Normal<
     super(document, pc);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @return  {@code true} by default
+   */
+  @Override
+  protected boolean isRecyclable() {
+    return true;
+  }
+
+  /**
+   * The uncloseable content, created on first use when recycled.
+   */
+  private __ recycled__;
+
+  /**
+   * The closeable content, created on first use when recycled.
+   */
+  private _c recycled_c;
+
+  /**
+   * Gets the uncloseable content, reusing the previous instance when recycled.
+   *
+   * @see  Normal#new__()
+   */
+  __ get__() {
+    if (recycler == null) {
+      return new__();
+    }
+    __ content = recycled__;
+    if (content == null) {
+      content = new__();
+      recycled__ = content;
+    }
+    return content;
+  }
+
+  /**
+   * Gets the closeable content, reusing the previous instance when recycled.
+   *
+   * @see  Normal#new_c()
+   */
+  _c get_c() {
+    if (recycler == null) {
+      return new_c();
+    }
+    _c content = recycled_c;
+    if (content == null) {
+      content = new_c();
+      recycled_c = content;
+    } else {
+      content.closed.set(false);
+    }
+    return content;
+  }
+
   /**
    * Determines if this element has indented content.
    *
@@ -91,21 +147,27 @@ public abstract class Normal<
   public <Ex extends Throwable> PC __(IORunnableE<Ex> body) throws IOException, Ex {
     @SuppressWarnings("deprecation")
     Writer unsafe = document.getRawUnsafe(null);
-    if (body != null) {
-      document.autoIndent(unsafe).unsafe(unsafe, '>');
-      boolean contentIndented = isContentIndented();
-      if (contentIndented) {
-        document.incDepth();
+    try {
+      if (body != null) {
+        document.autoIndent(unsafe).unsafe(unsafe, '>');
+        boolean contentIndented = isContentIndented();
+        if (contentIndented) {
+          document.incDepth();
+        }
+        doBeforeBody(unsafe);
+        body.run();
+        if (contentIndented) {
+          document.decDepth();
+        }
+        writeClose(unsafe, false);
+      } else {
+        writeClose(unsafe, true);
       }
-      doBeforeBody(unsafe);
-      body.run();
-      if (contentIndented) {
-        document.decDepth();
-      }
-      writeClose(unsafe, false);
-    } else {
-      writeClose(unsafe, true);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
     }
+    released();
     return pc;
   }
 
@@ -121,21 +183,27 @@ public abstract class Normal<
   public <Ex extends Throwable> PC __(IOConsumerE<? super __, Ex> body) throws IOException, Ex {
     @SuppressWarnings("deprecation")
     Writer unsafe = document.getRawUnsafe(null);
-    if (body != null) {
-      document.autoIndent(unsafe).unsafe(unsafe, '>');
-      boolean contentIndented = isContentIndented();
-      if (contentIndented) {
-        document.incDepth();
+    try {
+      if (body != null) {
+        document.autoIndent(unsafe).unsafe(unsafe, '>');
+        boolean contentIndented = isContentIndented();
+        if (contentIndented) {
+          document.incDepth();
+        }
+        doBeforeBody(unsafe);
+        body.accept(get__());
+        if (contentIndented) {
+          document.decDepth();
+        }
+        writeClose(unsafe, false);
+      } else {
+        writeClose(unsafe, true);
       }
-      doBeforeBody(unsafe);
-      body.accept(new__());
-      if (contentIndented) {
-        document.decDepth();
-      }
-      writeClose(unsafe, false);
-    } else {
-      writeClose(unsafe, true);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
     }
+    released();
     return pc;
   }
 
@@ -147,6 +215,7 @@ public abstract class Normal<
   @SuppressWarnings("deprecation")
   public PC __() throws IOException {
     writeClose(document.getRawUnsafe(null), true);
+    released();
     return pc;
   }
 
@@ -169,7 +238,7 @@ public abstract class Normal<
       document.incDepth();
     }
     doBeforeBody(unsafe);
-    return new_c();
+    return get_c();
   }
 
   /**
@@ -65,21 +65,27 @@ public abstract class NormalText<
   public PC __(Object text) throws IOException {
     @SuppressWarnings("deprecation")
     Writer unsafe = document.getRawUnsafe(null);
-    if (text != null) {
-      document.autoIndent(unsafe).unsafe(unsafe, '>');
-      boolean contentIndented = isContentIndented();
-      if (contentIndented) {
-        document.incDepth();
+    try {
+      if (text != null) {
+        document.autoIndent(unsafe).unsafe(unsafe, '>');
+        boolean contentIndented = isContentIndented();
+        if (contentIndented) {
+          document.incDepth();
+        }
+        doBeforeBody(unsafe);
+        document.text(unsafe, text);
+        if (contentIndented) {
+          document.decDepth();
+        }
+        writeClose(unsafe, false);
+      } else {
+        writeClose(unsafe, true);
       }
-      doBeforeBody(unsafe);
-      document.text(unsafe, text);
-      if (contentIndented) {
-        document.decDepth();
-      }
-      writeClose(unsafe, false);
-    } else {
-      writeClose(unsafe, true);
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
     }
+    released();
     return pc;
   }
 }
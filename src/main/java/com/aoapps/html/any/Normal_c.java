@@ -70,6 +70,8 @@ public abstract class Normal_c<
       document.decDepth();
     }
     element.writeClose(document.getRawUnsafe(null), false);
-    return element.pc;
+    PC pc = element.pc;
+    element.released();
+    return pc;
   }
 }
@@ -0,0 +1,239 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute;
+import static com.aoapps.encoding.TextInXhtmlEncoder.encodeTextInXhtml;
+
+import com.aoapps.lang.Coercion;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A list of options written in bulk by {@link AnySELECT#options(com.aoapps.html.any.OptionList, java.lang.Object...)}
+ * or {@link AnyDATALIST#options(com.aoapps.html.any.OptionList)}.  Each option is encoded once when the list is
+ * created, leaving only the {@code selected} attribute to be written per render.
+ *
+ * <p>Values and text are converted with {@link Coercion#toString(java.lang.Object)} when the list is created, so are
+ * not subject to bundle lookup markup.</p>
+ *
+ * <p>This is immutable and thread-safe, so is typically created once and shared by all renders.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class OptionList {
+
+  private static final int[] NONE = new int[0];
+
+  /**
+   * Creates a list of options, one per item.
+   *
+   * @param  <T>  The item type
+   * @param  value  Gets the value of the option for an item, which is required
+   * @param  text  Gets the text of the option for an item, which may be {@code null} for no text
+   */
+  public static <T> OptionList of(
+      Iterable<? extends T> items,
+      Function<? super T, ?> value,
+      Function<? super T, ?> text
+  ) {
+    List<String> values = new ArrayList<>();
+    List<String> texts = new ArrayList<>();
+    for (T item : items) {
+      values.add(Coercion.toString(Objects.requireNonNull(value.apply(item), "value")));
+      Object t = text.apply(item);
+      texts.add(t == null ? null : Coercion.toString(t));
+    }
+    return new OptionList(values.toArray(new String[values.size()]), texts.toArray(new String[texts.size()]));
+  }
+
+  /**
+   * Creates a list of options, one per entry, in iteration order.
+   *
+   * @param  options  The text of each option, keyed by value.  Values are required and text may be {@code null} for no
+   *                  text.
+   */
+  public static OptionList of(Map<?, ?> options) {
+    return of(options.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  private final String[] values;
+
+  /**
+   * The opening tag of each option, without the closing {@code '>'}.
+   */
+  private final String[] opens;
+
+  /**
+   * The remainder of each option, from the closing {@code '>'} of the opening tag through the closing tag.
+   */
+  private final String[] closes;
+
+  /**
+   * The indexes of each value, in ascending order.
+   */
+  private final Map<String, int[]> indexes;
+
+  private OptionList(String[] values, String[] texts) {
+    int size = values.length;
+    this.values = values;
+    this.opens = new String[size];
+    this.closes = new String[size];
+    Map<String, int[]> newIndexes = new HashMap<>(size * 4 / 3 + 1);
+    try {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < size; i++) {
+        String value = values[i];
+        sb.setLength(0);
+        sb.append("<option value=\"");
+        encodeTextInXhtmlAttribute(value, sb);
+        opens[i] = sb.append('"').toString();
+        sb.setLength(0);
+        sb.append('>');
+        String text = texts[i];
+        if (text != null) {
+          encodeTextInXhtml(text, sb);
+        }
+        closes[i] = sb.append("</option>").toString();
+        newIndexes.merge(value, new int[]{i}, (existing, added) -> {
+          int[] merged = Arrays.copyOf(existing, existing.length + 1);
+          merged[existing.length] = added[0];
+          return merged;
+        });
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.indexes = Collections.unmodifiableMap(newIndexes);
+  }
+
+  /**
+   * Gets the number of options.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Gets the indexes of the options with the given value.
+   *
+   * @return  The indexes, in ascending order, or an empty array when none
+   */
+  private int[] indexesOf(Object selected) {
+    if (selected == null) {
+      return NONE;
+    }
+    int[] found = indexes.get(Coercion.toString(selected));
+    return found == null ? NONE : found;
+  }
+
+  /**
+   * Gets the indexes of the options with any of the given values.
+   *
+   * @return  The indexes, in ascending order without duplicates, or an empty array when none.  This must not be
+   *          modified, as it may be shared.
+   */
+  int[] getIndexes(Object... selected) {
+    if (selected == null || selected.length == 0) {
+      return NONE;
+    }
+    if (selected.length == 1) {
+      return indexesOf(selected[0]);
+    }
+    return getIndexes(Arrays.asList(selected));
+  }
+
+  /**
+   * Gets the indexes of the options with any of the given values.
+   *
+   * @return  The indexes, in ascending order without duplicates, or an empty array when none.  This must not be
+   *          modified, as it may be shared.
+   */
+  int[] getIndexes(Iterable<?> selected) {
+    boolean[] flags = null;
+    int count = 0;
+    for (Object value : selected) {
+      for (int index : indexesOf(value)) {
+        if (flags == null) {
+          flags = new boolean[values.length];
+        }
+        if (!flags[index]) {
+          flags[index] = true;
+          count++;
+        }
+      }
+    }
+    if (count == 0) {
+      return NONE;
+    }
+    int[] result = new int[count];
+    int pos = 0;
+    for (int i = 0; pos < count; i++) {
+      if (flags[i]) {
+        result[pos++] = i;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Writes the options, with the given options selected.  Each option is written with the same whitespace as an
+   * {@link AnyOPTION}.
+   *
+   * @param  selected  The indexes of the selected options, in ascending order without duplicates
+   */
+  @SuppressWarnings("deprecation")
+  void write(AnyDocument<?> document, int[] selected) throws IOException {
+    Writer unsafe = document.getRawUnsafe(null);
+    int next = selected.length == 0 ? -1 : selected[0];
+    int selectedPos = 0;
+    for (int i = 0, size = values.length; i < size; i++) {
+      document.autoNli(unsafe);
+      unsafe.write(opens[i]);
+      if (i == next) {
+        unsafe.write(" selected");
+        if (document.isRecording()) {
+          document.serialized(serialization ->
+              Attributes.Boolean.writeValue(document.getRawUnsafe(null), "selected", serialization)
+          );
+        } else {
+          Attributes.Boolean.writeValue(unsafe, "selected", document.encodingContext.getSerialization());
+        }
+        next = ++selectedPos < selected.length ? selected[selectedPos] : -1;
+      }
+      unsafe.write(closes[i]);
+      document.clearAtnl();
+      document.autoNl(unsafe);
+    }
+  }
+}
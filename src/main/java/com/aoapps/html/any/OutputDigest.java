@@ -0,0 +1,168 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.LocalizedIllegalStateException;
+import com.aoapps.lang.i18n.Resources;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.ResourceBundle;
+
+/**
+ * Counts the bytes of the output of a document, and optionally computes a digest of them, as the output is written.
+ * This allows {@code Content-Length} and {@code ETag} headers to be determined without rendering twice or copying
+ * the output.
+ *
+ * <p>Typical usage, rendering into a buffer so headers may be set before the response is committed:</p>
+ *
+ * <pre>document.setOutputBuffer(buffer);
+ * document.setOutputDigest(new OutputDigest(OutputDigest.SHA_256));
+ * // Render
+ * OutputDigest digest = document.finishOutputDigest();
+ * response.setContentLengthLong(digest.getByteCount());
+ * response.setHeader("ETag", digest.getETag());</pre>
+ *
+ * <p>This is not thread-safe.</p>
+ *
+ * @see  AnyDocument#setOutputDigest(com.aoapps.html.any.OutputDigest)
+ * @see  AnyDocument#finishOutputDigest()
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class OutputDigest {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, OutputDigest.class);
+
+  /**
+   * The name of the SHA-256 algorithm, which is supported by all Java platforms.
+   */
+  public static final String SHA_256 = "SHA-256";
+
+  private final MessageDigest messageDigest;
+
+  private long byteCount;
+
+  /**
+   * The completed digest, or {@code null} when not yet computed.
+   */
+  private byte[] digest;
+
+  private final OutputStream outputStream = new OutputStream() {
+    @Override
+    public void write(int b) {
+      update(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      update(b, off, len);
+    }
+  };
+
+  /**
+   * Counts bytes and computes a digest with the given algorithm.
+   *
+   * @see  MessageDigest#getInstance(java.lang.String)
+   */
+  public OutputDigest(String algorithm) throws NoSuchAlgorithmException {
+    this(MessageDigest.getInstance(algorithm));
+  }
+
+  /**
+   * Counts bytes and computes a digest with the given message digest, which may be any implementation, such as a
+   * faster non-cryptographic hash.
+   *
+   * @param  messageDigest  The message digest, or {@code null} to only count bytes
+   */
+  public OutputDigest(MessageDigest messageDigest) {
+    this.messageDigest = messageDigest;
+  }
+
+  /**
+   * Only counts bytes.
+   */
+  public OutputDigest() {
+    this((MessageDigest) null);
+  }
+
+  /**
+   * Adds bytes to the count and digest.
+   *
+   * @throws  IllegalStateException  when the digest has already been computed
+   */
+  void update(byte[] b, int off, int len) throws IllegalStateException {
+    if (digest != null) {
+      throw new LocalizedIllegalStateException(RESOURCES, "update.finished");
+    }
+    byteCount += len;
+    if (messageDigest != null) {
+      messageDigest.update(b, off, len);
+    }
+  }
+
+  /**
+   * Gets a stream that adds all bytes written to it.
+   */
+  OutputStream getOutputStream() {
+    return outputStream;
+  }
+
+  /**
+   * Gets the number of bytes written.
+   */
+  public long getByteCount() {
+    return byteCount;
+  }
+
+  /**
+   * Gets the digest of all bytes written.  Once computed, no additional bytes may be written.
+   *
+   * @return  A copy of the digest
+   *
+   * @throws  IllegalStateException  when only counting bytes
+   */
+  public byte[] getDigest() throws IllegalStateException {
+    byte[] d = digest;
+    if (d == null) {
+      if (messageDigest == null) {
+        throw new LocalizedIllegalStateException(RESOURCES, "getDigest.countOnly");
+      }
+      d = messageDigest.digest();
+      digest = d;
+    }
+    return d.clone();
+  }
+
+  /**
+   * Gets a strong entity tag for the bytes written, including the surrounding quotes, from the
+   * {@linkplain #getDigest() digest} encoded as URL-safe Base64 without padding.
+   *
+   * @throws  IllegalStateException  when only counting bytes
+   */
+  public String getETag() throws IllegalStateException {
+    return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(getDigest()) + '"';
+  }
+}
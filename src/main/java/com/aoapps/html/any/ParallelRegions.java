@@ -0,0 +1,235 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.LocalizedIllegalStateException;
+import com.aoapps.lang.i18n.Resources;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Renders independent regions of a document concurrently, each into its own buffer, then splices the output back
+ * in document order.  This allows the latency of a page to be that of its slowest region, such as a sidebar widget
+ * with data from a separate backend, instead of the sum of all of them.
+ *
+ * <p>Each region is rendered by a separate document, from the given factory, starting with the indentation, depth,
+ * and newline state of this document at the point the region is added.  The document of each region is also given
+ * the indentation, validation, and recycling settings of this document.  Meanwhile, this document continues to be
+ * rendered on the calling thread, with its output collected between regions.  All output is written, in order, on
+ * {@link #join()}.</p>
+ *
+ * <p>Typical usage:</p>
+ *
+ * <pre>try (ParallelRegions&lt;D&gt; regions = document.parallel(factory, executor)) {
+ *   regions.region(doc -&gt; doc.aside__(…));
+ *   document.main__(…);
+ *   regions.region(doc -&gt; doc.footer__(…));
+ *   regions.join();
+ * }</pre>
+ *
+ * <p>When closed without being joined, such as by an exception thrown in the try block, all regions are cancelled
+ * and all output since the regions began is discarded.</p>
+ *
+ * <p>Regions are expected to be balanced, leaving the depth unchanged.  Newline tracking across the boundary of a
+ * region is conservative, so may result in additional whitespace, but never different markup.</p>
+ *
+ * <p>Regions are rendered directly on the calling thread, in order, while the document is being captured for
+ * {@link AnyDocument#cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)} or has a
+ * {@link com.aoapps.hodgepodge.i18n.BundleLookupThreadContext}, since neither are available to other threads.</p>
+ *
+ * <p>This is not thread-safe: regions must be added by the thread rendering the document.</p>
+ *
+ * @param  <D>   The document type
+ *
+ * @see  AnyDocument#parallel(java.util.function.Supplier, java.util.concurrent.Executor)
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class ParallelRegions<D extends AnyDocument<D>> implements AutoCloseable {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, ParallelRegions.class);
+
+  private final D document;
+  private final Supplier<? extends D> factory;
+  private final Executor executor;
+
+  /**
+   * Regions are rendered on the calling thread.
+   */
+  private final boolean inline;
+
+  /**
+   * The writer of the document, restored on {@link #join()} or {@link #close()}, or {@code null} when
+   * {@link #inline}.
+   */
+  private final Writer out;
+
+  /**
+   * The regions, as {@link FutureTask} then as {@link Region} once complete, interleaved with the output of the
+   * document, as {@link CharArrayWriter}.
+   */
+  private final List<Object> segments = new ArrayList<>();
+
+  /**
+   * Has {@link #join()} or {@link #close()} been called.
+   */
+  private boolean closed;
+
+  @SuppressWarnings("deprecation")
+  ParallelRegions(D document, Supplier<? extends D> factory, Executor executor, boolean inline) {
+    this.document = document;
+    this.factory = factory;
+    this.executor = executor;
+    this.inline = inline;
+    this.out = inline ? null : document.getRawUnsafe(null);
+  }
+
+  /**
+   * Adds a region, rendered concurrently by a separate document.  Any exception thrown by the region is thrown by
+   * {@link #join()}, with checked exceptions other than {@link IOException} wrapped in an {@link IOException}.
+   * When rendered inline, the exception is thrown directly by this method.
+   *
+   * @param  body  Renders the region to the given document
+   *
+   * @return  {@code this}
+   *
+   * @throws  IllegalStateException  when already joined or closed, or when the factory creates a document with a
+   *                                 different doctype or serialization
+   */
+  public <Ex extends Throwable> ParallelRegions<D> region(IOConsumerE<? super D, Ex> body) throws IOException, Ex {
+    if (closed) {
+      throw new LocalizedIllegalStateException(RESOURCES, "closed");
+    }
+    if (inline) {
+      body.accept(document);
+    } else {
+      FutureTask<Region> task = new FutureTask<>(
+          Region.newTask(document, factory, body, document.getDepth(), document.getAtnl())
+      );
+      executor.execute(task);
+      segments.add(task);
+      // Collect the output of this document until the region is spliced
+      CharArrayWriter next = new CharArrayWriter();
+      segments.add(next);
+      document.redirect(next);
+      document.clearAtnl(); // Unknown, safe to assume not at newline
+    }
+    return this;
+  }
+
+  /**
+   * Waits for all regions then writes all output, in order.  Remaining regions are cancelled when any region fails,
+   * and all output since the regions began is discarded.
+   *
+   * @throws  IllegalStateException  when already joined or closed
+   */
+  public void join() throws IOException, IllegalStateException {
+    if (closed) {
+      throw new LocalizedIllegalStateException(RESOURCES, "closed");
+    }
+    closed = true;
+    if (!inline && !segments.isEmpty()) {
+      document.redirect(out);
+      boolean success = false;
+      try {
+        // Wait for all regions before writing, so all output is discarded when any region fails
+        for (int i = 0, size = segments.size(); i < size; i++) {
+          Object segment = segments.get(i);
+          if (segment instanceof FutureTask) {
+            @SuppressWarnings("unchecked")
+            FutureTask<Region> task = (FutureTask<Region>) segment;
+            segments.set(i, Region.get(task));
+          }
+        }
+        Boolean atnl = null;
+        for (Object segment : segments) {
+          CharArrayWriter buffer;
+          if (segment instanceof Region) {
+            Region region = (Region) segment;
+            buffer = region.buffer;
+            if (buffer.size() > 0) {
+              atnl = region.atnl;
+            }
+          } else {
+            buffer = (CharArrayWriter) segment;
+            if (buffer.size() > 0) {
+              atnl = null;
+            }
+          }
+          buffer.writeTo(out);
+        }
+        if (atnl != null) {
+          document.setAtnl(atnl);
+        }
+        success = true;
+      } finally {
+        if (!success) {
+          cancel();
+        }
+        segments.clear();
+      }
+    }
+  }
+
+  /**
+   * Cancels all regions and discards their output along with the output of the document between them.
+   */
+  private void cancel() {
+    for (Object segment : segments) {
+      if (segment instanceof FutureTask) {
+        ((FutureTask<?>) segment).cancel(true);
+      }
+    }
+    document.clearAtnl(); // Unknown, safe to assume not at newline
+  }
+
+  /**
+   * Discards all output when not {@linkplain #join() joined}, cancelling any regions still being rendered.  This is
+   * expected when an exception is thrown before {@link #join()}.  Regions rendered inline have already been written,
+   * so are not discarded.
+   *
+   * @throws  IllegalStateException  when not joined, to report a missing call to {@link #join()}.  When closed by
+   *                                 try-with-resources due to an exception, this is added to it as suppressed.
+   */
+  @Override
+  public void close() throws IllegalStateException {
+    if (!closed) {
+      closed = true;
+      if (!inline) {
+        document.redirect(out);
+        cancel();
+        segments.clear();
+      }
+      throw new LocalizedIllegalStateException(RESOURCES, "notJoined");
+    }
+  }
+}
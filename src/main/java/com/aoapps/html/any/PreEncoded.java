@@ -0,0 +1,160 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.Whitespace;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * An immutable value that is already encoded, either for XHTML text or for an XHTML attribute.  It is written to the
+ * output as-is, without {@link com.aoapps.hodgepodge.i18n.MarkupCoercion} or any
+ * {@link com.aoapps.encoding.MediaEncoder}, making it suitable for values that are encoded once then written many times.
+ *
+ * <p>The value is trusted: it is the caller's responsibility that it is correctly encoded for where it is used.
+ * Incorrectly encoded values may result in malformed output or injection vulnerabilities.</p>
+ *
+ * <p>Values encoded for an XHTML attribute may also be used as text, but values encoded for XHTML text may not be
+ * used in attributes, since they may contain unescaped quotes.  In attributes, the value also bypasses normalization,
+ * such as trimming, other than omitting an attribute that would be omitted when empty.</p>
+ *
+ * <p>The value is cached as a {@code char[]}, and as UTF-8 bytes on first use with direct byte output.  This is
+ * thread-safe.</p>
+ *
+ * @see  AnyDocument#text(java.lang.Object)
+ * @see  AnyDocument#encode(com.aoapps.encoding.MediaType, java.lang.Object)
+ * @see  Attributes.Text#attribute(com.aoapps.html.any.Element, java.lang.String, com.aoapps.encoding.MediaEncoder, java.lang.Object)
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class PreEncoded {
+
+  /**
+   * Wraps a value that is already encoded for XHTML text.
+   *
+   * @param  encoded  The value, already encoded for {@link MediaType#XHTML}
+   */
+  public static PreEncoded xhtml(String encoded) {
+    return new PreEncoded(MediaType.XHTML, encoded);
+  }
+
+  /**
+   * Wraps a value that is already encoded for an XHTML attribute.
+   *
+   * @param  encoded  The value, already encoded for {@link MediaType#XHTML_ATTRIBUTE}
+   */
+  public static PreEncoded xhtmlAttribute(String encoded) {
+    return new PreEncoded(MediaType.XHTML_ATTRIBUTE, encoded);
+  }
+
+  private final MediaType mediaType;
+  private final String encoded;
+  private final char[] chars;
+  private final boolean endsNewline;
+
+  /**
+   * The UTF-8 form, created on first use.
+   */
+  private volatile byte[] utf8;
+
+  private PreEncoded(MediaType mediaType, String encoded) {
+    this.mediaType = mediaType;
+    this.encoded = Objects.requireNonNull(encoded);
+    this.chars = encoded.toCharArray();
+    int len = chars.length;
+    this.endsNewline = len > 0 && chars[len - 1] == Whitespace.NL;
+  }
+
+  /**
+   * Gets the media type the value is encoded for, either {@link MediaType#XHTML} or
+   * {@link MediaType#XHTML_ATTRIBUTE}.
+   */
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Checks if this value may be used in an XHTML attribute.
+   */
+  public boolean isAttribute() {
+    return mediaType == MediaType.XHTML_ATTRIBUTE;
+  }
+
+  /**
+   * Gets the number of characters in the encoded value.
+   */
+  public int length() {
+    return chars.length;
+  }
+
+  /**
+   * Gets the encoded value.
+   */
+  @Override
+  public String toString() {
+    return encoded;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof PreEncoded)) {
+      return false;
+    }
+    PreEncoded other = (PreEncoded) obj;
+    return mediaType == other.mediaType && encoded.equals(other.encoded);
+  }
+
+  @Override
+  public int hashCode() {
+    return mediaType.hashCode() * 31 + encoded.hashCode();
+  }
+
+  /**
+   * Gets the cached characters, which must not be modified.
+   */
+  char[] getChars() {
+    return chars;
+  }
+
+  /**
+   * Checks if the encoded value ends in a newline.
+   */
+  boolean endsNewline() {
+    return endsNewline;
+  }
+
+  /**
+   * Gets the cached UTF-8 bytes, which must not be modified.
+   */
+  byte[] getUtf8() {
+    byte[] bytes = utf8;
+    if (bytes == null) {
+      // Benign race: any thread may create the same bytes
+      bytes = encoded.getBytes(StandardCharsets.UTF_8);
+      utf8 = bytes;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A set of constant attributes, declared once and written by a single bulk write thereafter.  Attributes are
+ * validated and encoded the first time they are written for each {@link Doctype} and {@link Serialization}, and the
+ * resulting markup is reused for every element after.  Since the markup is shared between documents, the attributes
+ * are validated when prepared regardless of the {@linkplain AnyDocument#getValidationLevel() validation level}.  Dynamic attributes may be added after the prepared attributes,
+ * as usual.
+ *
+ * <p>Typical usage:</p>
+ *
+ * <pre>private static final PreparedAttributes&lt;AnyDIV&lt;?, ?, ?, ?, ?&gt;&gt; ROW =
+ *     new PreparedAttributes&lt;&gt;(div -&gt; div.clazz("row"));
+ *
+ * …
+ *
+ * document.div().attributes(ROW).id(id).__(…);</pre>
+ *
+ * <p>The attributes must be the same every time.  Attributes are written directly, without the prepared markup, when
+ * the opening tag is split across lines, when bundle lookup markup is being recorded, or when the element tracks
+ * state from its attributes.</p>
+ *
+ * <p>This class is thread-safe and is intended to be shared as a constant.</p>
+ *
+ * @param  <E>  The element type
+ *
+ * @see  Element#attributes(com.aoapps.html.any.PreparedAttributes)
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class PreparedAttributes<E extends Element<?, ?, ?>> {
+
+  private static final int SERIALIZATIONS = Serialization.values().length;
+
+  /**
+   * The markup prepared for a single element type.
+   */
+  private static final class Prepared {
+
+    private final Class<?> type;
+    private final char[] chars;
+
+    private Prepared(Class<?> type, char[] chars) {
+      this.type = type;
+      this.chars = chars;
+    }
+  }
+
+  private final IOConsumerE<? super E, ? extends RuntimeException> attributes;
+
+  /**
+   * The prepared markup, indexed by {@link Doctype} then {@link Serialization}.
+   */
+  private final AtomicReferenceArray<Prepared> prepared =
+      new AtomicReferenceArray<>(Doctype.values().length * SERIALIZATIONS);
+
+  /**
+   * @param  attributes  Writes the constant attributes to the given element
+   */
+  public PreparedAttributes(IOConsumerE<? super E, ? extends RuntimeException> attributes) {
+    this.attributes = attributes;
+  }
+
+  /**
+   * Writes the attributes to the given element, using the prepared markup when available.
+   *
+   * @see  Element#attributes(com.aoapps.html.any.PreparedAttributes)
+   */
+  void writeTo(E element) throws IOException {
+    AnyDocument<?> document = element.document;
+    if (
+        element.hasAttributeState()
+            || document.getAtnl()
+            || document.isRecording()
+            || document.getThreadContext() != null
+    ) {
+      attributes.accept(element);
+    } else {
+      int index = document.encodingContext.getDoctype().ordinal() * SERIALIZATIONS
+          + document.encodingContext.getSerialization().ordinal();
+      Prepared p = prepared.get(index);
+      if (p != null && p.type == element.getClass()) {
+        @SuppressWarnings("deprecation")
+        Writer unsafe = document.getRawUnsafe(null);
+        unsafe.write(p.chars);
+      } else {
+        char[] chars = document.prepareAttributes(element, attributes);
+        if (chars != null && p == null) {
+          prepared.compareAndSet(index, null, new Prepared(element.getClass(), chars));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.lang.LocalizedIllegalStateException;
+import com.aoapps.lang.Throwables;
+import com.aoapps.lang.i18n.Resources;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * The output of a region of a document rendered on another thread, by a separate document, into its own buffer.
+ *
+ * @see  ParallelRegions
+ * @see  DeferredRegions
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Region {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, Region.class);
+
+  /**
+   * Creates a task that renders a region.  The document for the region is created on the calling thread and given
+   * the indentation, validation, recycling, and fragment cache settings of the parent document.  Whitespace handling
+   * is chosen when each document is created, so the parent is only indented the same when the factory creates
+   * documents with whitespace handling enabled.
+   *
+   * @param  depth  The depth the region starts at
+   * @param  atnl   Whether the region starts at a newline
+   *
+   * @throws  IllegalStateException  when the document for the region has a different doctype or serialization
+   */
+  static <D extends AnyDocument<D>> Callable<Region> newTask(
+      D parent,
+      Supplier<? extends D> factory,
+      IOConsumerE<? super D, ?> body,
+      int depth,
+      boolean atnl
+  ) throws IllegalStateException {
+    CharArrayWriter buffer = new CharArrayWriter();
+    D document = factory.get().reset(buffer);
+    EncodingContext expected = parent.encodingContext;
+    EncodingContext actual = document.encodingContext;
+    if (
+        actual.getDoctype() != expected.getDoctype()
+            || actual.getSerialization() != expected.getSerialization()
+    ) {
+      throw new LocalizedIllegalStateException(
+          RESOURCES,
+          "encodingContext",
+          expected.getDoctype(),
+          expected.getSerialization(),
+          actual.getDoctype(),
+          actual.getSerialization()
+      );
+    }
+    document.setValidation(parent.getValidationLevel(), parent.getValidationSampleRate(), parent.getValidating());
+    document
+        .setIndent(parent.getIndent())
+        .setDepth(depth)
+        .setAutonli(parent.getAutonli())
+        .setAtnl(atnl)
+        .setRecycleElements(parent.getRecycleElements())
+        .setFragmentCache(parent.getFragmentCache());
+    return () -> {
+      try {
+        body.accept(document);
+      } catch (Error | RuntimeException | IOException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ExecutionException(t);
+      }
+      document.flush();
+      return new Region(buffer, document.getAtnl());
+    };
+  }
+
+  /**
+   * Waits for a region, rethrowing any exception thrown while rendering it.
+   */
+  static Region get(Future<Region> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+      InterruptedIOException ioErr = new InterruptedIOException();
+      ioErr.initCause(e);
+      throw ioErr;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ExecutionException && cause.getCause() != null) {
+        // Unwrap checked exceptions thrown by the region
+        cause = cause.getCause();
+      }
+      throw Throwables.wrap(cause, IOException.class, IOException::new);
+    }
+  }
+
+  final CharArrayWriter buffer;
+
+  /**
+   * Whether the region ended at a newline.
+   */
+  final boolean atnl;
+
+  private Region(CharArrayWriter buffer, boolean atnl) {
+    this.buffer = buffer;
+    this.atnl = atnl;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.Serialization;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The output of a render, recorded once by {@link AnyDocument#record(com.aoapps.lang.io.function.IOConsumerE)} and
+ * replayed into any number of documents by {@link AnyDocument#replay(com.aoapps.html.any.RenderRecording)}, without
+ * running the body again.  This allows the same content to be served, for example, as both HTML and XHTML while only
+ * querying its data once.
+ *
+ * <p>The recording is stored compactly, as a single character arena with a table of points: indentation, which is
+ * rebased to the depth replayed at, and branches, where the output depends on the {@link Serialization}.  Each branch
+ * holds the output for every serialization, and the alternative matching the document is written on replay.</p>
+ *
+ * <p>The {@link Doctype} affects validation and which attributes are written, so a recording may only be replayed
+ * into documents of the same doctype.  Whitespace is written as it was recorded.  Recordings are immutable and may
+ * be replayed concurrently.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class RenderRecording {
+
+  private final Doctype doctype;
+
+  private final Fragment fragment;
+
+  RenderRecording(Doctype doctype, Fragment fragment) {
+    this.doctype = doctype;
+    this.fragment = fragment;
+  }
+
+  /**
+   * Gets the doctype this was recorded with, which is the only doctype it may be replayed into.
+   */
+  public Doctype getDoctype() {
+    return doctype;
+  }
+
+  /**
+   * Writes this recording to the given document.  When indentation would not rebase to the current depth, it is
+   * written at the depth it was recorded at.
+   */
+  @SuppressWarnings("deprecation")
+  void replay(AnyDocument<?> document, Writer unsafe) throws IOException {
+    int depth = document.getDepth();
+    if (fragment.isReplayable(depth)) {
+      fragment.replay(document, unsafe, null);
+    } else {
+      document.setDepth(fragment.baseDepth);
+      fragment.replay(document, unsafe, null);
+      document.setDepth(Math.max(0, depth + document.getDepth() - fragment.baseDepth));
+    }
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.Strings;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The columns of a table written in bulk from arrays by {@link AnyTBODY#rows(com.aoapps.html.any.TableArrays)} or
+ * one row at a time by {@link AnyTR#cells(com.aoapps.html.any.TableArrays, int)}.  Each column is an array with one
+ * value per row, and writes one {@code <td>} per row.  Primitive columns are written directly, without boxing or
+ * creating a {@link String}.  The opening tag of each column, including any class, is encoded once when the column is
+ * added.
+ *
+ * <p>This is immutable, but the arrays are not copied.  They must not be modified while rows are being written.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class TableArrays {
+
+  private static final int INT = 0;
+  private static final int LONG = 1;
+  private static final int DOUBLE = 2;
+  private static final int TEXT = 3;
+
+  /**
+   * The default number of fraction digits, which writes {@code double} values in their shortest form.
+   */
+  private static final int SHORTEST = -1;
+
+  private static final TableArrays EMPTY = new TableArrays(
+      0,
+      new int[0],
+      new Object[0],
+      new int[0],
+      new String[0],
+      new String[0]
+  );
+
+  /**
+   * Gets the empty set of columns, to which columns are added.
+   */
+  public static TableArrays of() {
+    return EMPTY;
+  }
+
+  private final int rowCount;
+
+  private final int[] kinds;
+
+  /**
+   * The values of each column, each an {@code int[]}, {@code long[]}, {@code double[]}, or {@code CharSequence[]}.
+   */
+  private final Object[] arrays;
+
+  private final int[] fractionDigits;
+
+  private final String[] classes;
+
+  /**
+   * The opening tag of each column, without the closing {@code '>'}.
+   */
+  private final String[] opens;
+
+  private TableArrays(
+      int rowCount,
+      int[] kinds,
+      Object[] arrays,
+      int[] fractionDigits,
+      String[] classes,
+      String[] opens
+  ) {
+    this.rowCount = rowCount;
+    this.kinds = kinds;
+    this.arrays = arrays;
+    this.fractionDigits = fractionDigits;
+    this.classes = classes;
+    this.opens = opens;
+  }
+
+  private TableArrays column(String clazz, int kind, Object array, int length, int digits) {
+    if (kinds.length != 0 && length != rowCount) {
+      throw new IllegalArgumentException("Column length mismatch: expected " + rowCount + ", got " + length);
+    }
+    clazz = Strings.trimNullIfEmpty(clazz);
+    int len = kinds.length;
+    int[] newKinds = Arrays.copyOf(kinds, len + 1);
+    newKinds[len] = kind;
+    Object[] newArrays = Arrays.copyOf(arrays, len + 1);
+    newArrays[len] = array;
+    int[] newFractionDigits = Arrays.copyOf(fractionDigits, len + 1);
+    newFractionDigits[len] = digits;
+    String[] newClasses = Arrays.copyOf(classes, len + 1);
+    newClasses[len] = clazz;
+    String[] newOpens = Arrays.copyOf(opens, len + 1);
+    newOpens[len] = TableColumns.open(clazz);
+    return new TableArrays(length, newKinds, newArrays, newFractionDigits, newClasses, newOpens);
+  }
+
+  /**
+   * Adds a column of {@code int} values.
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(int[] values) throws IllegalArgumentException {
+    return column(null, values);
+  }
+
+  /**
+   * Adds a column of {@code int} values with a class.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(String clazz, int[] values) throws IllegalArgumentException {
+    return column(clazz, INT, values, values.length, SHORTEST);
+  }
+
+  /**
+   * Adds a column of {@code long} values.
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(long[] values) throws IllegalArgumentException {
+    return column(null, values);
+  }
+
+  /**
+   * Adds a column of {@code long} values with a class.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(String clazz, long[] values) throws IllegalArgumentException {
+    return column(clazz, LONG, values, values.length, SHORTEST);
+  }
+
+  /**
+   * Adds a column of {@code double} values.  Integral values are written without a decimal point, and all other
+   * values as {@link Double#toString(double)}.
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(double[] values) throws IllegalArgumentException {
+    return column(null, values);
+  }
+
+  /**
+   * Adds a column of {@code double} values with a class.  Integral values are written without a decimal point, and
+   * all other values as {@link Double#toString(double)}.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(String clazz, double[] values) throws IllegalArgumentException {
+    return column(clazz, DOUBLE, values, values.length, SHORTEST);
+  }
+
+  /**
+   * Adds a column of {@code double} values, each written with a fixed number of fraction digits.
+   *
+   * @see  #column(java.lang.String, double[], int)
+   */
+  public TableArrays column(double[] values, int fractionDigits) throws IllegalArgumentException {
+    return column(null, values, fractionDigits);
+  }
+
+  /**
+   * Adds a column of {@code double} values with a class, each written with a fixed number of fraction digits.
+   * Values are rounded half away from zero, and always have a decimal point when {@code fractionDigits > 0}.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   * @param  fractionDigits  The number of digits after the decimal point, from zero to fifteen
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns or
+   *                                    {@code fractionDigits} is out of range
+   */
+  public TableArrays column(String clazz, double[] values, int fractionDigits) throws IllegalArgumentException {
+    if (fractionDigits < 0 || fractionDigits > AnyDocument.MAX_FRACTION_DIGITS) {
+      throw new IllegalArgumentException("fractionDigits out of range (0-" + AnyDocument.MAX_FRACTION_DIGITS + "): "
+          + fractionDigits);
+    }
+    return column(clazz, DOUBLE, values, values.length, fractionDigits);
+  }
+
+  /**
+   * Adds a column of text.
+   *
+   * @param  values  The text of each cell, which may be {@code null} for an empty cell
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(CharSequence[] values) throws IllegalArgumentException {
+    return column(null, values);
+  }
+
+  /**
+   * Adds a column of text with a class.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   * @param  values  The text of each cell, which may be {@code null} for an empty cell
+   *
+   * @return  A new set of columns, with the column added
+   *
+   * @throws  IllegalArgumentException  when the length does not match the other columns
+   */
+  public TableArrays column(String clazz, CharSequence[] values) throws IllegalArgumentException {
+    return column(clazz, TEXT, values, values.length, SHORTEST);
+  }
+
+  /**
+   * Gets the number of columns.
+   */
+  public int size() {
+    return kinds.length;
+  }
+
+  /**
+   * Gets the number of rows, which is the length of every column.
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Checks that a row is within the columns.
+   */
+  void checkRow(int row) throws IndexOutOfBoundsException {
+    Objects.checkIndex(row, rowCount);
+  }
+
+  /**
+   * Gets the opening tag of the given column, without the closing {@code '>'}.
+   */
+  String getOpen(int column) {
+    return opens[column];
+  }
+
+  /**
+   * Gets the class of the given column.
+   *
+   * @return  The class or {@code null} when none
+   */
+  String getClazz(int column) {
+    return classes[column];
+  }
+
+  /**
+   * Checks if the given cell is empty.
+   */
+  boolean isEmpty(int column, int row) {
+    return kinds[column] == TEXT && ((CharSequence[]) arrays[column])[row] == null;
+  }
+
+  /**
+   * Writes the value of the given cell, which must not be {@linkplain #isEmpty(int, int) empty}.
+   */
+  void writeValue(AnyDocument<?> document, Writer unsafe, int column, int row) throws IOException {
+    Object array = arrays[column];
+    switch (kinds[column]) {
+      case INT:
+        document.writeInt(unsafe, ((int[]) array)[row]);
+        break;
+      case LONG:
+        document.writeLong(unsafe, ((long[]) array)[row]);
+        break;
+      case DOUBLE:
+        int digits = fractionDigits[column];
+        if (digits == SHORTEST) {
+          document.writeDouble(unsafe, ((double[]) array)[row]);
+        } else {
+          document.writeDouble(unsafe, ((double[]) array)[row], digits);
+        }
+        break;
+      case TEXT:
+        document.text(unsafe, ((CharSequence[]) array)[row]);
+        break;
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  /**
+   * Writes the cells of the given row directly.  Must only be used without
+   * {@linkplain AnyDocument#getAutonli() automatic newlines}.
+   */
+  void writeCells(AnyDocument<?> document, Writer unsafe, int row) throws IOException {
+    for (int column = 0, size = kinds.length; column < size; column++) {
+      unsafe.write(opens[column]);
+      if (isEmpty(column, row)) {
+        unsafe.write("></td>");
+      } else {
+        unsafe.write('>');
+        writeValue(document, unsafe, column, row);
+        unsafe.write("</td>");
+      }
+    }
+  }
+}
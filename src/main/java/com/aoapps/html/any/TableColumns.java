@@ -0,0 +1,162 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute;
+
+import com.aoapps.lang.Strings;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The columns of a table written in bulk by
+ * {@link AnyTBODY#rows(java.lang.Iterable, com.aoapps.html.any.TableColumns)}.  Each column writes one {@code <td>}
+ * per row, with its value written as {@link AnyDocument#text(java.lang.Object)}.  The opening tag of each column,
+ * including any class, is encoded once when the column is added.
+ *
+ * <p>This is immutable and thread-safe, so is typically created once and shared by all renders.</p>
+ *
+ * @param  <R>  The row type
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class TableColumns<R> {
+
+  private static final TableColumns<?> EMPTY = new TableColumns<>(new Function<?, ?>[0], new String[0], new String[0]);
+
+  /**
+   * Gets the empty set of columns, to which columns are added.
+   *
+   * @param  <R>  The row type
+   */
+  @SuppressWarnings("unchecked")
+  public static <R> TableColumns<R> of() {
+    return (TableColumns<R>) EMPTY;
+  }
+
+  /**
+   * The value of each column, each a {@code Function<? super R, ?>}.
+   */
+  private final Function<?, ?>[] values;
+
+  private final String[] classes;
+
+  /**
+   * The opening tag of each column, without the closing {@code '>'}.
+   */
+  private final String[] opens;
+
+  private TableColumns(Function<?, ?>[] values, String[] classes, String[] opens) {
+    this.values = values;
+    this.classes = classes;
+    this.opens = opens;
+  }
+
+  /**
+   * Adds a column.
+   *
+   * @param  value  Gets the value of the cell for a row, which may be {@code null} for an empty cell
+   *
+   * @return  A new set of columns, with the column added
+   */
+  public TableColumns<R> column(Function<? super R, ?> value) {
+    return column(null, value);
+  }
+
+  /**
+   * Adds a column with a class.
+   *
+   * @param  clazz  The class of every cell in the column, or {@code null} for none
+   * @param  value  Gets the value of the cell for a row, which may be {@code null} for an empty cell
+   *
+   * @return  A new set of columns, with the column added
+   */
+  public TableColumns<R> column(String clazz, Function<? super R, ?> value) {
+    Objects.requireNonNull(value);
+    clazz = Strings.trimNullIfEmpty(clazz);
+    String open = open(clazz);
+    int len = values.length;
+    Function<?, ?>[] newValues = Arrays.copyOf(values, len + 1);
+    newValues[len] = value;
+    String[] newClasses = Arrays.copyOf(classes, len + 1);
+    newClasses[len] = clazz;
+    String[] newOpens = Arrays.copyOf(opens, len + 1);
+    newOpens[len] = open;
+    return new TableColumns<>(newValues, newClasses, newOpens);
+  }
+
+  /**
+   * Encodes the opening tag of a column, without the closing {@code '>'}.
+   *
+   * @param  clazz  The trimmed class or {@code null} when none
+   */
+  static String open(String clazz) {
+    if (clazz == null) {
+      return "<td";
+    } else {
+      StringBuilder sb = new StringBuilder("<td class=\"");
+      try {
+        encodeTextInXhtmlAttribute(clazz, sb);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return sb.append('"').toString();
+    }
+  }
+
+  /**
+   * Gets the number of columns.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Gets the value of the given column for a row.
+   */
+  Object getValue(int column, R row) {
+    @SuppressWarnings("unchecked")
+    Function<? super R, ?> value = (Function<? super R, ?>) values[column];
+    return value.apply(row);
+  }
+
+  /**
+   * Gets the opening tag of the given column, without the closing {@code '>'}.
+   */
+  String getOpen(int column) {
+    return opens[column];
+  }
+
+  /**
+   * Gets the class of the given column.
+   *
+   * @return  The class or {@code null} when none
+   */
+  String getClazz(int column) {
+    return classes[column];
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A page, or part of a page, authored with the fluent API and compiled to a skeleton of constant markup with numbered
+ * holes for its dynamic values.  The body is rendered once, in a recording mode, where all of its elements, attributes,
+ * and text are captured as constant markup, while each {@link AnyDocument#hole(int)} is recorded as a hole.
+ * Thereafter, {@link AnyDocument#template(com.aoapps.html.any.Template, java.lang.Object...)} only writes the values
+ * between the constant segments, without walking the elements again.
+ *
+ * <p>The body must render the same markup every time, with everything that varies between renders written through
+ * holes.  Holes may only be used in content, not within attributes, and must not be within
+ * {@link AnyDocument#cached(java.lang.Object, com.aoapps.lang.io.function.IORunnableE)}.  Each value is written as
+ * {@link AnyDocument#text(java.lang.Object)}, so may be a {@link PreEncoded} for markup or an
+ * {@link com.aoapps.lang.io.function.IOSupplierE} that is evaluated only when written.</p>
+ *
+ * <p>A separate skeleton is compiled for each {@link com.aoapps.encoding.Doctype},
+ * {@link com.aoapps.encoding.Serialization}, and whitespace state of the document, so a single template may be shared
+ * by all documents.  This is thread-safe.</p>
+ *
+ * @param  <D>  This document type
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class Template<D extends AnyDocument<D>> {
+
+  private final IOConsumerE<? super D, ? extends RuntimeException> body;
+
+  private final ConcurrentMap<FragmentCache.Key, Fragment> skeletons = new ConcurrentHashMap<>();
+
+  /**
+   * @param  body  Renders the template to the given document, calling {@link AnyDocument#hole(int)} for each dynamic
+   *               value
+   */
+  public Template(IOConsumerE<? super D, ? extends RuntimeException> body) {
+    this.body = Objects.requireNonNull(body);
+  }
+
+  /**
+   * Renders the body directly, when the skeleton is not used.
+   */
+  void render(D document) throws IOException {
+    body.accept(document);
+  }
+
+  /**
+   * Gets the compiled skeleton for the given document state.
+   *
+   * @return  The skeleton or {@code null} when not yet compiled
+   */
+  Fragment get(FragmentCache.Key key) {
+    return skeletons.get(key);
+  }
+
+  /**
+   * Stores the compiled skeleton for the given document state.
+   */
+  void put(FragmentCache.Key key, Fragment skeleton) {
+    skeletons.putIfAbsent(key, skeleton);
+  }
+}
@@ -56,4 +56,12 @@ public abstract class Transparent<
   protected final PC new__() {
     return pc;
   }
+
+  /**
+   * Uses the parent context directly, which changes when recycled.
+   */
+  @Override
+  final PC get__() {
+    return pc;
+  }
 }
@@ -65,14 +65,20 @@ public abstract class TransparentText<
   public PC __(Object text) throws IOException {
     @SuppressWarnings("deprecation")
     Writer unsafe = document.getRawUnsafe(null);
-    if (text != null) {
-      document.autoIndent(unsafe).unsafe(unsafe, '>').incDepth();
-      doBeforeBody(unsafe);
-      document.text(unsafe, text).decDepth();
-      writeClose(unsafe, false);
-    } else {
-      writeClose(unsafe, true);
+    try {
+      if (text != null) {
+        document.autoIndent(unsafe).unsafe(unsafe, '>').incDepth();
+        doBeforeBody(unsafe);
+        document.text(unsafe, text).decDepth();
+        writeClose(unsafe, false);
+      } else {
+        writeClose(unsafe, true);
+      }
+    } catch (Throwable t) {
+      abandoned();
+      throw t;
     }
+    released();
     return pc;
   }
 }
@@ -0,0 +1,410 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes characters directly to UTF-8 bytes, collected in a reusable {@code byte[]} and written to an
+ * {@link OutputStream}, {@link WritableByteChannel}, or {@link ByteBuffer} in large blocks.
+ *
+ * <p>Markup is overwhelmingly ASCII, so each write has a fast path that copies ASCII characters one byte each,
+ * falling back to full encoding only for the characters that need it.  Unpaired surrogates are written as
+ * {@code '?'}, consistent with {@link String#getBytes(java.nio.charset.Charset)}.</p>
+ *
+ * <p>This is not thread-safe, as it is owned by a single document.</p>
+ *
+ * @see  AnyDocument#setOutputStream(java.io.OutputStream)
+ * @see  AnyDocument#setOutputChannel(java.nio.channels.WritableByteChannel)
+ * @see  AnyDocument#setOutputBuffer(java.nio.ByteBuffer)
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Utf8Writer extends Writer {
+
+  /**
+   * The maximum number of bytes written for a single character, or surrogate pair.
+   */
+  private static final int MAX_BYTES_PER_CHAR = 4;
+
+  private static final byte REPLACEMENT = '?';
+
+  private final byte[] buf;
+
+  /**
+   * Wraps {@link #buf} for writing to channels.
+   */
+  private final ByteBuffer wrapped;
+
+  private int count;
+
+  /**
+   * A high surrogate waiting for the low surrogate of its pair, or {@code 0} when none.
+   */
+  private char highSurrogate;
+
+  private OutputStream stream;
+
+  private WritableByteChannel channel;
+
+  private ByteBuffer target;
+
+  /**
+   * Receives a copy of all bytes written to the output, or {@code null} when none.
+   */
+  private OutputDigest digest;
+
+  /**
+   * The number of bytes after which the output is flushed, or {@code 0} to not flush automatically.
+   */
+  private long flushInterval;
+
+  /**
+   * The number of bytes written to the output since it was last flushed.
+   */
+  private long unflushed;
+
+  Utf8Writer(int size) {
+    assert size >= MAX_BYTES_PER_CHAR;
+    this.buf = new byte[size];
+    this.wrapped = ByteBuffer.wrap(buf);
+  }
+
+  /**
+   * Writes to the given stream.  Any buffered output must have already been {@linkplain #drain() drained}.
+   */
+  void setOut(OutputStream stream) {
+    assert count == 0 : "Buffer not drained before changing output";
+    this.stream = stream;
+    this.channel = null;
+    this.target = null;
+    this.highSurrogate = 0;
+    this.unflushed = 0;
+  }
+
+  /**
+   * Writes to the given channel, which is expected to be in blocking mode.
+   * Any buffered output must have already been {@linkplain #drain() drained}.
+   */
+  void setOut(WritableByteChannel channel) {
+    assert count == 0 : "Buffer not drained before changing output";
+    this.stream = null;
+    this.channel = channel;
+    this.target = null;
+    this.highSurrogate = 0;
+    this.unflushed = 0;
+  }
+
+  /**
+   * Writes to the given buffer, throwing {@link java.nio.BufferOverflowException} when it is full.
+   * Any buffered output must have already been {@linkplain #drain() drained}.
+   */
+  void setOut(ByteBuffer target) {
+    assert count == 0 : "Buffer not drained before changing output";
+    this.stream = null;
+    this.channel = null;
+    this.target = target;
+    this.highSurrogate = 0;
+    this.unflushed = 0;
+  }
+
+  /**
+   * Discards all buffered bytes, including any pending high surrogate.
+   */
+  void discard() {
+    count = 0;
+    highSurrogate = 0;
+  }
+
+  /**
+   * Releases the current output, discarding anything not yet drained.
+   */
+  void clear() {
+    count = 0;
+    highSurrogate = 0;
+    digest = null;
+    stream = null;
+    channel = null;
+    target = null;
+  }
+
+  /**
+   * Sets the number of bytes after which the output is flushed, or {@code 0} to not flush automatically.
+   * Only an {@link OutputStream} is flushed, as channels and buffers are not flushable.
+   */
+  void setFlushInterval(long flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  /**
+   * Sets the digest that receives a copy of all bytes written to the output.  Any buffered output must have already
+   * been {@linkplain #drain() drained}.
+   *
+   * @param  digest  The digest or {@code null} for none
+   */
+  void setDigest(OutputDigest digest) {
+    assert count == 0 : "Buffer not drained before changing digest";
+    this.digest = digest;
+  }
+
+  /**
+   * Flushes the output once {@link #flushInterval} bytes have been written to it.
+   */
+  private void written(int len) throws IOException {
+    long interval = flushInterval;
+    if (interval > 0) {
+      long u = unflushed + len;
+      if (u >= interval) {
+        unflushed = 0;
+        if (stream != null) {
+          stream.flush();
+        }
+      } else {
+        unflushed = u;
+      }
+    }
+  }
+
+  /**
+   * Writes all buffered bytes to the output, without flushing the output.
+   */
+  void drain() throws IOException {
+    int c = count;
+    if (c > 0) {
+      // Reset first, so a failing output does not have the same bytes sent to it again
+      count = 0;
+      if (stream != null) {
+        stream.write(buf, 0, c);
+      } else if (channel != null) {
+        ByteBuffer bb = wrapped;
+        bb.clear().limit(c);
+        do {
+          channel.write(bb);
+        } while (bb.hasRemaining());
+      } else {
+        target.put(buf, 0, c);
+      }
+      if (digest != null) {
+        digest.update(buf, 0, c);
+      }
+      written(c);
+    }
+  }
+
+  /**
+   * Encodes a single character, which must fit in the buffer.
+   */
+  private void encode(char c) {
+    byte[] b = buf;
+    int pos = count;
+    char high = highSurrogate;
+    if (high != 0) {
+      highSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        b[pos++] = (byte) (0xF0 | (codePoint >> 18));
+        b[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        b[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        b[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+        count = pos;
+        return;
+      }
+      // Unpaired high surrogate
+      b[pos++] = REPLACEMENT;
+    }
+    if (c < 0x80) {
+      b[pos++] = (byte) c;
+    } else if (c < 0x800) {
+      b[pos++] = (byte) (0xC0 | (c >> 6));
+      b[pos++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c)) {
+      highSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      // Unpaired low surrogate
+      b[pos++] = REPLACEMENT;
+    } else {
+      b[pos++] = (byte) (0xE0 | (c >> 12));
+      b[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      b[pos++] = (byte) (0x80 | (c & 0x3F));
+    }
+    count = pos;
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (count > buf.length - MAX_BYTES_PER_CHAR) {
+      drain();
+    }
+    encode((char) c);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    byte[] b = buf;
+    int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (count > b.length - MAX_BYTES_PER_CHAR) {
+        drain();
+      }
+      // ASCII fast path, limited to remaining space
+      if (highSurrogate == 0) {
+        int pos = count;
+        int stop = Math.min(end, i + (b.length - pos));
+        char c;
+        while (i < stop && (c = cbuf[i]) < 0x80) {
+          b[pos++] = (byte) c;
+          i++;
+        }
+        count = pos;
+        if (i == end || count > b.length - MAX_BYTES_PER_CHAR) {
+          continue;
+        }
+      }
+      encode(cbuf[i++]);
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    append(str, off, off + len);
+  }
+
+  @Override
+  public Utf8Writer append(CharSequence csq) throws IOException {
+    if (csq == null) {
+      append("null", 0, 4);
+    } else {
+      append(csq, 0, csq.length());
+    }
+    return this;
+  }
+
+  @Override
+  public Utf8Writer append(CharSequence csq, int start, int end) throws IOException {
+    if (csq == null) {
+      csq = "null";
+    }
+    byte[] b = buf;
+    int i = start;
+    while (i < end) {
+      if (count > b.length - MAX_BYTES_PER_CHAR) {
+        drain();
+      }
+      // ASCII fast path, limited to remaining space
+      if (highSurrogate == 0) {
+        int pos = count;
+        int stop = Math.min(end, i + (b.length - pos));
+        char c;
+        while (i < stop && (c = csq.charAt(i)) < 0x80) {
+          b[pos++] = (byte) c;
+          i++;
+        }
+        count = pos;
+        if (i == end || count > b.length - MAX_BYTES_PER_CHAR) {
+          continue;
+        }
+      }
+      encode(csq.charAt(i++));
+    }
+    return this;
+  }
+
+  @Override
+  public Utf8Writer append(char c) throws IOException {
+    write(c);
+    return this;
+  }
+
+  /**
+   * Writes bytes that are already encoded in UTF-8, such as the cached form of {@link PreEncoded}.
+   * Any pending high surrogate is unpaired and written as {@code '?'} first.
+   */
+  void writeUtf8(byte[] bytes, int off, int len) throws IOException {
+    if (highSurrogate != 0) {
+      highSurrogate = 0;
+      if (count == buf.length) {
+        drain();
+      }
+      buf[count++] = REPLACEMENT;
+    }
+    byte[] b = buf;
+    if (len > b.length - count) {
+      drain();
+      if (len > b.length) {
+        // Too large to buffer, write directly
+        if (stream != null) {
+          stream.write(bytes, off, len);
+        } else if (channel != null) {
+          ByteBuffer bb = ByteBuffer.wrap(bytes, off, len);
+          do {
+            channel.write(bb);
+          } while (bb.hasRemaining());
+        } else {
+          target.put(bytes, off, len);
+        }
+        if (digest != null) {
+          digest.update(bytes, off, len);
+        }
+        written(len);
+        return;
+      }
+    }
+    System.arraycopy(bytes, off, b, count, len);
+    count += len;
+  }
+
+  /**
+   * Drains the buffer then flushes the output, when it is an {@link OutputStream}.
+   */
+  @Override
+  public void flush() throws IOException {
+    drain();
+    unflushed = 0;
+    if (stream != null) {
+      stream.flush();
+    }
+  }
+
+  /**
+   * Drains the buffer then closes the output, when it is an {@link OutputStream} or {@link WritableByteChannel}.
+   */
+  @Override
+  public void close() throws IOException {
+    if (highSurrogate != 0) {
+      highSurrogate = 0;
+      write(REPLACEMENT);
+    }
+    drain();
+    if (stream != null) {
+      stream.close();
+    } else if (channel != null) {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+/**
+ * The level of attribute validation performed by a document.  Validation catches incorrect use of the API during
+ * development, such as an attribute not supported by the current doctype.  Once the code rendering a page is proven,
+ * validation may be reduced to avoid its cost on every attribute.
+ *
+ * <p>Only advisory checks against the specifications are affected, such as supported doctypes and enumerated values,
+ * since attribute values are always encoded.  Checks that protect the markup itself are always performed.  For
+ * example, {@code data-*} and arbitrary attribute names are written without encoding, so are always validated.</p>
+ *
+ * @see  AnyDocument#setValidationLevel(com.aoapps.html.any.ValidationLevel)
+ *
+ * @author  AO Industries, Inc.
+ */
+public enum ValidationLevel {
+
+  /**
+   * Validates all attributes of every document.  This is the default.
+   */
+  FULL,
+
+  /**
+   * Validates all attributes of one in every {@linkplain AnyDocument#getValidationSampleRate() sample rate}
+   * documents, selected at random.  The remaining documents are not validated.
+   */
+  SAMPLED,
+
+  /**
+   * Does not validate attributes.  Invalid attributes are written as given.
+   */
+  OFF
+}
@@ -47,6 +47,16 @@ public abstract class Void<
     super(document, pc);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @return  {@code true} by default
+   */
+  @Override
+  protected boolean isRecyclable() {
+    return true;
+  }
+
   /**
    * Closes this element.
    *
@@ -55,7 +65,21 @@ public abstract class Void<
   @SuppressWarnings("deprecation")
   public PC __() throws IOException {
     Writer unsafe = document.getRawUnsafe(null);
-    Serialization serialization = document.encodingContext.getSerialization();
+    if (document.isRecording()) {
+      document.serialized(serialization -> selfClose(document.getRawUnsafe(null), serialization));
+    } else {
+      selfClose(unsafe, document.encodingContext.getSerialization());
+    }
+    assert !document.getAtnl();
+    doAfterElement(unsafe);
+    released();
+    return pc;
+  }
+
+  /**
+   * Ends attributes and closes this element for the given serialization.
+   */
+  private void selfClose(Writer unsafe, Serialization serialization) throws IOException {
     if (document.getAtnl()) {
       document.autoIndent(unsafe);
       if (serialization == Serialization.SGML) {
@@ -68,9 +92,6 @@ public abstract class Void<
     } else {
       serialization.selfClose(unsafe);
     }
-    assert !document.getAtnl();
-    doAfterElement(unsafe);
-    return pc;
   }
 
   /**
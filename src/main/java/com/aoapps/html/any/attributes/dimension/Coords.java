@@ -120,6 +120,25 @@ public interface Coords<E extends Element<?, ?, E> & Coords<E>> {
     );
   }
 
+  /**
+   * <ul>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Element/area#attr-coords">&lt;area&gt; - HTML: Hypertext Markup Language</a>.</li>
+   * <li>See <a href="https://www.w3schools.com/tags/att_coords.asp">HTML coords Attribute</a>.</li>
+   * </ul>
+   *
+   * @throws  IllegalArgumentException  when any value is NaN or infinite
+   *
+   * @since HTML 5
+   */
+  default E coords(double left, double top, double right, double bottom) throws IOException, IllegalArgumentException {
+    return coords(
+        Attributes.Double.format("coords", left)
+            + ',' + Attributes.Double.format("coords", top)
+            + ',' + Attributes.Double.format("coords", right)
+            + ',' + Attributes.Double.format("coords", bottom)
+    );
+  }
+
   /**
    * <ul>
    * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Element/area#attr-coords">&lt;area&gt; - HTML: Hypertext Markup Language</a>.</li>
@@ -202,6 +221,24 @@ public interface Coords<E extends Element<?, ?, E> & Coords<E>> {
     );
   }
 
+  /**
+   * <ul>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Element/area#attr-coords">&lt;area&gt; - HTML: Hypertext Markup Language</a>.</li>
+   * <li>See <a href="https://www.w3schools.com/tags/att_coords.asp">HTML coords Attribute</a>.</li>
+   * </ul>
+   *
+   * @throws  IllegalArgumentException  when any value is NaN or infinite
+   *
+   * @since HTML 5
+   */
+  default E coords(double x, double y, double radius) throws IOException, IllegalArgumentException {
+    return coords(
+        Attributes.Double.format("coords", x)
+            + ',' + Attributes.Double.format("coords", y)
+            + ',' + Attributes.Double.format("coords", radius)
+    );
+  }
+
   /**
    * <ul>
    * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Element/area#attr-coords">&lt;area&gt; - HTML: Hypertext Markup Language</a>.</li>
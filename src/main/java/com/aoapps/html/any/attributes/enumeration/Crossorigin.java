@@ -103,9 +103,12 @@ public interface Crossorigin<E extends Element<?, ?, E> & Crossorigin<E>> {
    * @see Crossorigin#crossorigin(java.lang.String)
    */
   default E crossorigin(Value crossorigin) throws IOException {
+    if (crossorigin == null) {
+      return crossorigin((String) null);
+    }
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    return crossorigin((crossorigin == null) ? null : crossorigin.apply(element.getDocument()));
+    return Attributes.serialized(element, crossorigin::getValue, value -> crossorigin(value));
   }
 
   /**
@@ -152,7 +155,10 @@ public interface Crossorigin<E extends Element<?, ?, E> & Crossorigin<E>> {
 
     @Override
     public String apply(AnyDocument<?> document) {
-      Serialization serialization = document.encodingContext.getSerialization();
+      return getValue(document.encodingContext.getSerialization());
+    }
+
+    private String getValue(Serialization serialization) {
       if (serialization == Serialization.SGML) {
         return sgml;
       } else {
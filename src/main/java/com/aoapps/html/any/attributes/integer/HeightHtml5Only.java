@@ -52,8 +52,8 @@ public interface HeightHtml5Only<E extends Element<?, ?, E> & HeightHtml5Only<E>
   default E height(int pixels) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    return Attributes.Integer.attribute(element, "height", pixels,
-        value -> Attributes.validateInHtml5(element, "height"));
+    Attributes.validateInHtml5IfValidating(element, "height");
+    return Attributes.Integer.attribute(element, "height", pixels);
   }
 
   /**
@@ -48,8 +48,8 @@ public interface Minlength<E extends Element<?, ?, E> & Minlength<E>> {
   default E minlength(int minlength) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    return Attributes.Integer.attribute(element, "minlength", minlength,
-        value -> Attributes.validateInHtml5(element, "minlength"));
+    Attributes.validateInHtml5IfValidating(element, "minlength");
+    return Attributes.Integer.attribute(element, "minlength", minlength);
   }
 
   /**
@@ -67,8 +67,8 @@ public interface Tabindex<E extends Element<?, ?, E> & Tabindex<E>> {
   default E tabindex(int tabindex) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    return Attributes.Integer.attribute(element, "tabindex", tabindex,
-        value -> Attributes.validateInHtml5(element, "tabindex"));
+    Attributes.validateInHtml5IfValidating(element, "tabindex");
+    return Attributes.Integer.attribute(element, "tabindex", tabindex);
   }
 
   /**
@@ -54,8 +54,8 @@ public interface WidthHtml5Only<E extends Element<?, ?, E> & WidthHtml5Only<E>>
   default E width(int pixels) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    return Attributes.Integer.attribute(element, "width", pixels,
-        value -> Attributes.validateInHtml5(element, "width"));
+    Attributes.validateInHtml5IfValidating(element, "width");
+    return Attributes.Integer.attribute(element, "width", pixels);
   }
 
   /**
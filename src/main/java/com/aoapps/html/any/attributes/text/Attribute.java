@@ -24,6 +24,8 @@
 package com.aoapps.html.any.attributes.text;
 
 import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.textInXhtmlAttributeEncoder;
+import static com.aoapps.html.any.Attributes.RESOURCES;
+import static com.aoapps.html.any.Attributes.validate;
 
 import com.aoapps.encoding.TextWritable;
 import com.aoapps.hodgepodge.i18n.MarkupType;
@@ -31,6 +33,10 @@ import com.aoapps.html.any.Attributes;
 import com.aoapps.html.any.Element;
 import com.aoapps.lang.function.FunctionE;
 import com.aoapps.lang.io.function.IOSupplierE;
+import com.aoapps.lang.validation.InvalidResult;
+import com.aoapps.lang.validation.ValidResult;
+import com.aoapps.lang.validation.ValidationResult;
+import com.aoapps.lang.xml.XmlUtils;
 import java.io.IOException;
 
 /**
@@ -42,6 +48,34 @@ import java.io.IOException;
  */
 public interface Attribute<E extends Element<?, ?, E> & Attribute<E>> {
 
+  /**
+   * Utility class for working with {@link Attribute}.
+   */
+  public static final class attribute {
+
+    /** Make no instances. */
+    private attribute() {
+      throw new AssertionError();
+    }
+
+    /**
+     * Validates an arbitrary attribute name, which must follow the production rule of XML names.
+     *
+     * <ul>
+     * <li>See <a href="https://www.w3.org/TR/REC-xml/#NT-Name">Name - Extensible Markup Language (XML) 1.0</a>.</li>
+     * </ul>
+     */
+    public static ValidationResult validate(String name) {
+      if (name == null) {
+        return new InvalidResult(RESOURCES, "Text.Attribute.attribute.validate.isNull");
+      }
+      if (!XmlUtils.isValidName(name)) {
+        return new InvalidResult(RESOURCES, "Text.Attribute.attribute.validate.invalidName", name);
+      }
+      return ValidResult.getInstance();
+    }
+  }
+
   /**
    * An arbitrary attribute.
    *
@@ -54,7 +88,8 @@ public interface Attribute<E extends Element<?, ?, E> & Attribute<E>> {
   default E attribute(String name, Object value) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
-    // TODO: Validate attribute name by doctype: https://dev.w3.org/html5/html-author/#attributes (XmlUtils could help)
+    // Always validated, even when the document is not, since the name is written without encoding
+    validate(name, attribute::validate);
     return Attributes.Text.attribute(element, name, MarkupType.NONE, value, FunctionE.identity(),
         textInXhtmlAttributeEncoder);
   }
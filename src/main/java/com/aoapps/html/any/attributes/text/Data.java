@@ -95,6 +95,21 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
       if (attrName == null) {
         return new InvalidResult(RESOURCES, "Text.Data.data.validate.isNull");
       }
+      if (DataNames.getByAttrName(attrName) != null) {
+        // Previously validated
+        return ValidResult.getInstance();
+      }
+      ValidationResult result = validateNoCache(attrName);
+      if (result.isValid()) {
+        DataNames.add(attrName, toJsNameNoAssert(attrName));
+      }
+      return result;
+    }
+
+    /**
+     * Implementation of {@link data#validate(java.lang.String)} without the cache of valid names.
+     */
+    private static ValidationResult validateNoCache(String attrName) {
       if (!attrName.startsWith(ATTRIBUTE_PREFIX)) {
         return new InvalidResult(
             RESOURCES,
@@ -153,6 +168,10 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
      * @see  data#validate(java.lang.String)
      */
     public static String toJsName(String attrName) {
+      DataNames.Name name = DataNames.getByAttrName(attrName);
+      if (name != null) {
+        return name.jsName;
+      }
       String jsName = toJsNameNoAssert(attrName);
       assert attrName.equals(dataset.toAttrNameNoAssert(jsName)) : "toJsName and toAttrName are inverse functions";
       return jsName;
@@ -211,6 +230,7 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
   default E data(String attrName, Object value) throws IOException {
     @SuppressWarnings("unchecked")
     E element = (E) this;
+    // Always validated, even when the document is not, since the name is written without encoding
     validate(attrName, data::validate);
     return Attributes.Text.attribute(
         element,
@@ -294,6 +314,10 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
       if (jsName == null) {
         return new InvalidResult(RESOURCES, "Text.Data.dataset.validate.isNull");
       }
+      if (DataNames.getByJsName(jsName) != null) {
+        // Previously validated
+        return ValidResult.getInstance();
+      }
       // 1. Restriction: Before the transformation, a dash must not be immediately followed by
       //    an ASCII lowercase letter a to z
       int len = jsName.length();
@@ -318,7 +342,12 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
         }
       }
       // Must also convert into a valid data-* HTML attribute name
-      return data.validate(toAttrName(jsName));
+      String attrName = toAttrName(jsName);
+      ValidationResult result = data.validateNoCache(attrName);
+      if (result.isValid()) {
+        DataNames.add(attrName, jsName);
+      }
+      return result;
     }
 
     /**
@@ -334,6 +363,10 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
      * @see  dataset#validate(java.lang.String)
      */
     public static String toAttrName(String jsName) {
+      DataNames.Name name = DataNames.getByJsName(jsName);
+      if (name != null) {
+        return name.attrName;
+      }
       String attrName = toAttrNameNoAssert(jsName);
       assert jsName.equals(data.toJsNameNoAssert(attrName)) : "toAttrName and toJsName are inverse functions";
       return attrName;
@@ -358,7 +391,7 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
       attrName.append(data.ATTRIBUTE_PREFIX);
       int pos = 0;
       while (pos < len) {
-        char ch = attrName.charAt(pos++);
+        char ch = jsName.charAt(pos++);
         if (ch >= 'A' && ch <= 'Z') {
           // 3. Any ASCII uppercase letter A to Z is transformed into a dash,
           //    followed by its lowercase counterpart
@@ -386,6 +419,8 @@ public interface Data<E extends Element<?, ?, E> & Data<E>> {
    * @since HTML 5
    */
   default E dataset(String jsName, Object value) throws IOException {
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
     return data(
         dataset.toAttrName(
             validate(jsName, dataset::validate)
@@ -0,0 +1,100 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any.attributes.text;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded cache of valid data-* HTML attribute names along with their JavaScript dataset property names.
+ * Components typically use a small, fixed set of names, so this avoids validating and converting the same names on
+ * every use.
+ *
+ * <p>Only names that have passed validation are added.  Once {@link #MAX_SIZE} names are cached, additional names are
+ * validated and converted on every use, as before.  This is thread-safe.</p>
+ *
+ * @see  Data.data
+ * @see  Data.dataset
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DataNames {
+
+  /** Make no instances. */
+  private DataNames() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The maximum number of names cached.
+   */
+  static final int MAX_SIZE = 1000;
+
+  /**
+   * A valid name, in both forms.
+   */
+  static final class Name {
+
+    final String attrName;
+    final String jsName;
+
+    private Name(String attrName, String jsName) {
+      this.attrName = attrName;
+      this.jsName = jsName;
+    }
+  }
+
+  private static final ConcurrentMap<String, Name> byAttrName = new ConcurrentHashMap<>();
+
+  private static final ConcurrentMap<String, Name> byJsName = new ConcurrentHashMap<>();
+
+  /**
+   * Gets a cached name by its data-* HTML attribute name.
+   *
+   * @return  The name or {@code null} when not cached
+   */
+  static Name getByAttrName(String attrName) {
+    return byAttrName.get(attrName);
+  }
+
+  /**
+   * Gets a cached name by its JavaScript dataset property name.
+   *
+   * @return  The name or {@code null} when not cached
+   */
+  static Name getByJsName(String jsName) {
+    return byJsName.get(jsName);
+  }
+
+  /**
+   * Adds a valid name, when there is room.
+   */
+  static void add(String attrName, String jsName) {
+    if (byAttrName.size() < MAX_SIZE) {
+      Name name = new Name(attrName, jsName);
+      byAttrName.putIfAbsent(attrName, name);
+      byJsName.putIfAbsent(jsName, name);
+    }
+  }
+}
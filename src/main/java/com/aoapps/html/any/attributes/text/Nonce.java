@@ -0,0 +1,119 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any.attributes.text;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.textInXhtmlAttributeEncoder;
+
+import com.aoapps.encoding.TextWritable;
+import com.aoapps.hodgepodge.i18n.MarkupType;
+import com.aoapps.html.any.Attributes;
+import com.aoapps.html.any.Element;
+import com.aoapps.lang.Coercion;
+import com.aoapps.lang.io.function.IOSupplierE;
+import java.io.IOException;
+
+/**
+ * <ul>
+ * <li>See <a href="https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce">2.5.6 Nonce attributes</a>.</li>
+ * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce">Global attributes / nonce</a>.</li>
+ * </ul>
+ * <blockquote>
+ * The nonce global attribute is a content attribute defining a cryptographic nonce ("number used once") which can be
+ * used by Content Security Policy to determine whether or not a given fetch will be allowed to proceed for a given element.
+ * </blockquote>
+ *
+ * @param  <E>   This element type
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface Nonce<E extends Element<?, ?, E> & Nonce<E>> {
+
+  /**
+   * Utility class for working with {@link Nonce}.
+   *
+   * <ul>
+   * <li>See <a href="https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce">2.5.6 Nonce attributes</a>.</li>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce">Global attributes / nonce</a>.</li>
+   * </ul>
+   */
+  public static final class nonce {
+    /** Make no instances. */
+    private nonce() {
+      throw new AssertionError();
+    }
+
+    /**
+     * Normalizes a nonce attribute.
+     *
+     * @see  Coercion#trimNullIfEmpty(java.lang.Object)
+     */
+    public static Object normalize(Object nonce) {
+      return Coercion.trimNullIfEmpty(nonce);
+    }
+  }
+
+  /**
+   * <ul>
+   * <li>See <a href="https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce">2.5.6 Nonce attributes</a>.</li>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce">Global attributes / nonce</a>.</li>
+   * </ul>
+   * <blockquote>
+   * The nonce global attribute is a content attribute defining a cryptographic nonce ("number used once") which can be
+   * used by Content Security Policy to determine whether or not a given fetch will be allowed to proceed for a given element.
+   * </blockquote>
+   */
+  @Attributes.Funnel
+  default E nonce(Object nonce) throws IOException {
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
+    return Attributes.Text.attribute(element, "nonce", MarkupType.NONE, nonce, Nonce.nonce::normalize, textInXhtmlAttributeEncoder);
+  }
+
+  /**
+   * <ul>
+   * <li>See <a href="https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce">2.5.6 Nonce attributes</a>.</li>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce">Global attributes / nonce</a>.</li>
+   * </ul>
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @see Nonce#nonce(java.lang.Object)
+   */
+  default <Ex extends Throwable> E nonce(IOSupplierE<?, Ex> nonce) throws IOException, Ex {
+    return nonce((nonce == null) ? null : nonce.get());
+  }
+
+  /**
+   * <ul>
+   * <li>See <a href="https://html.spec.whatwg.org/multipage/urls-and-fetching.html#attr-nonce">2.5.6 Nonce attributes</a>.</li>
+   * <li>See <a href="https://developer.mozilla.org/en-US/docs/Web/HTML/Global_attributes/nonce">Global attributes / nonce</a>.</li>
+   * </ul>
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @see Nonce#nonce(java.lang.Object)
+   */
+  default <Ex extends Throwable> E nonce(TextWritable<Ex> nonce) throws IOException, Ex {
+    return nonce((Object) nonce);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.textInXhtmlAttributeEncoder;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.hodgepodge.i18n.MarkupType;
+import com.aoapps.lang.validation.ValidResult;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Attributes
+ *
+ * @author  AO Industries, Inc.
+ */
+public class AttributesTest {
+
+  private final StringWriter out = new StringWriter();
+
+  private final TestElement element = new TestElement(TestDocument.create(EncodingContext.XML, out));
+
+  @Test
+  public void testDouble() throws IOException {
+    element.open();
+    Attributes.Double.attribute(element, "a", 0.0);
+    Attributes.Double.attribute(element, "b", -3.0);
+    Attributes.Double.attribute(element, "c", 1.5);
+    Attributes.Double.attribute(element, "d", 1.0, -2.25, 3.0);
+    Attributes.Double.attribute(element, "e", 0.5, 1.0, 2.0, -4.0);
+    Assert.assertEquals("<test a=\"0\" b=\"-3\" c=\"1.5\" d=\"1,-2.25,3\" e=\"0.5,1,2,-4\"", out.toString());
+  }
+
+  @Test
+  public void testDoubleRejectsNonFinite() throws IOException {
+    element.open();
+    for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+      try {
+        Attributes.Double.attribute(element, "a", value);
+        Assert.fail("IllegalArgumentException expected: " + value);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+      try {
+        Attributes.Double.attribute(element, "a", 1, 2, value);
+        Assert.fail("IllegalArgumentException expected: " + value);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+      try {
+        Attributes.Double.attribute(element, "a", 1, value, 3, 4);
+        Assert.fail("IllegalArgumentException expected: " + value);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+    // Nothing written for any of the rejected values
+    Assert.assertEquals("<test", out.toString());
+  }
+
+  @Test
+  public void testPreEncodedAttribute() throws IOException {
+    element.open()
+        .title(PreEncoded.xhtmlAttribute(" a &lt; b "))
+        .title(PreEncoded.xhtmlAttribute(""));
+    Attributes.Text.attribute(element, "alt", MarkupType.NONE, PreEncoded.xhtmlAttribute(""), value -> value,
+        textInXhtmlAttributeEncoder);
+    // Written as-is, without trimming, and empty only when the normalizer keeps an empty string
+    Assert.assertEquals("<test title=\" a &lt; b \" alt=\"\"", out.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPreEncodedTextAttribute() throws IOException {
+    element.open().title(PreEncoded.xhtml("a &lt; b"));
+  }
+
+  /**
+   * A value encoded for XHTML attributes would be encoded a second time by any other encoder.
+   */
+  @Test
+  public void testPreEncodedMismatchedEncoder() throws IOException {
+    element.open();
+    try {
+      element.onclick(PreEncoded.xhtmlAttribute("alert(&quot;a&quot;)"));
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    Assert.assertEquals("<test", out.toString());
+  }
+
+  @Test
+  public void testPreEncodedValidatedAsString() throws IOException {
+    List<Object> validated = new ArrayList<>();
+    element.open();
+    Attributes.Text.attribute(element, "alt", MarkupType.NONE, PreEncoded.xhtmlAttribute("a &amp; b"), value -> value,
+        value -> {
+          validated.add(value);
+          return ValidResult.getInstance();
+        },
+        textInXhtmlAttributeEncoder);
+    Assert.assertEquals(List.of("a &amp; b"), validated);
+    Assert.assertEquals("<test alt=\"a &amp; b\"", out.toString());
+  }
+}
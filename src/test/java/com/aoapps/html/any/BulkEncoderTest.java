@@ -0,0 +1,273 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.encoding.TextInXhtmlAttributeEncoder;
+import com.aoapps.encoding.TextInXhtmlEncoder;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares {@link BulkEncoder} with the per-character encoders it is in front of.
+ *
+ * @see  BulkEncoder
+ *
+ * @author  AO Industries, Inc.
+ */
+public class BulkEncoderTest {
+
+  /**
+   * The pieces of test strings: clean characters, markup characters, control characters, non-ASCII characters,
+   * surrogate pairs, and lone surrogates.
+   */
+  private static final String[] PIECES = {
+      "a",
+      "<",
+      ">",
+      "&",
+      "\"",
+      "'",
+      "\t",
+      "\n",
+      "\r",
+      "\u0000",
+      "\u0001",
+      "\u001F",
+      "\u007F",
+      "\u0080",
+      "\u00E9",
+      "\uFFFE",
+      "\uD83D\uDE00",
+      "\uD83D",
+      "\uDE00"
+  };
+
+  /**
+   * The clean runs around each test string, with lengths zero, one, and longer.
+   */
+  private static final String[] PADDING = {"", " ", "xyz"};
+
+  /**
+   * All strings of up to two pieces surrounded by all combinations of padding, and all strings of three pieces.
+   */
+  private static List<String> strings() {
+    List<String> strings = new ArrayList<>();
+    List<String> middles = new ArrayList<>();
+    middles.add("");
+    for (String p1 : PIECES) {
+      middles.add(p1);
+      for (String p2 : PIECES) {
+        middles.add(p1 + p2);
+        for (String p3 : PIECES) {
+          strings.add(p1 + p2 + p3);
+        }
+      }
+    }
+    for (String before : PADDING) {
+      for (String after : PADDING) {
+        for (String middle : middles) {
+          strings.add(before + middle + after);
+        }
+      }
+    }
+    return strings;
+  }
+
+  @FunctionalInterface
+  private static interface Encode {
+    void encode(StringWriter out) throws IOException;
+  }
+
+  /**
+   * Gets the output, or the exception type and message when fails.
+   */
+  private static String result(Encode encode) {
+    StringWriter out = new StringWriter();
+    try {
+      encode.encode(out);
+      return out.toString();
+    } catch (IOException | RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+
+  private static void assertSame(String str, Encode expected, Encode actual) {
+    Assert.assertEquals(str, result(expected), result(actual));
+  }
+
+  @Test
+  public void testChar() {
+    for (char ch = 0; ch < 0x100; ch++) {
+      char c = ch;
+      assertSame(
+          Character.toString(c),
+          out -> TextInXhtmlEncoder.encodeTextInXhtml(c, out),
+          out -> BulkEncoder.encodeTextInXhtml(c, out)
+      );
+    }
+    for (String str : PIECES) {
+      char c = str.charAt(0);
+      assertSame(
+          str,
+          out -> TextInXhtmlEncoder.encodeTextInXhtml(c, out),
+          out -> BulkEncoder.encodeTextInXhtml(c, out)
+      );
+    }
+  }
+
+  @Test
+  public void testCharSequence() {
+    for (String str : strings()) {
+      assertSame(
+          str,
+          out -> TextInXhtmlEncoder.encodeTextInXhtml(str, out),
+          out -> BulkEncoder.encodeTextInXhtml(str, out)
+      );
+      StringBuilder sb = new StringBuilder(str);
+      assertSame(
+          str,
+          out -> TextInXhtmlEncoder.encodeTextInXhtml(sb, out),
+          out -> BulkEncoder.encodeTextInXhtml(sb, out)
+      );
+    }
+  }
+
+  @Test
+  public void testCharSequenceRange() {
+    for (String str : strings()) {
+      int len = str.length();
+      for (int start = 0; start <= Math.min(len, 2); start++) {
+        int s = start;
+        for (int end = Math.max(start, len - 2); end <= len; end++) {
+          int e = end;
+          assertSame(
+              str + " [" + s + ", " + e + ')',
+              out -> TextInXhtmlEncoder.encodeTextInXhtml(str, s, e, out),
+              out -> BulkEncoder.encodeTextInXhtml(str, s, e, out)
+          );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCharArray() {
+    for (String str : strings()) {
+      char[] cbuf = str.toCharArray();
+      assertSame(
+          str,
+          out -> TextInXhtmlEncoder.encodeTextInXhtml(cbuf, out),
+          out -> BulkEncoder.encodeTextInXhtml(cbuf, out)
+      );
+      int len = cbuf.length;
+      for (int offset = 0; offset <= Math.min(len, 2); offset++) {
+        int o = offset;
+        for (int end = Math.max(offset, len - 2); end <= len; end++) {
+          int l = end - offset;
+          assertSame(
+              str + " [" + o + ", " + l + ']',
+              out -> TextInXhtmlEncoder.encodeTextInXhtml(cbuf, o, l, out),
+              out -> BulkEncoder.encodeTextInXhtml(cbuf, o, l, out)
+          );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testAttribute() {
+    for (String str : strings()) {
+      assertSame(
+          str,
+          out -> TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute(str, out),
+          out -> BulkEncoder.encodeTextInXhtmlAttribute(str, out)
+      );
+      int len = str.length();
+      for (int start = 0; start <= Math.min(len, 2); start++) {
+        int s = start;
+        for (int end = Math.max(start, len - 2); end <= len; end++) {
+          int e = end;
+          assertSame(
+              str + " [" + s + ", " + e + ')',
+              out -> TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute(str, s, e, out),
+              out -> BulkEncoder.encodeTextInXhtmlAttribute(str, s, e, out)
+          );
+        }
+      }
+    }
+  }
+
+  /**
+   * The encoders do not depend on the doctype or serialization, so the document output must match the encoders for
+   * all of them.
+   */
+  @Test
+  public void testDocument() {
+    for (Doctype doctype : Doctype.values()) {
+      for (Serialization serialization : Serialization.values()) {
+        EncodingContext context = new EncodingContext() {
+          @Override
+          public Doctype getDoctype() {
+            return doctype;
+          }
+
+          @Override
+          public Serialization getSerialization() {
+            return serialization;
+          }
+        };
+        for (String piece : PIECES) {
+          String str = "xyz" + piece + "xyz";
+          String label = doctype + ", " + serialization + ": " + str;
+          assertSame(
+              label,
+              out -> TextInXhtmlEncoder.encodeTextInXhtml(str, out),
+              out -> TestDocument.create(context, out).text(str)
+          );
+          assertSame(
+              label,
+              out -> TextInXhtmlEncoder.encodeTextInXhtml(str.toCharArray(), out),
+              out -> TestDocument.create(context, out).text(str.toCharArray())
+          );
+          assertSame(
+              label,
+              out -> {
+                out.write("<test title=\"");
+                TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute(str, out);
+                out.write('"');
+              },
+              out -> new TestElement(TestDocument.create(context, out)).open().title(str)
+          );
+        }
+      }
+    }
+  }
+}
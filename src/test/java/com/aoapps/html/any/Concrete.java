@@ -0,0 +1,122 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import org.apache.bcel.Const;
+import org.apache.bcel.generic.ClassGen;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.MethodGen;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.Type;
+
+/**
+ * Generates concrete subclasses of abstract test classes.
+ *
+ * <p>Documents and content models declare an abstract factory for every element they may contain, which are
+ * implemented by concrete documents elsewhere.  Rather than implement each in the tests, a concrete subclass is
+ * generated with only a constructor.  Calling any factory not implemented by the test class throws
+ * {@link AbstractMethodError}.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Concrete {
+
+  /** Make no instances. */
+  private Concrete() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Generates a concrete subclass of the given class in this package, with a single constructor that calls the
+   * superclass constructor with the same parameters.
+   *
+   * @param  parameterTypes  The parameter types of the superclass constructor, which must all be reference types
+   */
+  static <T> Constructor<? extends T> subclass(Class<T> type, Class<?>... parameterTypes) {
+    String className = type.getName() + "$Concrete";
+    ClassGen cg = new ClassGen(
+        className,
+        type.getName(),
+        "<generated>",
+        Const.ACC_FINAL | Const.ACC_SUPER,
+        null
+    );
+    cg.setMajor(Const.MAJOR_1_8);
+    cg.setMinor(Const.MINOR_1_8);
+    Type[] argTypes = Arrays.stream(parameterTypes).map(c -> new ObjectType(c.getName())).toArray(Type[]::new);
+    String[] argNames = new String[parameterTypes.length];
+    InstructionList il = new InstructionList();
+    il.append(InstructionFactory.createLoad(Type.OBJECT, 0));
+    for (int i = 0; i < parameterTypes.length; i++) {
+      argNames[i] = "arg" + i;
+      il.append(InstructionFactory.createLoad(Type.OBJECT, i + 1));
+    }
+    il.append(new InstructionFactory(cg).createInvoke(
+        type.getName(),
+        Const.CONSTRUCTOR_NAME,
+        Type.VOID,
+        argTypes,
+        Const.INVOKESPECIAL
+    ));
+    il.append(InstructionFactory.createReturn(Type.VOID));
+    MethodGen constructor = new MethodGen(
+        0,
+        Type.VOID,
+        argTypes,
+        argNames,
+        Const.CONSTRUCTOR_NAME,
+        className,
+        il,
+        cg.getConstantPool()
+    );
+    constructor.setMaxStack();
+    constructor.setMaxLocals();
+    cg.addMethod(constructor.getMethod());
+    try {
+      Class<? extends T> concrete = MethodHandles.lookup()
+          .defineClass(cg.getJavaClass().getBytes())
+          .asSubclass(type);
+      return concrete.getDeclaredConstructor(parameterTypes);
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Creates a new instance with the given constructor.
+   */
+  static <T> T newInstance(Constructor<? extends T> constructor, Object... args) {
+    try {
+      return constructor.newInstance(args);
+    } catch (InvocationTargetException e) {
+      throw new AssertionError(e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
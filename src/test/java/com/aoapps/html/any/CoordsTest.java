@@ -0,0 +1,117 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.html.any.attributes.dimension.Coords;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Coords
+ *
+ * @author  AO Industries, Inc.
+ */
+public class CoordsTest {
+
+  /**
+   * Records each value passed to the {@link Coords#coords(java.lang.String)} funnel.
+   */
+  private static final class AreaElement extends Element<TestDocument, TestDocument, AreaElement>
+      implements Coords<AreaElement> {
+
+    private final List<String> funneled = new ArrayList<>();
+
+    private AreaElement(TestDocument document) {
+      super(document, document);
+    }
+
+    @Override
+    protected void writeOpen(Writer unsafe) throws IOException {
+      unsafe.write("<area");
+    }
+
+    private AreaElement open() throws IOException {
+      @SuppressWarnings("deprecation")
+      Writer unsafe = document.getRawUnsafe(null);
+      writeOpen(unsafe);
+      return this;
+    }
+
+    @Override
+    public AreaElement coords(String coords) throws IOException {
+      funneled.add(coords);
+      return Coords.super.coords(coords);
+    }
+  }
+
+  private final StringWriter out = new StringWriter();
+
+  private final AreaElement element = new AreaElement(TestDocument.create(EncodingContext.XML, out));
+
+  @Test
+  public void testRect() throws IOException {
+    element.open()
+        .coords(1, -2, 30, 400)
+        .coords(new Rectangle(5, 6, 10, 20))
+        .coords(1.5, 2.0, -0.25, 4e-5);
+    Assert.assertEquals("<area coords=\"1,-2,30,400\" coords=\"5,6,15,26\" coords=\"1.5,2,-0.25,4.0E-5\"", out.toString());
+    Assert.assertEquals(List.of("1,-2,30,400", "5,6,15,26", "1.5,2,-0.25,4.0E-5"), element.funneled);
+  }
+
+  @Test
+  public void testCircle() throws IOException {
+    element.open()
+        .coords(10, 20, 5)
+        .coords(new Circle(1, 2, 3))
+        .coords(0.5, -1.0, 9007199254740992.0);
+    Assert.assertEquals("<area coords=\"10,20,5\" coords=\"1,2,3\" coords=\"0.5,-1,9007199254740992\"", out.toString());
+    Assert.assertEquals(List.of("10,20,5", "1,2,3", "0.5,-1,9007199254740992"), element.funneled);
+  }
+
+  @Test
+  public void testNonFinite() throws IOException {
+    element.open();
+    try {
+      element.coords(1, 2, Double.NaN);
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      element.coords(1, 2, 3, Double.NEGATIVE_INFINITY);
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    Assert.assertEquals("<area", out.toString());
+    Assert.assertTrue(element.funneled.isEmpty());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.html.any.attributes.text.Data;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Data
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DataTest {
+
+  private final StringWriter out = new StringWriter();
+
+  private final TestDocument document = TestDocument.create(EncodingContext.XML, out);
+
+  @Test
+  public void testDatasetToAttrName() {
+    Assert.assertEquals("data-foo-bar-baz", Data.dataset.toAttrName("fooBarBaz"));
+    Assert.assertEquals("data-x", Data.dataset.toAttrName("x"));
+    Assert.assertEquals("data-x-y", Data.dataset.toAttrName("xY"));
+  }
+
+  @Test
+  public void testDataset() throws IOException {
+    new TestElement(document).open().dataset("fooBar", "value");
+    Assert.assertEquals("<test data-foo-bar=\"value\"", out.toString());
+  }
+
+  @Test
+  public void testNamesValidatedWhenNotValidating() throws IOException {
+    document.setValidationLevel(ValidationLevel.OFF);
+    Assert.assertFalse(document.getValidating());
+    TestElement element = new TestElement(document).open();
+    try {
+      element.data("data-x onclick=alert(1) data-y", "value");
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      element.dataset("x onclick=alert(1) data-y", "value");
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    Assert.assertEquals("<test", out.toString());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  DeferredRegions
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DeferredRegionsTest {
+
+  private static final Supplier<TestDocument> factory = () -> TestDocument.create(EncodingContext.SGML, null);
+
+  private static final Pattern PREFIX = Pattern.compile("<template id=\"(ao-d[0-9a-z]+-)s0\"></template>");
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  private final StringWriter out = new StringWriter();
+
+  private final TestDocument document = TestDocument.create(EncodingContext.SGML, out).setDeferred(factory, executor);
+
+  @After
+  public void shutdown() throws InterruptedException {
+    executor.shutdownNow();
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  private static String getPrefix(String html) {
+    Matcher matcher = PREFIX.matcher(html);
+    Assert.assertTrue(html, matcher.find());
+    return matcher.group(1);
+  }
+
+  @Test
+  public void testDeferred() throws IOException {
+    document.text("a").deferred(doc -> doc.text("placeholder"), doc -> doc.text("region")).text("b").writeDeferred();
+    String html = out.toString();
+    String prefix = getPrefix(html);
+    Assert.assertEquals(
+        "a<template id=\"" + prefix + "s0\"></template>placeholder<template id=\"" + prefix + "e0\"></template>b"
+            + "<template id=\"" + prefix + "t0\">region</template><script>\n"
+            + "function aoDeferredSwap(x,i){",
+        html.substring(0, html.indexOf('{') + 1)
+    );
+    Assert.assertTrue(html, html.endsWith("}aoDeferredSwap(\"" + prefix + "\",0);\n</script>"));
+  }
+
+  @Test
+  public void testSwapFunctionWrittenOnce() throws IOException {
+    document
+        .deferred(null, doc -> doc.text("first"))
+        .deferred(null, doc -> doc.text("second"))
+        .writeDeferred();
+    String html = out.toString();
+    String prefix = getPrefix(html);
+    Assert.assertEquals(html, html.indexOf("function aoDeferredSwap"), html.lastIndexOf("function aoDeferredSwap"));
+    Assert.assertTrue(html, html.contains("aoDeferredSwap(\"" + prefix + "\",0);"));
+    Assert.assertTrue(html, html.contains("aoDeferredSwap(\"" + prefix + "\",1);"));
+    Assert.assertTrue(html, html.contains("<template id=\"" + prefix + "t0\">first</template>"));
+    Assert.assertTrue(html, html.contains("<template id=\"" + prefix + "t1\">second</template>"));
+  }
+
+  @Test
+  public void testNonce() throws IOException {
+    document.setDeferredNonce("abc123").deferred(null, doc -> doc.text("region")).writeDeferred();
+    Assert.assertTrue(out.toString(), out.toString().contains("<script nonce=\"abc123\">"));
+  }
+
+  @Test
+  public void testNonceClearedOnReset() throws IOException {
+    document.setDeferredNonce("abc123").reset(out).deferred(null, doc -> doc.text("region")).writeDeferred();
+    Assert.assertTrue(out.toString(), out.toString().contains("<script>"));
+  }
+
+  @Test
+  public void testPrefixPerRender() throws IOException {
+    document.deferred(null, doc -> doc.text("region")).writeDeferred();
+    String first = getPrefix(out.toString());
+    StringWriter out2 = new StringWriter();
+    document.reset(out2).deferred(null, doc -> doc.text("region")).writeDeferred();
+    Assert.assertNotEquals(first, getPrefix(out2.toString()));
+    StringWriter out3 = new StringWriter();
+    TestDocument.create(EncodingContext.SGML, out3).setDeferred(factory, executor)
+        .deferred(null, doc -> doc.text("region")).writeDeferred();
+    Assert.assertNotEquals(first, getPrefix(out3.toString()));
+  }
+
+  @Test
+  public void testResetDiscardsPending() throws IOException, InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch stale = new CountDownLatch(1);
+    document.deferred(null, doc -> {
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        // Cancelled by reset
+        Thread.currentThread().interrupt();
+      }
+      doc.text("stale");
+      stale.countDown();
+    });
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    StringWriter out2 = new StringWriter();
+    document.reset(out2).deferred(null, doc -> doc.text("fresh")).writeDeferred();
+    release.countDown();
+    Assert.assertTrue(stale.await(10, TimeUnit.SECONDS));
+    String html = out2.toString();
+    Assert.assertTrue(html, html.contains(">fresh</template>"));
+    Assert.assertFalse(html, html.contains("stale"));
+    Assert.assertFalse(document.hasDeferred());
+  }
+
+  @Test
+  public void testNotDeferredWhenDisabled() throws IOException {
+    document.setDeferred(null, null).text("a").deferred(doc -> doc.text("placeholder"), doc -> doc.text("region"))
+        .text("b").writeDeferred();
+    Assert.assertEquals("aregionb", out.toString());
+  }
+}
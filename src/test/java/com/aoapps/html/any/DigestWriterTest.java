@@ -0,0 +1,143 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  DigestWriter
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DigestWriterTest {
+
+  /**
+   * Characters of each encoded length, including a surrogate pair.
+   */
+  private static final String CHARS = "a<é€😀";
+
+  private static String randomString(Random random, Charset charset) {
+    StringBuilder str = new StringBuilder();
+    int len = random.nextInt(3000);
+    while (str.length() < len) {
+      char c = CHARS.charAt(random.nextInt(CHARS.length()));
+      if (Character.isHighSurrogate(c)) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+          str.append(CHARS, CHARS.length() - 2, CHARS.length());
+        }
+      } else if (!Character.isLowSurrogate(c) && charset.newEncoder().canEncode(c)) {
+        str.append(c);
+      }
+    }
+    return str.toString();
+  }
+
+  /**
+   * Writes the string in random pieces, through each of the write methods.
+   */
+  private static void writeRandomly(Random random, DigestWriter out, String str) throws IOException {
+    int pos = 0;
+    int len = str.length();
+    while (pos < len) {
+      int end = Math.min(len, pos + 1 + random.nextInt(100));
+      switch (random.nextInt(6)) {
+        case 0:
+          for (int i = pos; i < end; i++) {
+            out.write(str.charAt(i));
+          }
+          break;
+        case 1:
+          out.write(str.toCharArray(), pos, end - pos);
+          break;
+        case 2:
+          out.write(str, pos, end - pos);
+          break;
+        case 3:
+          out.append(new StringBuilder(str), pos, end);
+          break;
+        case 4:
+          out.append(CharBuffer.wrap(str, pos, end));
+          break;
+        default:
+          for (int i = pos; i < end; i++) {
+            out.append(str.charAt(i));
+          }
+      }
+      pos = end;
+    }
+  }
+
+  private static void testDigest(Charset charset) throws IOException, NoSuchAlgorithmException {
+    Random random = new Random(0);
+    for (int iteration = 0; iteration < 100; iteration++) {
+      String str = randomString(random, charset);
+      StringWriter out = new StringWriter();
+      OutputDigest digest = new OutputDigest(OutputDigest.SHA_256);
+      DigestWriter writer = new DigestWriter(out, digest, charset);
+      writeRandomly(random, writer, str);
+      writer.finish();
+      Assert.assertEquals(str, out.toString());
+      byte[] bytes = str.getBytes(charset);
+      Assert.assertEquals(bytes.length, digest.getByteCount());
+      Assert.assertArrayEquals(
+          MessageDigest.getInstance(OutputDigest.SHA_256).digest(bytes),
+          digest.getDigest()
+      );
+    }
+  }
+
+  @Test
+  public void testUtf8() throws IOException, NoSuchAlgorithmException {
+    testDigest(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testIso88591() throws IOException, NoSuchAlgorithmException {
+    testDigest(StandardCharsets.ISO_8859_1);
+  }
+
+  @Test
+  public void testUtf16() throws IOException, NoSuchAlgorithmException {
+    testDigest(StandardCharsets.UTF_16BE);
+  }
+
+  @Test
+  public void testEncodedOnFinish() throws IOException {
+    OutputDigest digest = new OutputDigest();
+    DigestWriter writer = new DigestWriter(new StringWriter(), digest, StandardCharsets.UTF_8);
+    writer.write("abc");
+    writer.flush();
+    Assert.assertEquals(0, digest.getByteCount());
+    writer.finish();
+    Assert.assertEquals(3, digest.getByteCount());
+  }
+}
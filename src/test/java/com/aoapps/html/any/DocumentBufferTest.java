@@ -0,0 +1,267 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  DocumentBuffer
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DocumentBufferTest {
+
+  /**
+   * Writes the string in random pieces, through each of the write methods.
+   */
+  private static void writeRandomly(Random random, DocumentBuffer out, String str, int maxPiece) throws IOException {
+    int pos = 0;
+    int len = str.length();
+    while (pos < len) {
+      int end = Math.min(len, pos + 1 + random.nextInt(maxPiece));
+      switch (random.nextInt(6)) {
+        case 0:
+          for (int i = pos; i < end; i++) {
+            out.write(str.charAt(i));
+          }
+          break;
+        case 1:
+          out.write(str.toCharArray(), pos, end - pos);
+          break;
+        case 2:
+          out.write(str, pos, end - pos);
+          break;
+        case 3:
+          out.append(new StringBuilder(str), pos, end);
+          break;
+        case 4:
+          out.append(CharBuffer.wrap(str), pos, end);
+          break;
+        default:
+          out.append(str.subSequence(pos, end));
+      }
+      pos = end;
+    }
+  }
+
+  @Test
+  public void testRandomWrites() throws IOException {
+    Random random = new Random(0);
+    for (int iteration = 0; iteration < 1000; iteration++) {
+      int size = 1 + random.nextInt(32);
+      char[] chars = new char[random.nextInt(300)];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) ('a' + random.nextInt(26));
+      }
+      String str = new String(chars);
+      StringWriter out = new StringWriter();
+      DocumentBuffer buffer = new DocumentBuffer(size);
+      buffer.setOut(out);
+      // Pieces up to twice the buffer size, so some are written directly
+      writeRandomly(random, buffer, str, size * 2);
+      Assert.assertTrue(buffer.getCount() <= size);
+      Assert.assertEquals(str.substring(0, str.length() - buffer.getCount()), out.toString());
+      buffer.flush();
+      Assert.assertEquals(0, buffer.getCount());
+      Assert.assertEquals(str, out.toString());
+    }
+  }
+
+  @Test
+  public void testHoldsUntilFull() throws IOException {
+    StringWriter out = new StringWriter();
+    DocumentBuffer buffer = new DocumentBuffer(4);
+    buffer.setOut(out);
+    buffer.write("abc");
+    Assert.assertEquals("", out.toString());
+    buffer.write('d');
+    Assert.assertEquals("", out.toString());
+    buffer.write('e');
+    Assert.assertEquals("abcd", out.toString());
+    buffer.drain();
+    Assert.assertEquals("abcde", out.toString());
+  }
+
+  @Test
+  public void testLargeWriteKeepsOrder() throws IOException {
+    StringWriter out = new StringWriter();
+    DocumentBuffer buffer = new DocumentBuffer(4);
+    buffer.setOut(out);
+    buffer.write("ab");
+    buffer.write("cdefgh");
+    Assert.assertEquals("abcdefgh", out.toString());
+    Assert.assertEquals(0, buffer.getCount());
+  }
+
+  @Test
+  public void testAppendNull() throws IOException {
+    StringWriter out = new StringWriter();
+    DocumentBuffer buffer = new DocumentBuffer(16);
+    buffer.setOut(out);
+    buffer.append(null).append(null, 1, 3);
+    buffer.flush();
+    Assert.assertEquals("nullul", out.toString());
+  }
+
+  @Test
+  public void testDiscard() throws IOException {
+    StringWriter out = new StringWriter();
+    DocumentBuffer buffer = new DocumentBuffer(16);
+    buffer.setOut(out);
+    buffer.write("discarded");
+    buffer.discard();
+    buffer.write("kept");
+    buffer.flush();
+    Assert.assertEquals("kept", out.toString());
+  }
+
+  @Test
+  public void testDocumentOutputUnchanged() throws IOException {
+    StringWriter expected = new StringWriter();
+    TestDocument.create(EncodingContext.XML, expected).text("Fish & Chips <").nl().text("x");
+    for (int size = 1; size <= 24; size++) {
+      StringWriter out = new StringWriter();
+      TestDocument document = TestDocument.create(EncodingContext.XML, out).setBufferSize(size);
+      document.text("Fish & Chips <").nl().text("x");
+      document.flush();
+      Assert.assertEquals("size " + size, expected.toString(), out.toString());
+    }
+  }
+
+  @Test
+  public void testSetOutDrainsToPreviousWriter() throws IOException {
+    StringWriter first = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, first).setBufferSize(64);
+    document.text("first");
+    Assert.assertEquals("", first.toString());
+    StringWriter second = new StringWriter();
+    document.setOut(second);
+    document.text("second").flush();
+    Assert.assertEquals("first", first.toString());
+    Assert.assertEquals("second", second.toString());
+  }
+
+  @Test
+  public void testDisableBufferingDrains() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setBufferSize(64);
+    document.text("a");
+    Assert.assertEquals("", out.toString());
+    document.setBuffered(false);
+    Assert.assertEquals("a", out.toString());
+    document.text("b");
+    Assert.assertEquals("ab", out.toString());
+    Assert.assertEquals(0, document.getBufferSize());
+  }
+
+  /**
+   * A writer that counts the number of times it is flushed.
+   */
+  private static final class FlushCountingWriter extends StringWriter {
+
+    private int flushes;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+  }
+
+  @Test
+  public void testFlushInterval() throws IOException {
+    FlushCountingWriter out = new FlushCountingWriter();
+    DocumentBuffer buffer = new DocumentBuffer(8);
+    buffer.setOut(out);
+    buffer.setFlushInterval(20);
+    // Drained eight characters at a time
+    for (int i = 0; i < 17; i++) {
+      buffer.write('a');
+    }
+    Assert.assertEquals(16, out.getBuffer().length());
+    Assert.assertEquals(0, out.flushes);
+    for (int i = 0; i < 8; i++) {
+      buffer.write('a');
+    }
+    Assert.assertEquals(24, out.getBuffer().length());
+    Assert.assertEquals(1, out.flushes);
+    // Counting restarts after each flush
+    for (int i = 0; i < 16; i++) {
+      buffer.write('a');
+    }
+    Assert.assertEquals(40, out.getBuffer().length());
+    Assert.assertEquals(1, out.flushes);
+    for (int i = 0; i < 8; i++) {
+      buffer.write('a');
+    }
+    Assert.assertEquals(2, out.flushes);
+  }
+
+  @Test
+  public void testFlushIntervalLargeWrite() throws IOException {
+    FlushCountingWriter out = new FlushCountingWriter();
+    DocumentBuffer buffer = new DocumentBuffer(8);
+    buffer.setOut(out);
+    buffer.setFlushInterval(20);
+    buffer.write("abc");
+    // Drains the buffer then writes directly, counting both
+    buffer.write("0123456789abcdefg");
+    Assert.assertEquals(20, out.getBuffer().length());
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  @Test
+  public void testFlushIntervalResetBySetOut() throws IOException {
+    FlushCountingWriter first = new FlushCountingWriter();
+    DocumentBuffer buffer = new DocumentBuffer(8);
+    buffer.setOut(first);
+    buffer.setFlushInterval(10);
+    buffer.write("01234567");
+    buffer.drain();
+    FlushCountingWriter second = new FlushCountingWriter();
+    buffer.setOut(second);
+    buffer.write("01234567");
+    buffer.drain();
+    Assert.assertEquals(0, first.flushes);
+    Assert.assertEquals(0, second.flushes);
+    buffer.write("01");
+    buffer.drain();
+    Assert.assertEquals(1, second.flushes);
+  }
+
+  @Test
+  public void testNoFlushInterval() throws IOException {
+    FlushCountingWriter out = new FlushCountingWriter();
+    DocumentBuffer buffer = new DocumentBuffer(8);
+    buffer.setOut(out);
+    for (int i = 0; i < 1000; i++) {
+      buffer.write('a');
+    }
+    Assert.assertEquals(0, out.flushes);
+  }
+}
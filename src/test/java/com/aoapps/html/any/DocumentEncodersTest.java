@@ -0,0 +1,163 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.encoding.MediaEncoder;
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.encoding.ValidateOnlyEncoder;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  DocumentEncoders
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DocumentEncodersTest {
+
+  private static final EncodingContext[] contexts = {EncodingContext.XML, EncodingContext.SGML};
+
+  /**
+   * Gets the encoder from {@link MediaEncoder} directly, or {@code null} when not supported.
+   */
+  private static Class<?> expectedClass(EncodingContext context, MediaType contentType) {
+    try {
+      MediaEncoder expected = MediaEncoder.getInstance(context, contentType, MediaType.XHTML);
+      return (expected == null) ? null : expected.getClass();
+    } catch (UnsupportedEncodingException e) {
+      return UnsupportedEncodingException.class;
+    }
+  }
+
+  @Test
+  public void testGetInstance() throws IOException {
+    for (EncodingContext context : contexts) {
+      DocumentEncoders encoders = new DocumentEncoders(context);
+      for (MediaType contentType : MediaType.values()) {
+        Class<?> expected = expectedClass(context, contentType);
+        if (expected == UnsupportedEncodingException.class) {
+          try {
+            encoders.getInstance(contentType);
+            Assert.fail("UnsupportedEncodingException expected: " + contentType);
+          } catch (UnsupportedEncodingException e) {
+            // Expected
+          }
+        } else {
+          MediaEncoder instance = encoders.getInstance(contentType);
+          Assert.assertEquals(contentType.name(), expected, (instance == null) ? null : instance.getClass());
+          MediaEncoder again = encoders.getInstance(contentType);
+          if (instance == null) {
+            Assert.assertNull(contentType.name(), again);
+          } else if (instance.isBuffered()) {
+            Assert.assertNotSame("Buffered encoders must not be shared: " + contentType, instance, again);
+          } else {
+            Assert.assertSame("Stateless encoders must be cached: " + contentType, instance, again);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGetEncoder() throws IOException {
+    for (EncodingContext context : contexts) {
+      DocumentEncoders encoders = new DocumentEncoders(context);
+      for (MediaType contentType : MediaType.values()) {
+        Class<?> expected = expectedClass(context, contentType);
+        if (expected != UnsupportedEncodingException.class) {
+          MediaEncoder encoder = encoders.getEncoder(contentType);
+          Assert.assertNotNull(contentType.name(), encoder);
+          Assert.assertEquals(
+              contentType.name(),
+              (expected == null) ? ValidateOnlyEncoder.class : expected,
+              encoder.getClass()
+          );
+          MediaEncoder again = encoders.getEncoder(contentType);
+          if (encoder.isBuffered()) {
+            Assert.assertNotSame("Buffered encoders must not be shared: " + contentType, encoder, again);
+          } else {
+            Assert.assertSame("Stateless encoders must be cached: " + contentType, encoder, again);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testOptimize() throws IOException {
+    DocumentEncoders encoders = new DocumentEncoders(EncodingContext.XML);
+    MediaEncoder encoder = encoders.getEncoder(MediaType.JAVASCRIPT);
+    StringWriter out1 = new StringWriter();
+    Writer optimized = encoders.optimize(MediaType.JAVASCRIPT, out1, encoder);
+    Assert.assertSame(optimized, encoders.optimize(MediaType.JAVASCRIPT, out1, encoder));
+    // A different writer is optimized again
+    StringWriter out2 = new StringWriter();
+    Writer optimized2 = encoders.optimize(MediaType.JAVASCRIPT, out2, encoder);
+    optimized2.write("b");
+    Assert.assertEquals("", out1.toString());
+    Assert.assertEquals("b", out2.toString());
+    // Cleared writers are optimized again
+    encoders.clearWriters();
+    encoders.optimize(MediaType.JAVASCRIPT, out1, encoder).write("a");
+    Assert.assertEquals("a", out1.toString());
+    Assert.assertEquals("b", out2.toString());
+  }
+
+  private static String encode(TestDocument document, StringWriter out, MediaType contentType, String content)
+      throws IOException {
+    document.reset(out);
+    document.encode(contentType, content);
+    document.encode(contentType).append(content).close();
+    return out.toString();
+  }
+
+  /**
+   * The output of a document reused across writers must match a new document for each.
+   */
+  @Test
+  public void testDocumentMatchesNew() throws IOException {
+    String content = "a < \"b\" & 'c'";
+    for (Serialization serialization : Serialization.values()) {
+      EncodingContext context = (serialization == Serialization.XML) ? EncodingContext.XML : EncodingContext.SGML;
+      TestDocument reused = TestDocument.create(context, new StringWriter());
+      for (MediaType contentType : new MediaType[]{MediaType.JAVASCRIPT, MediaType.JSON, MediaType.CSS, MediaType.TEXT}) {
+        for (int i = 0; i < 3; i++) {
+          StringWriter expectedOut = new StringWriter();
+          String expected = encode(TestDocument.create(context, expectedOut), expectedOut, contentType, content);
+          Assert.assertEquals(
+              serialization + ", " + contentType,
+              expected,
+              encode(reused, new StringWriter(), contentType, content)
+          );
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  DocumentPool
+ * @see  AnyDocument#reset()
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DocumentPoolTest {
+
+  @Test
+  public void testReusesReleasedDocument() {
+    AtomicInteger created = new AtomicInteger();
+    DocumentPool<TestDocument> pool = new DocumentPool<>(() -> {
+      created.incrementAndGet();
+      return TestDocument.create(EncodingContext.XML, null);
+    });
+    TestDocument first = pool.acquire(new StringWriter());
+    Assert.assertEquals(1, created.get());
+    pool.release(first);
+    Assert.assertEquals(1, pool.getIdleCount());
+    Assert.assertSame(first, pool.acquire(new StringWriter()));
+    Assert.assertEquals(1, created.get());
+    Assert.assertEquals(0, pool.getIdleCount());
+    // None idle, so another is created
+    Assert.assertNotSame(first, pool.acquire(new StringWriter()));
+    Assert.assertEquals(2, created.get());
+  }
+
+  @Test
+  public void testStateClearedOnReuse() throws IOException {
+    DocumentPool<TestDocument> pool = new DocumentPool<>(() -> TestDocument.create(EncodingContext.XML, null));
+    StringWriter first = new StringWriter();
+    TestDocument document = pool.acquire(first).setBufferSize(64);
+    document.setIndent(true).setDepth(3).setAutonli(true).text("unflushed").nl();
+    pool.release(document);
+    StringWriter second = new StringWriter();
+    Assert.assertSame(document, pool.acquire(second));
+    Assert.assertFalse(document.getIndent());
+    Assert.assertEquals(0, document.getDepth());
+    Assert.assertFalse(document.getAutonli());
+    Assert.assertFalse(document.getAtnl());
+    // Configuration is retained
+    Assert.assertEquals(64, document.getBufferSize());
+    document.text("second").flush();
+    Assert.assertEquals("", first.toString());
+    Assert.assertEquals("second", second.toString());
+  }
+
+  @Test
+  public void testReleaseTwice() {
+    DocumentPool<TestDocument> pool = new DocumentPool<>(() -> TestDocument.create(EncodingContext.XML, null));
+    TestDocument document = pool.acquire(new StringWriter());
+    pool.release(document);
+    try {
+      pool.release(document);
+      Assert.fail("Exception expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Document has already been released to the pool", e.getMessage());
+    }
+    Assert.assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void testMaxIdle() {
+    DocumentPool<TestDocument> pool = new DocumentPool<>(() -> TestDocument.create(EncodingContext.XML, null), 2);
+    TestDocument a = pool.acquire(null);
+    TestDocument b = pool.acquire(null);
+    TestDocument c = pool.acquire(null);
+    pool.release(a);
+    pool.release(b);
+    pool.release(c);
+    Assert.assertEquals(2, pool.getIdleCount());
+    // Most recently released first
+    Assert.assertSame(b, pool.acquire(null));
+    Assert.assertSame(a, pool.acquire(null));
+    Assert.assertEquals(0, pool.getIdleCount());
+    // Discarded documents may be released again
+    pool.release(c);
+    Assert.assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void testClear() {
+    DocumentPool<TestDocument> pool = new DocumentPool<>(() -> TestDocument.create(EncodingContext.XML, null));
+    TestDocument document = pool.acquire(null);
+    pool.release(document);
+    pool.clear();
+    Assert.assertEquals(0, pool.getIdleCount());
+    Assert.assertNotSame(document, pool.acquire(null));
+    // Cleared documents may be released again
+    pool.release(document);
+    Assert.assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeMaxIdle() {
+    new DocumentPool<>(() -> TestDocument.create(EncodingContext.XML, null), -1);
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  ElementRecycler
+ * @see  AnyDocument#setRecycleElements(boolean)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class ElementRecyclerTest {
+
+  private static TestDocument newDocument(StringWriter out) {
+    return TestDocument.create(EncodingContext.XML, out).setIndent(true).setAutonli(true).setRecycleElements(true);
+  }
+
+  /**
+   * A writer that counts the number of times it is flushed.
+   */
+  private static final class FlushCountingWriter extends StringWriter {
+
+    private int flushes;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+  }
+
+  @Test
+  public void testSiblingsReuseInstance() throws IOException {
+    TestDocument document = newDocument(new StringWriter());
+    TestNormal.Div<TestDocument> first = TestNormal.div(document);
+    first.__();
+    Assert.assertSame(first, TestNormal.div(document));
+    document.setRecycleElements(false);
+    Assert.assertNotSame(first, TestNormal.div(document));
+  }
+
+  @Test
+  public void testNestedUsesLevels() throws IOException {
+    TestDocument document = newDocument(new StringWriter());
+    List<TestNormal<?, ?>> elements = new ArrayList<>();
+    IOConsumerE<TestDocument, IOException> render = d -> {
+      TestNormal.Div<TestDocument> outer = TestNormal.div(d);
+      elements.add(outer);
+      outer.__(body -> {
+        TestNormal.Div<TestNormal.Body<TestDocument>> inner = TestNormal.div(body);
+        elements.add(inner);
+        inner.__(() -> {
+          TestNormal.Div<TestDocument> innermost = TestNormal.div(d);
+          elements.add(innermost);
+          innermost.__();
+        });
+      });
+    };
+    render.accept(document);
+    render.accept(document);
+    Assert.assertEquals(6, elements.size());
+    Assert.assertNotSame(elements.get(0), elements.get(1));
+    Assert.assertSame(elements.get(0), elements.get(3));
+    Assert.assertSame(elements.get(1), elements.get(4));
+    Assert.assertSame(elements.get(2), elements.get(5));
+    Assert.assertNotSame(elements.get(1), elements.get(2));
+  }
+
+  @Test
+  public void testOutputMatchesWithoutRecycling() throws IOException {
+    IOConsumerE<TestDocument, IOException> render = document -> {
+      for (int i = 0; i < 3; i++) {
+        TestNormal.div(document).__(div -> {
+          TestNormal.span(div).__(span -> TestNormal.span(span).__());
+          try (TestNormal.Body_c<TestNormal.Body<TestDocument>> c = TestNormal.div(div)._c()) {
+            TestNormal.span(c).__(() -> document.text("text"));
+          }
+          TestNormal.div(div).__();
+        });
+      }
+    };
+    StringWriter expected = new StringWriter();
+    render.accept(TestDocument.create(EncodingContext.XML, expected).setIndent(true).setAutonli(true));
+    StringWriter out = new StringWriter();
+    TestDocument document = newDocument(out);
+    render.accept(document);
+    Assert.assertEquals(expected.toString(), out.toString());
+    // Again, with every element recycled
+    out.getBuffer().setLength(0);
+    render.accept(document.reset(out).setIndent(true).setAutonli(true));
+    Assert.assertEquals(expected.toString(), out.toString());
+  }
+
+  @Test
+  public void testThrowingBodyReleasesLevel() throws IOException {
+    TestDocument document = newDocument(new StringWriter());
+    TestNormal.Div<TestDocument> first = TestNormal.div(document);
+    try {
+      first.__(() -> {
+        throw new IllegalStateException("Test");
+      });
+      Assert.fail("Exception expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Test", e.getMessage());
+    }
+    Assert.assertSame(first, TestNormal.div(document));
+  }
+
+  @Test
+  public void testThrowingBodyDoesNotFlushOnReuse() throws IOException {
+    FlushCountingWriter out = new FlushCountingWriter();
+    TestDocument document = newDocument(out);
+    try {
+      TestNormal.div(document).flushAfter().__(() -> {
+        throw new IllegalStateException("Test");
+      });
+      Assert.fail("Exception expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Test", e.getMessage());
+    }
+    TestNormal.div(document).__();
+    Assert.assertEquals(0, out.flushes);
+    TestNormal.div(document).flushAfter().__();
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  /**
+   * Nests one element per level, beyond the number of levels recycled.
+   */
+  private static void nest(TestDocument document, List<TestNormal<?, ?>> elements, int levels) throws IOException {
+    if (levels > 0) {
+      TestNormal.Div<TestDocument> div = TestNormal.div(document);
+      elements.add(div);
+      div.__(() -> nest(document, elements, levels - 1));
+    }
+  }
+
+  @Test
+  public void testBeyondMaxLevels() throws IOException {
+    final int levels = ElementRecycler.MAX_LEVELS + 3;
+    TestDocument document = newDocument(new StringWriter());
+    List<TestNormal<?, ?>> first = new ArrayList<>();
+    nest(document, first, levels);
+    List<TestNormal<?, ?>> second = new ArrayList<>();
+    nest(document, second, levels);
+    for (int level = 0; level < levels; level++) {
+      if (level < ElementRecycler.MAX_LEVELS) {
+        Assert.assertSame("level " + level, first.get(level), second.get(level));
+      } else {
+        Assert.assertNotSame("level " + level, first.get(level), second.get(level));
+      }
+    }
+  }
+
+  @Test
+  public void testRecycledElementClearsAttributeState() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setRecycleElements(true);
+    TestLINK first = TestLINK.link(document);
+    first.rel("stylesheet").__();
+    // The rel of the first link would conflict with itemprop
+    TestLINK second = TestLINK.link(document);
+    Assert.assertSame(first, second);
+    second.itemprop("test").__();
+    Assert.assertEquals("<link rel=\"stylesheet\" /><link itemprop=\"test\" />", out.toString());
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Element#flushAfter()
+ * @see  AnyDocument#setFlushAfterHead(boolean)
+ * @see  AnyDocument#setFlushInterval(long)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class FlushTest {
+
+  /**
+   * A writer that counts the number of times it is flushed.
+   */
+  private static final class FlushCountingWriter extends StringWriter {
+
+    private int flushes;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static final Constructor<? extends AnyHEAD> headConstructor =
+      Concrete.subclass(AnyHEAD.class, AnyDocument.class, AnyHTML_content.class);
+
+  private final FlushCountingWriter out = new FlushCountingWriter();
+
+  private final TestDocument document = TestDocument.create(EncodingContext.SGML, out);
+
+  @Test
+  public void testScriptFlushAfter() throws IOException {
+    document.script().__();
+    Assert.assertEquals(0, out.flushes);
+    document.script().flushAfter().__();
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  @Test
+  public void testScriptFlushAfterOut() throws IOException {
+    document.script().flushAfter().out("var a;").__();
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  @Test
+  public void testScriptFlushAfterWriter() throws IOException {
+    try (Writer script = document.script().flushAfter()._c()) {
+      script.write("var a;");
+    }
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  @SuppressWarnings({"rawtypes", "deprecation"})
+  private AnyHEAD head() throws IOException {
+    AnyHEAD head = Concrete.newInstance(headConstructor, document, null);
+    head.writeOpen(document.getRawUnsafe(null));
+    return head;
+  }
+
+  @Test
+  public void testFlushAfterHead() throws IOException {
+    head().__();
+    Assert.assertEquals(0, out.flushes);
+    document.setFlushAfterHead(true);
+    head().__();
+    Assert.assertEquals(1, out.flushes);
+    Assert.assertEquals("<head></head><head></head>", out.toString());
+  }
+
+  @Test
+  public void testFlushAfterHeadBuffered() throws IOException {
+    document.setBufferSize(64).setFlushAfterHead(true);
+    head().__();
+    // The buffer is drained before flushing
+    Assert.assertEquals("<head></head>", out.toString());
+    Assert.assertEquals(1, out.flushes);
+  }
+
+  @Test
+  public void testFlushInterval() throws IOException {
+    document.setBufferSize(4).setFlushInterval(10);
+    for (int i = 0; i < 9; i++) {
+      document.text('a');
+    }
+    // Counted as drained from the buffer, four characters at a time
+    Assert.assertEquals(0, out.flushes);
+    for (int i = 0; i < 4; i++) {
+      document.text('a');
+    }
+    Assert.assertEquals(1, out.flushes);
+    Assert.assertEquals(12, out.getBuffer().length());
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Fragment
+ * @see  FragmentCache
+ *
+ * @author  AO Industries, Inc.
+ */
+public class FragmentTest {
+
+  /**
+   * Renders a subtree with indentation that goes both deeper and shallower than where it starts.
+   */
+  private static void subtree(TestDocument document) throws IOException {
+    document.nli().text("<a>").incDepth();
+    document.nli().text("b").incDepth();
+    document.nli().text("c").decDepth();
+    document.nli().text("d").decDepth();
+    document.nli().text("</a>");
+  }
+
+  /**
+   * Renders at the given depth, followed by a marker to show the state afterward.
+   */
+  private static String render(int depth, IOConsumerE<TestDocument, IOException> body) throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(depth);
+    body.accept(document);
+    document.nli().text("end:" + document.getDepth());
+    return out.toString();
+  }
+
+  @Test
+  public void testReplayRebasesIndentation() throws IOException {
+    FragmentCache cache = new FragmentCache();
+    for (int depth : new int[]{1, 3, 1, 0, 2, 5}) {
+      String expected = render(depth, FragmentTest::subtree);
+      Assert.assertEquals(
+          "depth " + depth,
+          expected,
+          render(depth, document -> document.setFragmentCache(cache).cached("key", () -> subtree(document)))
+      );
+    }
+  }
+
+  @Test
+  public void testReplayAtDepthZeroOnlyAtRenderedDepth() throws IOException {
+    FragmentCache cache = new FragmentCache();
+    // Indentation reaches depth zero, so it may not be rebased
+    IOConsumerE<TestDocument, IOException> shallow = document -> {
+      document.decDepth().nli().text("x").incDepth();
+    };
+    for (int depth : new int[]{1, 2, 1, 3}) {
+      Assert.assertEquals(
+          "depth " + depth,
+          render(depth, shallow),
+          render(depth, document -> document.setFragmentCache(cache).cached("key", () -> shallow.accept(document)))
+      );
+    }
+  }
+
+  @Test
+  public void testReplayRestoresDepthChangeAndAtnl() throws IOException {
+    FragmentCache cache = new FragmentCache();
+    IOConsumerE<TestDocument, IOException> unbalanced = document -> {
+      document.text("x").incDepth().nl();
+    };
+    for (int depth : new int[]{1, 2, 1}) {
+      Assert.assertEquals(
+          "depth " + depth,
+          render(depth, unbalanced),
+          render(depth, document -> document.setFragmentCache(cache).cached("key", () -> unbalanced.accept(document)))
+      );
+    }
+  }
+
+  @Test
+  public void testThrowingBodyRestoresState() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out)
+        .setIndent(true)
+        .setFragmentCache(new FragmentCache())
+        .setDepth(2)
+        .text("a");
+    try {
+      document.cached("key", () -> {
+        document.incDepth().incDepth().nl();
+        throw new IllegalStateException("Test");
+      });
+      Assert.fail("Exception expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Test", e.getMessage());
+    }
+    Assert.assertEquals(2, document.getDepth());
+    Assert.assertFalse(document.getAtnl());
+    Assert.assertEquals("a", out.toString());
+    // Then renders normally
+    document.cached("key", () -> subtree(document));
+    StringWriter expected = new StringWriter();
+    subtree(TestDocument.create(EncodingContext.XML, expected).setIndent(true).setDepth(2).text("a"));
+    Assert.assertEquals(expected.toString(), out.toString());
+  }
+}
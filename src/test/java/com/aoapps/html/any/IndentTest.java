@@ -0,0 +1,118 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.encoding.WriterUtil;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests indentation written from the precomputed table, including depths beyond the table, against the same output
+ * written by {@link WriterUtil}.
+ *
+ * @see  AnyDocument#nli(int)
+ * @see  AnyDocument#indent(int)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class IndentTest {
+
+  /**
+   * Well beyond the default table depth of {@code 64}.
+   */
+  private static final int MAX_DEPTH = 300;
+
+  private static final int MAX_OFFSET = 3;
+
+  private static String expectedNli(int depth) throws IOException {
+    StringWriter expected = new StringWriter();
+    if (depth > 0) {
+      WriterUtil.nlsp(expected, depth * 2);
+    } else {
+      expected.write('\n');
+    }
+    return expected.toString();
+  }
+
+  private static String expectedIndent(int depth) throws IOException {
+    StringWriter expected = new StringWriter();
+    if (depth > 0) {
+      WriterUtil.sp(expected, depth * 2);
+    }
+    return expected.toString();
+  }
+
+  @Test
+  public void testNli() throws IOException {
+    for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+      for (int offset = -MAX_OFFSET; offset <= MAX_OFFSET; offset++) {
+        StringWriter out = new StringWriter();
+        TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(depth);
+        document.nli(offset);
+        String message = "depth " + depth + ", offset " + offset;
+        Assert.assertEquals(message, expectedNli(depth + offset), out.toString());
+        Assert.assertEquals(message, depth + offset <= 0, document.getAtnl());
+      }
+    }
+  }
+
+  @Test
+  public void testIndent() throws IOException {
+    for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+      for (int offset = -MAX_OFFSET; offset <= MAX_OFFSET; offset++) {
+        StringWriter out = new StringWriter();
+        TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(depth);
+        document.nl().indent(offset);
+        String message = "depth " + depth + ", offset " + offset;
+        Assert.assertEquals(message, '\n' + expectedIndent(depth + offset), out.toString());
+        Assert.assertEquals(message, depth + offset <= 0, document.getAtnl());
+      }
+    }
+  }
+
+  @Test
+  public void testNotIndented() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setDepth(MAX_DEPTH);
+    document.nli().indent().nli(1).indent(1);
+    Assert.assertEquals("\n\n", out.toString());
+  }
+
+  @Test
+  public void testFragmentReplay() throws IOException {
+    FragmentCache cache = new FragmentCache();
+    for (int depth = 0; depth <= MAX_DEPTH; depth += 7) {
+      StringWriter expected = new StringWriter();
+      TestDocument direct = TestDocument.create(EncodingContext.XML, expected).setIndent(true).setDepth(depth);
+      direct.nli().text("a").incDepth().nli().text("b").decDepth().nli().text("c");
+      StringWriter out = new StringWriter();
+      TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(depth)
+          .setFragmentCache(cache);
+      document.cached("key", () -> document.nli().text("a").incDepth().nli().text("b").decDepth().nli().text("c"));
+      Assert.assertEquals("depth " + depth, expected.toString(), out.toString());
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  OptionList
+ *
+ * @author  AO Industries, Inc.
+ */
+public class OptionListTest {
+
+  @SuppressWarnings("rawtypes")
+  private static final Constructor<? extends AnySELECT> selectConstructor =
+      Concrete.subclass(AnySELECT.class, AnyDocument.class, AnyUnion_Interactive_Phrasing.class);
+
+  @SuppressWarnings("rawtypes")
+  private static final Constructor<? extends AnyDATALIST> datalistConstructor =
+      Concrete.subclass(AnyDATALIST.class, AnyDocument.class, AnyPhrasingContent.class);
+
+  @SuppressWarnings("rawtypes")
+  private static final Constructor<? extends AnyOPTION> optionConstructor =
+      Concrete.subclass(AnyOPTION.class, AnyDocument.class, AnyUnion_DATALIST_OPTGROUP.class);
+
+  private static final OptionList NUMBERS = OptionList.of(Arrays.asList(1, 2, 1, 3), n -> n, n -> "n" + n);
+
+  private static final Map<String, String> OPTIONS = new LinkedHashMap<>();
+
+  static {
+    OPTIONS.put("a\"b", "x < y");
+    OPTIONS.put("c", null);
+    OPTIONS.put("d", "d & e");
+  }
+
+  @SuppressWarnings("deprecation")
+  private static AnySELECT<?, ?, ?, ?, ?> select(TestDocument document) throws IOException {
+    AnySELECT<?, ?, ?, ?, ?> select = Concrete.newInstance(selectConstructor, document, null);
+    select.writeOpen(document.getRawUnsafe(null));
+    return select;
+  }
+
+  @SuppressWarnings("deprecation")
+  private static AnyDATALIST<?, ?, ?, ?, ?> datalist(TestDocument document) throws IOException {
+    AnyDATALIST<?, ?, ?, ?, ?> datalist = Concrete.newInstance(datalistConstructor, document, null);
+    datalist.writeOpen(document.getRawUnsafe(null));
+    return datalist;
+  }
+
+  /**
+   * Writes an {@link AnyOPTION}, as the expected output.
+   */
+  @SuppressWarnings({"rawtypes", "deprecation"})
+  private static void option(TestDocument document, String value, boolean selected, String text) throws IOException {
+    AnyOPTION option = Concrete.newInstance(optionConstructor, document, null);
+    option.writeOpen(document.getRawUnsafe(null));
+    option.value(value);
+    option.selected(selected);
+    option.__(text);
+  }
+
+  private static String render(
+      EncodingContext context,
+      boolean whitespace,
+      IOConsumerE<TestDocument, IOException> body
+  ) throws IOException {
+    StringWriter out = new StringWriter();
+    body.accept(TestDocument.create(context, out).setIndent(whitespace).setAutonli(whitespace));
+    return out.toString();
+  }
+
+  @Test
+  public void testSize() {
+    Assert.assertEquals(4, NUMBERS.size());
+    Assert.assertEquals(3, OptionList.of(OPTIONS).size());
+    Assert.assertEquals(0, OptionList.of(Collections.emptyMap()).size());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testValueRequired() {
+    OptionList.of(Collections.singletonMap(null, "a"));
+  }
+
+  @Test
+  public void testGetIndexes() {
+    Assert.assertArrayEquals(new int[]{0, 2}, NUMBERS.getIndexes(1));
+    Assert.assertArrayEquals(new int[]{3}, NUMBERS.getIndexes("3"));
+    Assert.assertArrayEquals(new int[]{0, 2, 3}, NUMBERS.getIndexes(3, 1, "1"));
+    Assert.assertArrayEquals(new int[]{1}, NUMBERS.getIndexes(Arrays.asList("2", 4)));
+    Assert.assertArrayEquals(new int[0], NUMBERS.getIndexes());
+    Assert.assertArrayEquals(new int[0], NUMBERS.getIndexes((Object[]) null));
+    Assert.assertArrayEquals(new int[0], NUMBERS.getIndexes((Object) null));
+    Assert.assertArrayEquals(new int[0], NUMBERS.getIndexes(5, null));
+    Assert.assertArrayEquals(new int[0], NUMBERS.getIndexes(Collections.emptyList()));
+  }
+
+  @Test
+  public void testSelectOptions() throws IOException {
+    OptionList options = OptionList.of(OPTIONS);
+    Assert.assertEquals(
+        "<select>"
+            + "<option value=\"a&quot;b\">x &lt; y</option>"
+            + "<option value=\"c\" selected=\"selected\"></option>"
+            + "<option value=\"d\">d &amp; e</option>"
+            + "</select>",
+        render(EncodingContext.XML, false, document -> select(document).options(options, "c"))
+    );
+    Assert.assertEquals(
+        "<select>"
+            + "<option value=\"a&quot;b\" selected>x &lt; y</option>"
+            + "<option value=\"c\"></option>"
+            + "<option value=\"d\" selected>d &amp; e</option>"
+            + "</select>",
+        render(EncodingContext.SGML, false, document -> select(document).options(options, Arrays.asList("d", "a\"b")))
+    );
+  }
+
+  @Test
+  public void testMatchesOptionElements() throws IOException {
+    for (EncodingContext context : new EncodingContext[]{EncodingContext.SGML, EncodingContext.XML}) {
+      for (boolean whitespace : new boolean[]{false, true}) {
+        Assert.assertEquals(
+            context.getSerialization() + ", whitespace " + whitespace,
+            render(context, whitespace, document -> select(document).__(() -> {
+              option(document, "1", true, "n1");
+              option(document, "2", false, "n2");
+              option(document, "1", true, "n1");
+              option(document, "3", false, "n3");
+            })),
+            render(context, whitespace, document -> select(document).options(NUMBERS, 1))
+        );
+        Assert.assertEquals(
+            context.getSerialization() + ", whitespace " + whitespace,
+            render(context, whitespace, document -> datalist(document).__(() -> {
+              option(document, "a\"b", false, "x < y");
+              option(document, "c", false, null);
+              option(document, "d", false, "d & e");
+            })),
+            render(context, whitespace, document -> datalist(document).options(OptionList.of(OPTIONS)))
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testReplayEachSerialization() throws IOException {
+    for (EncodingContext recordContext : new EncodingContext[]{EncodingContext.SGML, EncodingContext.XML}) {
+      RenderRecording recording = TestDocument.create(recordContext, new StringWriter())
+          .record(document -> select(document).options(NUMBERS, 2, 3));
+      for (EncodingContext context : new EncodingContext[]{EncodingContext.SGML, EncodingContext.XML}) {
+        Assert.assertEquals(
+            recordContext.getSerialization() + " to " + context.getSerialization(),
+            render(context, false, document -> select(document).options(NUMBERS, 2, 3)),
+            render(context, false, document -> document.replay(recording))
+        );
+      }
+    }
+  }
+}
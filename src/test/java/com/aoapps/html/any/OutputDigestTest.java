@@ -0,0 +1,152 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  OutputDigest
+ * @see  AnyDocument#setOutputDigest(com.aoapps.html.any.OutputDigest)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class OutputDigestTest {
+
+  private static final String TEXT = "Text with <markup> & characters of each length: é € 😀";
+
+  private static byte[] sha256(byte[] bytes) throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance(OutputDigest.SHA_256).digest(bytes);
+  }
+
+  private static void render(TestDocument document) throws IOException {
+    for (int i = 0; i < 100; i++) {
+      document.text(TEXT).nl();
+    }
+  }
+
+  private static void testWriter(TestDocument document, StringWriter out, Charset charset)
+      throws IOException, NoSuchAlgorithmException {
+    document.text("Not included");
+    document.setOutputDigest(new OutputDigest(OutputDigest.SHA_256));
+    int start = out.getBuffer().length();
+    render(document);
+    OutputDigest digest = document.finishOutputDigest();
+    Assert.assertNull(document.getOutputDigest());
+    byte[] bytes = out.toString().substring(start).getBytes(charset);
+    Assert.assertEquals(bytes.length, digest.getByteCount());
+    Assert.assertArrayEquals(sha256(bytes), digest.getDigest());
+  }
+
+  @Test
+  public void testWriter() throws IOException, NoSuchAlgorithmException {
+    StringWriter out = new StringWriter();
+    testWriter(TestDocument.create(EncodingContext.XML, out), out, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testWriterBuffered() throws IOException, NoSuchAlgorithmException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setBufferSize(64);
+    testWriter(document, out, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testWriterOtherEncoding() throws IOException, NoSuchAlgorithmException {
+    EncodingContext utf16 = new EncodingContext() {
+      @Override
+      public Charset getCharacterEncoding() {
+        return StandardCharsets.UTF_16BE;
+      }
+    };
+    StringWriter out = new StringWriter();
+    testWriter(TestDocument.create(utf16, out), out, StandardCharsets.UTF_16BE);
+  }
+
+  @Test
+  public void testOutputStream() throws IOException, NoSuchAlgorithmException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    TestDocument document = TestDocument.create(EncodingContext.XML, null);
+    document.setOutputStream(bytes);
+    document.text("Not included").flush();
+    int start = bytes.size();
+    document.setOutputDigest(new OutputDigest(OutputDigest.SHA_256));
+    render(document);
+    OutputDigest digest = document.finishOutputDigest();
+    document.flush();
+    byte[] written = bytes.toByteArray();
+    byte[] included = new byte[written.length - start];
+    System.arraycopy(written, start, included, 0, included.length);
+    Assert.assertEquals(included.length, digest.getByteCount());
+    Assert.assertArrayEquals(sha256(included), digest.getDigest());
+  }
+
+  @Test
+  public void testDetachedOnReset() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out);
+    OutputDigest digest = new OutputDigest();
+    document.setOutputDigest(digest);
+    document.text("abc");
+    document.reset(out);
+    Assert.assertNull(document.getOutputDigest());
+    document.text("def");
+    Assert.assertNull(document.finishOutputDigest());
+    Assert.assertEquals("abcdef", out.toString());
+  }
+
+  @Test
+  public void testETag() throws NoSuchAlgorithmException {
+    OutputDigest digest = new OutputDigest(OutputDigest.SHA_256);
+    byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+    digest.update(bytes, 0, bytes.length);
+    Assert.assertEquals(
+        '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(bytes)) + '"',
+        digest.getETag()
+    );
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCountOnly() {
+    OutputDigest digest = new OutputDigest();
+    digest.update(new byte[3], 0, 3);
+    Assert.assertEquals(3, digest.getByteCount());
+    digest.getDigest();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUpdateAfterDigest() throws NoSuchAlgorithmException {
+    OutputDigest digest = new OutputDigest(OutputDigest.SHA_256);
+    digest.getDigest();
+    digest.update(new byte[1], 0, 1);
+  }
+}
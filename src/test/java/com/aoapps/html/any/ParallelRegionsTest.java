@@ -0,0 +1,191 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  ParallelRegions
+ *
+ * @author  AO Industries, Inc.
+ */
+public class ParallelRegionsTest {
+
+  private static final Supplier<TestDocument> factory = () -> TestDocument.create(EncodingContext.XML, null);
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  private final StringWriter out = new StringWriter();
+
+  private final TestDocument document = TestDocument.create(EncodingContext.XML, out);
+
+  @After
+  public void shutdown() throws InterruptedException {
+    executor.shutdownNow();
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testOrder() throws IOException, InterruptedException {
+    CountDownLatch secondDone = new CountDownLatch(1);
+    document.text("a");
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      regions.region(doc -> {
+        // Completes after the second region
+        try {
+          Assert.assertTrue(secondDone.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new AssertionError(e);
+        }
+        doc.text("b");
+      });
+      document.text("c");
+      regions.region(doc -> {
+        doc.text("d");
+        secondDone.countDown();
+      });
+      document.text("e");
+      regions.join();
+    }
+    document.text("f");
+    Assert.assertEquals("abcdef", out.toString());
+  }
+
+  @Test
+  public void testInheritsSettings() throws IOException {
+    document.setIndent(true).setDepth(2).setAutonli(true).setRecycleElements(true)
+        .setValidationLevel(ValidationLevel.OFF);
+    document.nl();
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      regions.region(doc -> {
+        Assert.assertTrue(doc.getIndent());
+        Assert.assertEquals(2, doc.getDepth());
+        Assert.assertTrue(doc.getAutonli());
+        Assert.assertTrue(doc.getAtnl());
+        Assert.assertTrue(doc.getRecycleElements());
+        Assert.assertTrue(doc.getWhitespace());
+        Assert.assertEquals(ValidationLevel.OFF, doc.getValidationLevel());
+        Assert.assertFalse(doc.getValidating());
+        doc.indent().text("region");
+      });
+      regions.join();
+    }
+    Assert.assertEquals("\n    region", out.toString());
+  }
+
+  @Test
+  public void testInheritsSampledValidation() throws IOException {
+    document.setValidationLevel(ValidationLevel.SAMPLED).setValidationSampleRate(1_000_000);
+    boolean validating = document.getValidating();
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      for (int i = 0; i < 10; i++) {
+        regions.region(doc -> {
+          Assert.assertEquals(ValidationLevel.SAMPLED, doc.getValidationLevel());
+          Assert.assertEquals(1_000_000, doc.getValidationSampleRate());
+          Assert.assertEquals(validating, doc.getValidating());
+        });
+      }
+      regions.join();
+    }
+  }
+
+  @Test
+  public void testDiscardedOnException() throws IOException {
+    document.text("before");
+    IllegalStateException thrown = new IllegalStateException("Test");
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      regions.region(doc -> doc.text("region"));
+      document.text("between");
+      if (thrown != null) {
+        throw thrown;
+      }
+      regions.join();
+    } catch (IllegalStateException e) {
+      Assert.assertSame(thrown, e);
+      Assert.assertEquals(1, e.getSuppressed().length);
+    }
+    Assert.assertEquals("before", out.toString());
+    // Output is restored to the document writer
+    document.text("after");
+    Assert.assertEquals("beforeafter", out.toString());
+  }
+
+  @Test
+  public void testDiscardedOnRegionFailure() throws IOException {
+    document.text("before");
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      regions.region(doc -> doc.text("first"));
+      document.text("between");
+      regions.region(doc -> {
+        throw new IOException("Test");
+      });
+      try {
+        regions.join();
+        Assert.fail("IOException expected");
+      } catch (IOException e) {
+        Assert.assertEquals("Test", e.getMessage());
+      }
+    }
+    Assert.assertEquals("before", out.toString());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCloseWithoutJoin() {
+    try (ParallelRegions<TestDocument> regions = document.parallel(factory, executor)) {
+      // Not joined
+    }
+  }
+
+  @Test
+  public void testDifferentDoctype() throws IOException {
+    EncodingContext strict = new EncodingContext() {
+      @Override
+      public Doctype getDoctype() {
+        return Doctype.STRICT;
+      }
+    };
+    try (ParallelRegions<TestDocument> regions = document.parallel(() -> TestDocument.create(strict, null), executor)) {
+      try {
+        regions.region(doc -> doc.text("region"));
+        Assert.fail("IllegalStateException expected");
+      } catch (IllegalStateException e) {
+        // Expected
+      }
+      regions.join();
+    }
+    Assert.assertEquals("", out.toString());
+  }
+}
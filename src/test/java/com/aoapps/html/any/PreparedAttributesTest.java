@@ -0,0 +1,95 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  PreparedAttributes
+ *
+ * @author  AO Industries, Inc.
+ */
+public class PreparedAttributesTest {
+
+  private static final EncodingContext STRICT = new EncodingContext() {
+    @Override
+    public Doctype getDoctype() {
+      return Doctype.STRICT;
+    }
+  };
+
+  private static String render(
+      EncodingContext encodingContext,
+      ValidationLevel validationLevel,
+      PreparedAttributes<? super TestElement> prepared
+  ) throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(encodingContext, out);
+    document.setValidationLevel(validationLevel);
+    new TestElement(document).open().attributes(prepared).id("dynamic");
+    return out.toString();
+  }
+
+  @Test
+  public void testReused() throws IOException {
+    PreparedAttributes<TestElement> prepared = new PreparedAttributes<>(e -> e.clazz("row").title("a < b"));
+    String expected = "<test class=\"row\" title=\"a &lt; b\" id=\"dynamic\"";
+    Assert.assertEquals(expected, render(EncodingContext.DEFAULT, ValidationLevel.FULL, prepared));
+    Assert.assertEquals(expected, render(EncodingContext.DEFAULT, ValidationLevel.FULL, prepared));
+    Assert.assertEquals(expected, render(EncodingContext.DEFAULT, ValidationLevel.OFF, prepared));
+  }
+
+  @Test
+  public void testValidatedWhenPreparedWithoutValidation() throws IOException {
+    PreparedAttributes<TestElement> prepared = new PreparedAttributes<>(e -> e.tabindex(1));
+    try {
+      render(STRICT, ValidationLevel.OFF, prepared);
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      render(STRICT, ValidationLevel.FULL, prepared);
+      Assert.fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testValidationLevelRestored() throws IOException {
+    PreparedAttributes<TestElement> prepared = new PreparedAttributes<>(e -> e.clazz("row"));
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(STRICT, out);
+    document.setValidationLevel(ValidationLevel.OFF);
+    new TestElement(document).open().attributes(prepared).tabindex(1);
+    Assert.assertFalse(document.getValidating());
+    Assert.assertEquals("<test class=\"row\" tabindex=\"1\"", out.toString());
+  }
+}
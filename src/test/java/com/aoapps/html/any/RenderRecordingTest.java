@@ -0,0 +1,122 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.html.any.attributes.enumeration.Crossorigin;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  RenderRecording
+ *
+ * @author  AO Industries, Inc.
+ */
+public class RenderRecordingTest {
+
+  /**
+   * Renders output that differs by serialization, with indentation that goes deeper than where it starts.
+   */
+  private static void body(TestDocument document) throws IOException {
+    document.nli().text("<a>").incDepth();
+    new TestElement(document).open().crossorigin(Crossorigin.Value.ANONYMOUS);
+    document.nli().text("b");
+    new TestElement(document).open().crossorigin(Crossorigin.Value.USE_CREDENTIALS);
+    document.decDepth().nli().text("</a>");
+  }
+
+  /**
+   * Renders at the given depth, followed by a marker to show the state afterward.
+   */
+  private static String render(EncodingContext context, int depth, IOConsumerE<TestDocument, IOException> body)
+      throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(context, out).setIndent(true).setDepth(depth);
+    body.accept(document);
+    document.nli().text("end:" + document.getDepth());
+    return out.toString();
+  }
+
+  @Test
+  public void testReplayEachSerialization() throws IOException {
+    for (EncodingContext recordContext : new EncodingContext[]{EncodingContext.SGML, EncodingContext.XML}) {
+      RenderRecording recording = TestDocument.create(recordContext, new StringWriter()).setIndent(true).setDepth(1)
+          .record(RenderRecordingTest::body);
+      for (EncodingContext context : new EncodingContext[]{EncodingContext.SGML, EncodingContext.XML}) {
+        for (int depth : new int[]{1, 3, 2}) {
+          Assert.assertEquals(
+              recordContext.getSerialization() + " to " + context.getSerialization() + " at depth " + depth,
+              render(context, depth, RenderRecordingTest::body),
+              render(context, depth, document -> document.replay(recording))
+          );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRecordWritesNothing() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(2);
+    document.record(RenderRecordingTest::body);
+    Assert.assertEquals("", out.toString());
+    Assert.assertEquals(2, document.getDepth());
+    Assert.assertFalse(document.getAtnl());
+  }
+
+  @Test
+  public void testRecordBodyThrows() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(2);
+    try {
+      document.record(d -> {
+        body(d);
+        d.incDepth().nli(-3);
+        throw new IOException("body");
+      });
+      Assert.fail("IOException expected");
+    } catch (IOException e) {
+      Assert.assertEquals("body", e.getMessage());
+    }
+    Assert.assertEquals("", out.toString());
+    Assert.assertEquals(2, document.getDepth());
+    Assert.assertFalse(document.getAtnl());
+    document.record(RenderRecordingTest::body);
+    document.text("end");
+    Assert.assertEquals("end", out.toString());
+  }
+
+  @Test
+  public void testRecordWhileRecording() throws IOException {
+    TestDocument document = TestDocument.create(EncodingContext.XML, new StringWriter());
+    try {
+      document.record(d -> d.record(RenderRecordingTest::body));
+      Assert.fail("Exception expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Unable to record while already recording or capturing", e.getMessage());
+    }
+  }
+}
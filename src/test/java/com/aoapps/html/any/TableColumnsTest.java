@@ -0,0 +1,135 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.lang.io.function.IOConsumerE;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  TableColumns
+ * @see  AnyTBODY#rows(java.util.Iterator, com.aoapps.html.any.TableColumns)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class TableColumnsTest {
+
+  private static final TableColumns<String[]> COLUMNS = TableColumns.<String[]>of()
+      .column(row -> row[0])
+      .column("b \"c\"", row -> row[1]);
+
+  private static final List<String[]> ROWS = Arrays.asList(
+      new String[]{"1", "a & b"},
+      new String[]{null, "<c>"},
+      new String[]{"2", null}
+  );
+
+  private static final String EXPECTED =
+      "<tbody>"
+          + "<tr><td>1</td><td class=\"b &quot;c&quot;\">a &amp; b</td></tr>"
+          + "<tr><td></td><td class=\"b &quot;c&quot;\">&lt;c&gt;</td></tr>"
+          + "<tr><td>2</td><td class=\"b &quot;c&quot;\"></td></tr>"
+          + "</tbody>";
+
+  private static String render(boolean autonli, IOConsumerE<TestTable.TBODY, IOException> rows) throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(autonli).setAutonli(autonli);
+    rows.accept(TestTable.tbody(document));
+    return out.toString();
+  }
+
+  @Test
+  public void testColumnIsImmutable() {
+    TableColumns<Object> empty = TableColumns.of();
+    TableColumns<Object> one = empty.column(String::valueOf);
+    TableColumns<Object> two = one.column("a", String::valueOf);
+    Assert.assertEquals(0, empty.size());
+    Assert.assertEquals(1, one.size());
+    Assert.assertEquals(2, two.size());
+    Assert.assertEquals("a", two.getClazz(1));
+  }
+
+  @Test
+  public void testOpenEncodesClass() {
+    TableColumns<Object> columns = TableColumns.of()
+        .column(" ", String::valueOf)
+        .column(" a<b ", String::valueOf);
+    Assert.assertNull(columns.getClazz(0));
+    Assert.assertEquals("<td", columns.getOpen(0));
+    Assert.assertEquals("a<b", columns.getClazz(1));
+    Assert.assertEquals("<td class=\"a&lt;b\"", columns.getOpen(1));
+  }
+
+  @Test
+  public void testRowsDirect() throws IOException {
+    Assert.assertEquals(EXPECTED, render(false, tbody -> tbody.rows(ROWS, COLUMNS)));
+    Assert.assertEquals(EXPECTED, render(false, tbody -> tbody.rows(ROWS.stream(), COLUMNS)));
+    Assert.assertEquals(EXPECTED, render(false, tbody -> tbody.rows(ROWS.spliterator(), COLUMNS)));
+    Assert.assertEquals(EXPECTED, render(false, tbody -> tbody.rows(ROWS.iterator(), COLUMNS)));
+  }
+
+  @Test
+  public void testRowsWithElements() throws IOException {
+    Assert.assertEquals(
+        render(true, tbody -> tbody.__(body -> {
+          for (String[] row : ROWS) {
+            body.tr().__(tr -> {
+              tr.td().__(row[0]);
+              tr.td().clazz("b \"c\"").__(row[1]);
+            });
+          }
+        })),
+        render(true, tbody -> tbody.rows(ROWS, COLUMNS))
+    );
+    Assert.assertEquals(EXPECTED, render(true, tbody -> tbody.rows(ROWS, COLUMNS)).replaceAll("\n *", ""));
+  }
+
+  @Test
+  public void testNoRows() throws IOException {
+    Assert.assertEquals("<tbody></tbody>", render(false, tbody -> tbody.rows(Arrays.<String[]>asList(), COLUMNS)));
+    Assert.assertEquals(
+        "<tbody><tr></tr></tbody>",
+        render(false, tbody -> tbody.rows(ROWS.subList(0, 1), TableColumns.of()))
+    );
+  }
+
+  @Test
+  public void testRowsTableArrays() throws IOException {
+    TableArrays columns = TableArrays.of()
+        .column(new int[]{1, 2})
+        .column("b", new CharSequence[]{"a & b", null});
+    String expected =
+        "<tbody>"
+            + "<tr><td>1</td><td class=\"b\">a &amp; b</td></tr>"
+            + "<tr><td>2</td><td class=\"b\"></td></tr>"
+            + "</tbody>";
+    Assert.assertEquals(expected, render(false, tbody -> tbody.rows(columns)));
+    Assert.assertEquals(expected, render(true, tbody -> tbody.rows(columns)).replaceAll("\n *", ""));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Template
+ *
+ * @author  AO Industries, Inc.
+ */
+public class TemplateTest {
+
+  private static final Template<TestDocument> ITEM = new Template<>(document -> {
+    document.nli().text("[").hole(0).text("]").incDepth();
+    document.nli().text("(").hole(1).text(")").decDepth();
+    document.nli().hole(0);
+  });
+
+  /**
+   * Renders the body of {@link #ITEM} directly, as the expected output.
+   */
+  private static void item(TestDocument document, Object value0, Object value1) throws IOException {
+    document.nli().text("[").text(value0).text("]").incDepth();
+    document.nli().text("(").text(value1).text(")").decDepth();
+    document.nli().text(value0);
+  }
+
+  private static final Template<TestDocument> BLOCK = new Template<>(document -> {
+    TestNormal.div(document).__(div -> {
+      div.getDocument().hole(0);
+    });
+    document.hole(1);
+  });
+
+  /**
+   * Renders the body of {@link #BLOCK} directly, as the expected output.
+   */
+  private static void block(TestDocument document, Object value0, Object value1) throws IOException {
+    TestNormal.div(document).__(div -> {
+      div.getDocument().text(value0);
+    });
+    document.text(value1);
+  }
+
+  private static TestDocument newDocument(StringWriter out, int depth) {
+    return TestDocument.create(EncodingContext.XML, out).setIndent(true).setDepth(depth);
+  }
+
+  @Test
+  public void testReplayHoles() throws IOException {
+    Object[][] values = {
+        {"a", 1},
+        {"b & c", 2.5},
+        {"", null},
+        {"d\ne", "f"}
+    };
+    for (int depth : new int[]{1, 3, 0, 2}) {
+      for (Object[] value : values) {
+        StringWriter expected = new StringWriter();
+        item(newDocument(expected, depth), value[0], value[1]);
+        newDocument(expected, depth).nli().text("end");
+        StringWriter out = new StringWriter();
+        newDocument(out, depth).template(ITEM, value).nli().text("end");
+        Assert.assertEquals(expected.toString(), out.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testReplayHolesAtnl() throws IOException {
+    Object[][] values = {
+        {"a", "b"},
+        {"c & d", 1},
+        {"e\nf", "g\n"},
+        {'h', "i\nj\n"}
+    };
+    for (int depth : new int[]{1, 0, 2}) {
+      for (Object[] value : values) {
+        StringWriter expected = new StringWriter();
+        TestDocument expectedDocument = newDocument(expected, depth).setAutonli(true);
+        block(expectedDocument, value[0], value[1]);
+        TestNormal.div(expectedDocument).__();
+        StringWriter out = new StringWriter();
+        TestNormal.div(newDocument(out, depth).setAutonli(true).template(BLOCK, value)).__();
+        Assert.assertEquals(expected.toString(), out.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testNestedTemplate() throws IOException {
+    Template<TestDocument> inner = new Template<>(document -> document.text("<").hole(0).text(">"));
+    Template<TestDocument> outer = new Template<>(document -> document.hole(0).template(inner, "x").hole(1));
+    for (String value : new String[]{"a", "b", "c"}) {
+      StringWriter out = new StringWriter();
+      newDocument(out, 0).template(outer, value, value + value);
+      Assert.assertEquals(value + "&lt;x&gt;" + value + value, out.toString());
+    }
+  }
+
+  @Test
+  public void testHoleNotTemplate() throws IOException {
+    try {
+      newDocument(new StringWriter(), 0).hole(0);
+      Assert.fail("IllegalStateException expected");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Holes may only be used while rendering a template", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testHoleWithinCached() throws IOException {
+    Template<TestDocument> template = new Template<>(document -> document.cached("key", () -> document.hole(0)));
+    for (FragmentCache cache : new FragmentCache[]{null, new FragmentCache()}) {
+      StringWriter out = new StringWriter();
+      try {
+        newDocument(out, 0).setFragmentCache(cache).template(template, "a");
+        Assert.fail("IllegalStateException expected");
+      } catch (IllegalStateException e) {
+        Assert.assertEquals("Holes may not be used within a cached subtree", e.getMessage());
+      }
+      Assert.assertEquals("", out.toString());
+    }
+  }
+
+  @Test
+  public void testTemplateWithinCached() throws IOException {
+    Template<TestDocument> template = new Template<>(document -> document.text("<").hole(0).text(">"));
+    FragmentCache cache = new FragmentCache();
+    for (int i = 0; i < 2; i++) {
+      StringWriter out = new StringWriter();
+      TestDocument document = newDocument(out, 0).setFragmentCache(cache);
+      document.cached("key", () -> document.template(template, "a"));
+      Assert.assertEquals("&lt;a&gt;", out.toString());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+
+/**
+ * A document for testing the document itself, along with the test elements.
+ *
+ * <p>The element factories are all abstract and are implemented by concrete documents elsewhere.  Rather than
+ * implement each here, a {@linkplain Concrete concrete subclass} is generated.  Calling any element factory throws
+ * {@link AbstractMethodError}, other than {@link #script()}, which is used by deferred regions.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+abstract class TestDocument extends AnyDocument<TestDocument> {
+
+  private static final Constructor<? extends TestDocument> constructor =
+      Concrete.subclass(TestDocument.class, EncodingContext.class, Writer.class, Boolean.class);
+
+  /**
+   * Creates a new document.
+   *
+   * @param  whitespace  Enables whitespace handling
+   */
+  static TestDocument create(EncodingContext encodingContext, Writer out, boolean whitespace) {
+    return Concrete.newInstance(constructor, encodingContext, out, whitespace);
+  }
+
+  /**
+   * Creates a new document, with whitespace handling enabled.
+   */
+  static TestDocument create(EncodingContext encodingContext, Writer out) {
+    return create(encodingContext, out, true);
+  }
+
+  TestDocument(EncodingContext encodingContext, Writer out, Boolean whitespace) {
+    super(encodingContext, out, whitespace);
+  }
+
+  @Override
+  public TestSCRIPT script() throws IOException {
+    return TestSCRIPT.script(this);
+  }
+}
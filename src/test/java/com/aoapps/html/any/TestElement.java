@@ -0,0 +1,58 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import com.aoapps.html.any.attributes.enumeration.Crossorigin;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * An element for testing attributes, which writes {@code <test} and supports all global attributes and {@link Crossorigin}.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TestElement extends Element<TestDocument, TestDocument, TestElement>
+    implements Crossorigin<TestElement> {
+
+  TestElement(TestDocument document) {
+    super(document, document);
+  }
+
+  /**
+   * Writes the beginning of the opening tag.
+   *
+   * @return  {@code this} element
+   */
+  TestElement open() throws IOException {
+    @SuppressWarnings("deprecation")
+    Writer unsafe = document.getRawUnsafe(null);
+    writeOpen(unsafe);
+    return this;
+  }
+
+  @Override
+  protected void writeOpen(Writer unsafe) throws IOException {
+    unsafe.write("<test");
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import java.io.IOException;
+
+/**
+ * A {@code <link>} for testing, created through
+ * {@link AnyDocument#element(java.lang.Class, com.aoapps.html.any.Content, java.util.function.BiFunction)}.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TestLINK extends AnyLINK<TestDocument, TestDocument, TestLINK> {
+
+  private TestLINK(TestDocument document, TestDocument pc) {
+    super(document, pc);
+  }
+
+  /**
+   * Opens a new or recycled {@code <link>}.
+   */
+  @SuppressWarnings("deprecation")
+  static TestLINK link(TestDocument document) throws IOException {
+    TestLINK link = document.element(TestLINK.class, document, TestLINK::new);
+    link.writeOpen(document.getRawUnsafe(null));
+    return link;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Normal elements for testing, which are written the same as {@code <div>} and are created through
+ * {@link AnyDocument#element(java.lang.Class, com.aoapps.html.any.Content, java.util.function.BiFunction)}.
+ *
+ * @param  <PC>  The parent content model this element is within
+ * @param  <E>   This element type
+ *
+ * @author  AO Industries, Inc.
+ */
+abstract class TestNormal<
+    PC extends Content<TestDocument, PC>,
+    E  extends TestNormal<PC, E>
+    >
+    extends Normal<TestDocument, PC, E, TestNormal.Body<PC>, TestNormal.Body_c<PC>> {
+
+  private final String open;
+  private final String close;
+
+  private TestNormal(TestDocument document, PC pc, String open, String close) {
+    super(document, pc);
+    this.open = open;
+    this.close = close;
+  }
+
+  /**
+   * Writes the beginning of the opening tag.
+   *
+   * @return  {@code this} element
+   */
+  @SuppressWarnings("deprecation")
+  E open() throws IOException {
+    writeOpen(document.getRawUnsafe(null));
+    @SuppressWarnings("unchecked")
+    E element = (E) this;
+    return element;
+  }
+
+  @Override
+  protected void writeOpen(Writer unsafe) throws IOException {
+    document.autoNli(unsafe).unsafe(unsafe, open, false);
+  }
+
+  @Override
+  protected void doBeforeBody(Writer unsafe) throws IOException {
+    document.autoNl(unsafe);
+  }
+
+  @Override
+  protected void writeClose(Writer unsafe, boolean closeAttributes) throws IOException {
+    if (closeAttributes) {
+      document.autoIndent(unsafe).unsafe(unsafe, '>');
+    } else {
+      document.autoNli(unsafe);
+    }
+    document.unsafe(unsafe, close, false).autoNl(unsafe);
+  }
+
+  @Override
+  protected Body<PC> new__() {
+    return new Body<>(this);
+  }
+
+  @Override
+  protected Body_c<PC> new_c() {
+    return new Body_c<>(this);
+  }
+
+  /**
+   * The content of a {@link TestNormal}.
+   */
+  static final class Body<PC extends Content<TestDocument, PC>> extends Normal__<TestDocument, PC, Body<PC>> {
+
+    private Body(TestNormal<PC, ?> element) {
+      super(element);
+    }
+  }
+
+  /**
+   * The closeable content of a {@link TestNormal}.
+   */
+  static final class Body_c<PC extends Content<TestDocument, PC>> extends Normal_c<TestDocument, PC, Body_c<PC>> {
+
+    private Body_c(TestNormal<PC, ?> element) {
+      super(element);
+    }
+  }
+
+  /**
+   * Written as {@code <div>}.
+   */
+  static final class Div<PC extends Content<TestDocument, PC>> extends TestNormal<PC, Div<PC>> {
+
+    private Div(TestDocument document, PC pc) {
+      super(document, pc, "<div", "</div>");
+    }
+  }
+
+  /**
+   * Written as {@code <span>}.
+   */
+  static final class Span<PC extends Content<TestDocument, PC>> extends TestNormal<PC, Span<PC>> {
+
+    private Span(TestDocument document, PC pc) {
+      super(document, pc, "<span", "</span>");
+    }
+  }
+
+  /**
+   * Opens a new or recycled {@code <div>}.
+   */
+  static <PC extends Content<TestDocument, PC>> Div<PC> div(PC pc) throws IOException {
+    Div<PC> div = pc.getDocument().element(Div.class, pc, (TestDocument document, PC p) -> new Div<>(document, p));
+    return div.open();
+  }
+
+  /**
+   * Opens a new or recycled {@code <span>}.
+   */
+  static <PC extends Content<TestDocument, PC>> Span<PC> span(PC pc) throws IOException {
+    Span<PC> span = pc.getDocument().element(Span.class, pc, (TestDocument document, PC p) -> new Span<>(document, p));
+    return span.open();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+
+/**
+ * A {@code <script>} for testing, as created by {@link TestDocument#script()}.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TestSCRIPT extends AnySCRIPT<TestDocument, TestDocument, TestSCRIPT> {
+
+  private TestSCRIPT(TestDocument document, TestDocument pc) {
+    super(document, pc);
+  }
+
+  /**
+   * Opens a new {@code <script>}.
+   */
+  @SuppressWarnings("deprecation")
+  static TestSCRIPT script(TestDocument document) throws IOException {
+    TestSCRIPT script = new TestSCRIPT(document, document);
+    script.writeOpen(document.getRawUnsafe(null));
+    script.type();
+    return script;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+/**
+ * Table elements for testing {@link AnyTBODY#rows(java.util.Iterator, com.aoapps.html.any.TableColumns)}.  Only the
+ * factories for {@code <tr>} and {@code <td>} are implemented.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TestTable {
+
+  /** Make no instances. */
+  private TestTable() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The parent content model of {@link TBODY}, which is never created.
+   */
+  abstract static class Table implements AnyTABLE_content<TestDocument, Table> {
+    // Only used as a type
+  }
+
+  private static final Constructor<? extends TBODY__> tbody__ = Concrete.subclass(TBODY__.class, TBODY.class);
+  private static final Constructor<? extends TBODY_c> tbody_c = Concrete.subclass(TBODY_c.class, TBODY.class);
+  private static final Constructor<?> tr__ = Concrete.subclass(TR__.class, TR.class);
+  private static final Constructor<?> tr_c = Concrete.subclass(TR_c.class, TR.class);
+  private static final Constructor<?> td__ = Concrete.subclass(TD__.class, TD.class);
+  private static final Constructor<?> td_c = Concrete.subclass(TD_c.class, TD.class);
+
+  /**
+   * Opens a new {@code <tbody>}, with no parent content model.
+   */
+  @SuppressWarnings("deprecation")
+  static TBODY tbody(TestDocument document) throws IOException {
+    TBODY tbody = new TBODY(document);
+    tbody.writeOpen(document.getRawUnsafe(null));
+    return tbody;
+  }
+
+  static final class TBODY extends AnyTBODY<TestDocument, Table, TBODY, TBODY__, TBODY_c> {
+
+    private TBODY(TestDocument document) {
+      super(document, null);
+    }
+
+    @Override
+    protected TBODY__ new__() {
+      return Concrete.newInstance(tbody__, this);
+    }
+
+    @Override
+    protected TBODY_c new_c() {
+      return Concrete.newInstance(tbody_c, this);
+    }
+  }
+
+  abstract static class TBODY__ extends AnyTBODY__<TestDocument, Table, TBODY__> {
+
+    TBODY__(TBODY element) {
+      super(element);
+    }
+
+    @Override
+    public TR<TBODY__> tr() throws IOException {
+      return TestTable.tr(this);
+    }
+  }
+
+  abstract static class TBODY_c extends AnyTBODY_c<TestDocument, Table, TBODY_c> {
+
+    TBODY_c(TBODY element) {
+      super(element);
+    }
+
+    @Override
+    public TR<TBODY_c> tr() throws IOException {
+      return TestTable.tr(this);
+    }
+  }
+
+  /**
+   * Opens a new {@code <tr>}.
+   */
+  @SuppressWarnings("deprecation")
+  static <PC extends AnyUnion_TBODY_THEAD_TFOOT<TestDocument, PC>> TR<PC> tr(PC pc) throws IOException {
+    TR<PC> tr = new TR<>(pc.getDocument(), pc);
+    tr.writeOpen(pc.getDocument().getRawUnsafe(null));
+    return tr;
+  }
+
+  static final class TR<PC extends AnyUnion_TBODY_THEAD_TFOOT<TestDocument, PC>>
+      extends AnyTR<TestDocument, PC, TR<PC>, TR__<PC>, TR_c<PC>> {
+
+    private TR(TestDocument document, PC pc) {
+      super(document, pc);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected TR__<PC> new__() {
+      return (TR__<PC>) Concrete.newInstance(tr__, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected TR_c<PC> new_c() {
+      return (TR_c<PC>) Concrete.newInstance(tr_c, this);
+    }
+  }
+
+  abstract static class TR__<PC extends AnyUnion_TBODY_THEAD_TFOOT<TestDocument, PC>>
+      extends AnyTR__<TestDocument, PC, TR__<PC>> {
+
+    TR__(TR<PC> element) {
+      super(element);
+    }
+
+    @Override
+    public TD<TR__<PC>> td() throws IOException {
+      return TestTable.td(this);
+    }
+  }
+
+  abstract static class TR_c<PC extends AnyUnion_TBODY_THEAD_TFOOT<TestDocument, PC>>
+      extends AnyTR_c<TestDocument, PC, TR_c<PC>> {
+
+    TR_c(TR<PC> element) {
+      super(element);
+    }
+
+    @Override
+    public TD<TR_c<PC>> td() throws IOException {
+      return TestTable.td(this);
+    }
+  }
+
+  /**
+   * Opens a new {@code <td>}.
+   */
+  @SuppressWarnings("deprecation")
+  static <PC extends AnyTR_content<TestDocument, PC>> TD<PC> td(PC pc) throws IOException {
+    TD<PC> td = new TD<>(pc.getDocument(), pc);
+    td.writeOpen(pc.getDocument().getRawUnsafe(null));
+    return td;
+  }
+
+  static final class TD<PC extends AnyTR_content<TestDocument, PC>>
+      extends AnyTD<TestDocument, PC, TD<PC>, TD__<PC>, TD_c<PC>> {
+
+    private TD(TestDocument document, PC pc) {
+      super(document, pc);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected TD__<PC> new__() {
+      return (TD__<PC>) Concrete.newInstance(td__, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected TD_c<PC> new_c() {
+      return (TD_c<PC>) Concrete.newInstance(td_c, this);
+    }
+  }
+
+  abstract static class TD__<PC extends AnyTR_content<TestDocument, PC>> extends AnyTD__<TestDocument, PC, TD__<PC>> {
+
+    TD__(TD<PC> element) {
+      super(element);
+    }
+  }
+
+  abstract static class TD_c<PC extends AnyTR_content<TestDocument, PC>> extends AnyTD_c<TestDocument, PC, TD_c<PC>> {
+
+    TD_c(TD<PC> element) {
+      super(element);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import com.aoapps.hodgepodge.i18n.BundleLookupThreadContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.Executor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  AnyDocument#getThreadContext()
+ * @see  AnyDocument#refreshThreadContext()
+ *
+ * @author  AO Industries, Inc.
+ */
+public class ThreadContextTest {
+
+  private final StringWriter out = new StringWriter();
+
+  private final TestDocument document = TestDocument.create(EncodingContext.XML, out);
+
+  @After
+  public void removeThreadContext() {
+    BundleLookupThreadContext.removeThreadContext();
+  }
+
+  @Test
+  public void testNone() {
+    Assert.assertNull(document.getThreadContext());
+  }
+
+  @Test
+  public void testResolvedOnFirstUse() {
+    BundleLookupThreadContext threadContext = BundleLookupThreadContext.getThreadContext(true);
+    Assert.assertSame(threadContext, document.getThreadContext());
+    Assert.assertSame(threadContext, document.getThreadContext());
+  }
+
+  @Test
+  public void testStartedAfterResolved() {
+    Assert.assertNull(document.getThreadContext());
+    BundleLookupThreadContext threadContext = BundleLookupThreadContext.getThreadContext(true);
+    // Not looked-up again
+    Assert.assertNull(document.getThreadContext());
+    Assert.assertSame(threadContext, document.refreshThreadContext().getThreadContext());
+  }
+
+  @Test
+  public void testStoppedAfterResolved() {
+    BundleLookupThreadContext threadContext = BundleLookupThreadContext.getThreadContext(true);
+    Assert.assertSame(threadContext, document.getThreadContext());
+    BundleLookupThreadContext.removeThreadContext();
+    // Not looked-up again
+    Assert.assertSame(threadContext, document.getThreadContext());
+    Assert.assertNull(document.refreshThreadContext().getThreadContext());
+  }
+
+  @Test
+  public void testRefreshedOnReset() {
+    Assert.assertNull(document.getThreadContext());
+    BundleLookupThreadContext threadContext = BundleLookupThreadContext.getThreadContext(true);
+    Assert.assertSame(threadContext, document.reset(out).getThreadContext());
+  }
+
+  @Test
+  public void testDeferredRenderedDirectly() throws IOException {
+    Executor executor = task -> {
+      throw new AssertionError("Must not be deferred");
+    };
+    TestDocument document = TestDocument.create(EncodingContext.SGML, out)
+        .setDeferred(() -> TestDocument.create(EncodingContext.SGML, null), executor);
+    BundleLookupThreadContext.getThreadContext(true);
+    document.refreshThreadContext()
+        .deferred(doc -> doc.text("placeholder"), doc -> doc.text("region"))
+        .writeDeferred();
+    Assert.assertEquals("region", out.toString());
+  }
+}
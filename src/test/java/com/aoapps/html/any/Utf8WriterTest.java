@@ -0,0 +1,288 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.html.any;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  Utf8Writer
+ *
+ * @author  AO Industries, Inc.
+ */
+public class Utf8WriterTest {
+
+  /**
+   * The smallest buffer allowed, to exercise every buffer boundary.
+   */
+  private static final int MIN_BUFFER_SIZE = 4;
+
+  private static final String MIXED = "aé€😀<ÿࠀ￿𐀀z";
+
+  private static String randomString(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      switch (random.nextInt(8)) {
+        case 0:
+          chars[i] = (char) (0x80 + random.nextInt(0x800 - 0x80));
+          break;
+        case 1:
+          chars[i] = (char) (0x800 + random.nextInt(Character.MIN_SURROGATE - 0x800));
+          break;
+        case 2:
+          chars[i] = (char) (Character.MIN_HIGH_SURROGATE
+              + random.nextInt(Character.MAX_HIGH_SURROGATE - Character.MIN_HIGH_SURROGATE + 1));
+          break;
+        case 3:
+          chars[i] = (char) (Character.MIN_LOW_SURROGATE
+              + random.nextInt(Character.MAX_LOW_SURROGATE - Character.MIN_LOW_SURROGATE + 1));
+          break;
+        default:
+          chars[i] = (char) random.nextInt(0x80);
+      }
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Writes the string in random pieces, through each of the write methods.
+   */
+  private static void writeRandomly(Random random, Utf8Writer out, String str) throws IOException {
+    int pos = 0;
+    int len = str.length();
+    while (pos < len) {
+      int end = Math.min(len, pos + 1 + random.nextInt(16));
+      switch (random.nextInt(5)) {
+        case 0:
+          for (int i = pos; i < end; i++) {
+            out.write(str.charAt(i));
+          }
+          break;
+        case 1:
+          out.write(str.toCharArray(), pos, end - pos);
+          break;
+        case 2:
+          out.write(str, pos, end - pos);
+          break;
+        case 3:
+          out.append(new StringBuilder(str), pos, end);
+          break;
+        default:
+          out.append(str.subSequence(pos, end));
+      }
+      pos = end;
+    }
+  }
+
+  private static byte[] encode(int bufferSize, String str) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Utf8Writer out = new Utf8Writer(bufferSize);
+    out.setOut(bytes);
+    out.write(str);
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void testMatchesStringGetBytes() throws IOException {
+    for (int bufferSize = MIN_BUFFER_SIZE; bufferSize <= 16; bufferSize++) {
+      Assert.assertArrayEquals(MIXED.getBytes(StandardCharsets.UTF_8), encode(bufferSize, MIXED));
+    }
+  }
+
+  @Test
+  public void testSurrogatePairAcrossWrites() throws IOException {
+    String pair = "😀";
+    for (int bufferSize = MIN_BUFFER_SIZE; bufferSize <= 8; bufferSize++) {
+      for (int prefix = 0; prefix <= bufferSize; prefix++) {
+        char[] chars = new char[prefix];
+        Arrays.fill(chars, 'x');
+        String str = new String(chars) + pair;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8Writer out = new Utf8Writer(bufferSize);
+        out.setOut(bytes);
+        out.write(str, 0, prefix + 1);
+        out.flush();
+        out.write(str, prefix + 1, 1);
+        out.close();
+        Assert.assertArrayEquals(str.getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+      }
+    }
+  }
+
+  @Test
+  public void testUnpairedSurrogates() throws IOException {
+    for (String str : new String[]{
+        "\ud800",
+        "\udc00",
+        "a\ud800b",
+        "a\udc00b",
+        "\ud800𐀀",
+        "\udc00\ud800",
+        "\ud800é",
+        "\ud800€"
+    }) {
+      for (int bufferSize = MIN_BUFFER_SIZE; bufferSize <= 8; bufferSize++) {
+        Assert.assertArrayEquals(str, str.getBytes(StandardCharsets.UTF_8), encode(bufferSize, str));
+      }
+    }
+  }
+
+  @Test
+  public void testRandomWrites() throws IOException {
+    Random random = new Random(0);
+    for (int iteration = 0; iteration < 1000; iteration++) {
+      String str = randomString(random, random.nextInt(200));
+      int bufferSize = MIN_BUFFER_SIZE + random.nextInt(32);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      Utf8Writer out = new Utf8Writer(bufferSize);
+      out.setOut(bytes);
+      writeRandomly(random, out, str);
+      out.close();
+      Assert.assertArrayEquals(str.getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+    }
+  }
+
+  private static byte[] concat(byte[]... arrays) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (byte[] array : arrays) {
+      bytes.write(array, 0, array.length);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void testWriteUtf8() throws IOException {
+    Random random = new Random(0);
+    for (int iteration = 0; iteration < 1000; iteration++) {
+      int bufferSize = MIN_BUFFER_SIZE + random.nextInt(32);
+      // A trailing high surrogate is unpaired by the pre-encoded bytes that follow
+      String before = randomString(random, random.nextInt(20));
+      // Up to several times the buffer size, so some are written directly
+      byte[] encoded = randomString(random, random.nextInt(bufferSize * 3)).getBytes(StandardCharsets.UTF_8);
+      String after = randomString(random, random.nextInt(20));
+      byte[] expected = concat(
+          before.getBytes(StandardCharsets.UTF_8),
+          encoded,
+          after.getBytes(StandardCharsets.UTF_8)
+      );
+      // Stream
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      Utf8Writer out = new Utf8Writer(bufferSize);
+      out.setOut(bytes);
+      out.write(before);
+      out.writeUtf8(encoded, 0, encoded.length);
+      out.write(after);
+      out.close();
+      Assert.assertArrayEquals(expected, bytes.toByteArray());
+      // Channel
+      bytes.reset();
+      out.setOut(Channels.newChannel(bytes));
+      out.write(before);
+      out.writeUtf8(encoded, 0, encoded.length);
+      out.write(after);
+      out.close();
+      Assert.assertArrayEquals(expected, bytes.toByteArray());
+      // Buffer
+      ByteBuffer target = ByteBuffer.allocate(expected.length);
+      out.setOut(target);
+      out.write(before);
+      out.writeUtf8(encoded, 0, encoded.length);
+      out.write(after);
+      out.close();
+      Assert.assertFalse(target.hasRemaining());
+      Assert.assertArrayEquals(expected, target.array());
+    }
+  }
+
+  /**
+   * A stream that counts the number of times it is flushed.
+   */
+  private static final class FlushCountingStream extends ByteArrayOutputStream {
+
+    private int flushes;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+  }
+
+  @Test
+  public void testFlushIntervalCountsBytes() throws IOException {
+    FlushCountingStream bytes = new FlushCountingStream();
+    Utf8Writer out = new Utf8Writer(8);
+    out.setOut(bytes);
+    out.setFlushInterval(20);
+    // Three bytes per character, drained once the next character does not fit
+    for (int i = 0; i < 7; i++) {
+      out.write('\u20ac');
+    }
+    Assert.assertEquals(18, bytes.size());
+    Assert.assertEquals(0, bytes.flushes);
+    out.write('\u20ac');
+    out.write('\u20ac');
+    Assert.assertEquals(24, bytes.size());
+    Assert.assertEquals(1, bytes.flushes);
+  }
+
+  @Test
+  public void testFlushIntervalLargeWrite() throws IOException {
+    FlushCountingStream bytes = new FlushCountingStream();
+    Utf8Writer out = new Utf8Writer(8);
+    out.setOut(bytes);
+    out.setFlushInterval(20);
+    byte[] encoded = new byte[20];
+    Arrays.fill(encoded, (byte) 'a');
+    out.writeUtf8(encoded, 0, encoded.length);
+    Assert.assertEquals(20, bytes.size());
+    Assert.assertEquals(1, bytes.flushes);
+  }
+
+  @Test
+  public void testFlushIntervalResetBySetOut() throws IOException {
+    FlushCountingStream first = new FlushCountingStream();
+    Utf8Writer out = new Utf8Writer(8);
+    out.setOut(first);
+    out.setFlushInterval(10);
+    out.write("01234567");
+    out.drain();
+    FlushCountingStream second = new FlushCountingStream();
+    out.setOut(second);
+    out.write("01234567");
+    out.drain();
+    Assert.assertEquals(0, first.flushes);
+    Assert.assertEquals(0, second.flushes);
+    out.write("01");
+    out.drain();
+    Assert.assertEquals(1, second.flushes);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  ValidationLevel
+ *
+ * @author  AO Industries, Inc.
+ */
+public class ValidationLevelTest {
+
+  private static final EncodingContext STRICT = new EncodingContext() {
+    @Override
+    public Doctype getDoctype() {
+      return Doctype.STRICT;
+    }
+  };
+
+  private final StringWriter out = new StringWriter();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHtml5OnlyValidated() throws IOException {
+    TestDocument document = TestDocument.create(STRICT, out);
+    new TestElement(document).open().tabindex(1);
+  }
+
+  @Test
+  public void testHtml5OnlyNotValidatedWhenOff() throws IOException {
+    TestDocument document = TestDocument.create(STRICT, out).setValidationLevel(ValidationLevel.OFF);
+    new TestElement(document).open().tabindex(1);
+    Assert.assertEquals("<test tabindex=\"1\"", out.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEnumValidated() throws IOException {
+    TestDocument document = TestDocument.create(EncodingContext.XML, out);
+    new TestElement(document).open().dir("sideways");
+  }
+
+  @Test
+  public void testEnumNotValidatedWhenOff() throws IOException {
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setValidationLevel(ValidationLevel.OFF);
+    new TestElement(document).open().dir("\"sideways\"");
+    // Still encoded
+    Assert.assertEquals("<test dir=\"&quot;sideways&quot;\"", out.toString());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testAttributeNameValidatedWhenOff() throws IOException {
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setValidationLevel(ValidationLevel.OFF);
+    TestElement element = new TestElement(document).open();
+    for (String name : new String[] {"x onclick=alert(1) y", "x\"", "x>", "", null}) {
+      try {
+        element.attribute(name, "value");
+        Assert.fail("IllegalArgumentException expected: " + name);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+    element.attribute("xml:lang", "en");
+    Assert.assertEquals("<test xml:lang=\"en\"", out.toString());
+  }
+}
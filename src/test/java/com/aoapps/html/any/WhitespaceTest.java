@@ -0,0 +1,81 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  AnyDocument#getWhitespace()
+ *
+ * @author  AO Industries, Inc.
+ */
+public class WhitespaceTest {
+
+  private static void render(TestDocument document) throws IOException {
+    TestNormal.div(document).__(div -> {
+      TestNormal.div(div).__(() -> document.text("a"));
+      try (TestNormal.Body_c<TestNormal.Body<TestDocument>> inner = TestNormal.div(div)._c()) {
+        document.text("b");
+      }
+    });
+  }
+
+  @Test
+  public void testWhitespaceOff() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out, false).setIndent(true).setAutonli(true);
+    Assert.assertFalse(document.getWhitespace());
+    Assert.assertFalse(document.getIndent());
+    Assert.assertFalse(document.getAutonli());
+    render(document);
+    Assert.assertEquals("<div><div>a</div><div>b</div></div>", out.toString());
+    Assert.assertEquals(0, document.getDepth());
+  }
+
+  @Test
+  public void testWhitespaceOn() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out).setIndent(true).setAutonli(true);
+    Assert.assertTrue(document.getWhitespace());
+    render(document);
+    Assert.assertEquals(
+        "\n<div>\n  <div>\n    a\n  </div>\n  <div>\n    b\n  </div>\n</div>\n",
+        out.toString()
+    );
+    Assert.assertEquals(0, document.getDepth());
+  }
+
+  @Test
+  public void testRetainedOnReset() throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument document = TestDocument.create(EncodingContext.XML, out, false);
+    document.reset(out).setIndent(true).setAutonli(true);
+    Assert.assertFalse(document.getWhitespace());
+    Assert.assertFalse(document.getIndent());
+    Assert.assertFalse(document.getAutonli());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * ao-fluent-html-any - Base abstract classes and interfaces for Fluent Java DSL for high-performance HTML generation.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-fluent-html-any.
+ *
+ * ao-fluent-html-any is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-fluent-html-any is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-fluent-html-any.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.aoapps.html.any;
+
+import com.aoapps.encoding.EncodingContext;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see  AnyDocument#writeDouble(java.io.Writer, double, int)
+ *
+ * @author  AO Industries, Inc.
+ */
+public class WriteDoubleTest {
+
+  private static String writeDouble(double value, int fractionDigits) throws IOException {
+    StringWriter out = new StringWriter();
+    TestDocument.create(EncodingContext.XML, new StringWriter()).writeDouble(out, value, fractionDigits);
+    return out.toString();
+  }
+
+  @Test
+  public void testFractionDigits() throws IOException {
+    Assert.assertEquals("3", writeDouble(3.14159, 0));
+    Assert.assertEquals("3.1", writeDouble(3.14159, 1));
+    Assert.assertEquals("3.142", writeDouble(3.14159, 3));
+    Assert.assertEquals("0.05", writeDouble(0.05, 2));
+    Assert.assertEquals("12.000", writeDouble(12, 3));
+    Assert.assertEquals("0.000000000000001", writeDouble(1e-15, AnyDocument.MAX_FRACTION_DIGITS));
+  }
+
+  @Test
+  public void testRoundsHalfAwayFromZero() throws IOException {
+    Assert.assertEquals("1", writeDouble(0.5, 0));
+    Assert.assertEquals("3", writeDouble(2.5, 0));
+    Assert.assertEquals("1.3", writeDouble(1.25, 1));
+    Assert.assertEquals("-1", writeDouble(-0.5, 0));
+    Assert.assertEquals("-3", writeDouble(-2.5, 0));
+    Assert.assertEquals("-1.3", writeDouble(-1.25, 1));
+    Assert.assertEquals("0", writeDouble(0.49999999999999994, 0));
+  }
+
+  /**
+   * The binary value is rounded, not its shortest decimal representation, matching the {@link BigDecimal} fallback.
+   */
+  @Test
+  public void testRoundsBinaryValue() throws IOException {
+    Assert.assertEquals("1.00", writeDouble(1.005, 2)); // Slightly below 1.005
+    Assert.assertEquals("-1.00", writeDouble(-1.005, 2));
+    Assert.assertEquals("0.99", writeDouble(0.995, 2)); // Slightly below 0.995, but scales to exactly 99.5
+    Assert.assertEquals("1.00", writeDouble(Math.nextUp(0.995), 2));
+    Assert.assertEquals("0.13", writeDouble(0.125, 2)); // Exactly half-way
+    Assert.assertEquals("1.01", writeDouble(1.015, 2)); // Slightly above 1.015
+  }
+
+  @Test
+  public void testMatchesBigDecimalNearHalf() throws IOException {
+    for (int digits = 0; digits <= 6; digits++) {
+      for (int i = -20000; i <= 20000; i++) {
+        // Values written with one more digit than kept, most ending in 5
+        double value = (i * 10 + 5) / Math.pow(10, digits + 1);
+        for (double v : new double[]{Math.nextDown(value), value, Math.nextUp(value)}) {
+          Assert.assertEquals(
+              v + " to " + digits,
+              new BigDecimal(v).setScale(digits, RoundingMode.HALF_UP).toPlainString(),
+              writeDouble(v, digits)
+          );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testNegativeRoundingToZero() throws IOException {
+    Assert.assertEquals("0.00", writeDouble(-0.001, 2));
+    Assert.assertEquals("0", writeDouble(-0.4, 0));
+    Assert.assertEquals("0.0", writeDouble(-0.0, 1));
+    Assert.assertEquals("-0.01", writeDouble(-0.005, 2));
+  }
+
+  @Test
+  public void testBigDecimalFallback() throws IOException {
+    Assert.assertEquals("100000000000000000000.00", writeDouble(1e20, 2));
+    Assert.assertEquals("-100000000000000000000.00", writeDouble(-1e20, 2));
+    Assert.assertEquals("1000000000000000.00", writeDouble(1e15, 2));
+    Assert.assertEquals("9007199254740994", writeDouble(9007199254740994.0, 0));
+    for (double value : new double[]{123456789.123456789, -98765.4321, Double.MAX_VALUE, -Double.MIN_VALUE}) {
+      for (int digits = 0; digits <= AnyDocument.MAX_FRACTION_DIGITS; digits++) {
+        Assert.assertEquals(
+            value + " to " + digits,
+            new BigDecimal(value).setScale(digits, RoundingMode.HALF_UP).toPlainString(),
+            writeDouble(value, digits)
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testNonFinite() throws IOException {
+    Assert.assertEquals("NaN", writeDouble(Double.NaN, 2));
+    Assert.assertEquals("Infinity", writeDouble(Double.POSITIVE_INFINITY, 0));
+    Assert.assertEquals("-Infinity", writeDouble(Double.NEGATIVE_INFINITY, 15));
+  }
+}